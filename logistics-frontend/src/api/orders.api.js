@@ -32,6 +32,6 @@ export const cancelOrder = (orderId, reason) => {
 };
 
 // New: Get order history/audit logs
-export const fetchOrderHistory = (orderId) => {
-  return api.get(`/orders/${orderId}/history`);
+export const fetchOrderHistory = (orderId, cursor) => {
+  return api.get(`/orders/${orderId}/history`, { params: { cursor } });
 };
@@ -5,14 +5,17 @@ import { fetchOrderHistory } from "../api/orders.api";
 
 function OrderHistoryModal({ orderId, orderNumber, onClose }) {
     const [history, setHistory] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState("");
 
     useEffect(() => {
         const loadHistory = async () => {
             try {
                 const response = await fetchOrderHistory(orderId);
-                setHistory(response.data.data);
+                setHistory(response.data.data.content);
+                setNextCursor(response.data.data.nextCursor);
             } catch (err) {
                 setError(err.response?.data?.message || "Failed to load history");
             } finally {
@@ -22,6 +25,19 @@ function OrderHistoryModal({ orderId, orderNumber, onClose }) {
         loadHistory();
     }, [orderId]);
 
+    const loadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const response = await fetchOrderHistory(orderId, nextCursor);
+            setHistory((prev) => [...prev, ...response.data.data.content]);
+            setNextCursor(response.data.data.nextCursor);
+        } catch (err) {
+            setError(err.response?.data?.message || "Failed to load history");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const getActionIcon = (action) => {
         switch (action) {
             case "CREATED":
@@ -134,6 +150,13 @@ function OrderHistoryModal({ orderId, orderNumber, onClose }) {
                                     </div>
                                 </motion.div>
                             ))}
+                            {nextCursor && (
+                                <div className="flex justify-center">
+                                    <button onClick={loadMore} disabled={loadingMore} className="btn btn-secondary">
+                                        {loadingMore ? "Loading..." : "Load more"}
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     )}
 
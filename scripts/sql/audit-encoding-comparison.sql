@@ -0,0 +1,135 @@
+-- Compares the legacy free-text audit row layout with the compact encoding
+-- on a synthetic but realistic dataset (PostgreSQL, run with psql).
+--
+--   psql "$DATABASE_URL" -v orders=1000000 -f scripts/sql/audit-encoding-comparison.sql
+--
+-- Each order gets CREATED, PARTNER_ASSIGNED, two STATUS_CHANGED events and,
+-- for 8% of orders, a CANCELLED event with a reason - roughly 4 rows per order.
+--
+-- Both tables carry the same indexes (the history index from order-history paging plus
+-- created_at for archiving), so the comparison isolates the row encoding. Insert time
+-- is one INSERT ... SELECT per layout into the already-indexed table, so it includes
+-- index maintenance; it is reported as elapsed seconds and rows per second.
+
+\set ON_ERROR_STOP on
+\if :{?orders}
+\else
+  \set orders 1000000
+\endif
+
+DROP TABLE IF EXISTS bench_audit_legacy;
+DROP TABLE IF EXISTS bench_audit_compact;
+DROP TABLE IF EXISTS bench_insert_marks;
+
+CREATE TABLE bench_insert_marks (
+    layout varchar(10),
+    mark   varchar(5),
+    at     timestamptz
+);
+
+CREATE TABLE bench_audit_legacy (
+    id           bigserial PRIMARY KEY,
+    order_id     bigint       NOT NULL,
+    order_number varchar(50),
+    action       varchar(50)  NOT NULL,
+    field_name   varchar(50),
+    old_value    varchar(255),
+    new_value    varchar(255),
+    performed_by varchar(100),
+    notes        text,
+    created_at   timestamp
+);
+CREATE INDEX bench_legacy_order_created ON bench_audit_legacy (order_id, created_at, id);
+CREATE INDEX bench_legacy_created_at ON bench_audit_legacy (created_at);
+
+CREATE TABLE bench_audit_compact (
+    id           bigserial PRIMARY KEY,
+    order_id     bigint   NOT NULL,
+    action       smallint NOT NULL,
+    old_status   smallint,
+    new_status   smallint,
+    partner_id   bigint,
+    performed_by varchar(100),
+    subject      varchar(100),
+    payload      varchar(500),
+    created_at   timestamp
+);
+CREATE INDEX bench_compact_order_created ON bench_audit_compact (order_id, created_at, id);
+CREATE INDEX bench_compact_created_at ON bench_audit_compact (created_at);
+
+CREATE TEMP TABLE bench_events AS
+SELECT o AS order_id,
+       'ORD-' || upper(substr(md5(o::text), 1, 8)) AS order_number,
+       e.step,
+       (1 + (o::bigint * 7919) % 5000) AS partner_id,
+       CASE WHEN o % 3 = 0 THEN 'SYSTEM' ELSE 'dispatcher' || (o % 40) || '@example.com' END AS performed_by,
+       timestamp '2026-01-01' + (o || ' seconds')::interval + (e.step * 17 || ' minutes')::interval AS created_at
+FROM generate_series(1, :orders) o
+CROSS JOIN generate_series(1, 5) AS e(step)
+WHERE e.step < 5 OR o % 100 < 8;
+
+CHECKPOINT;
+INSERT INTO bench_insert_marks VALUES ('legacy', 'start', clock_timestamp());
+INSERT INTO bench_audit_legacy (order_id, order_number, action, field_name, old_value, new_value, performed_by, notes, created_at)
+SELECT order_id, order_number,
+       (ARRAY['CREATED', 'PARTNER_ASSIGNED', 'STATUS_CHANGED', 'STATUS_CHANGED', 'CANCELLED'])[step],
+       (ARRAY['order', 'deliveryPartnerId', 'status', 'status', 'status'])[step],
+       (ARRAY[NULL, NULL, 'PLACED', 'ASSIGNED', 'PICKED'])[step],
+       (ARRAY['Order created for Customer ' || order_id, partner_id::text, 'ASSIGNED', 'PICKED', 'CANCELLED'])[step],
+       performed_by,
+       (ARRAY['New order placed for delivery to BENGALURU',
+              'Delivery partner ''Partner ' || partner_id || ''' assigned to order',
+              'Order status changed from PLACED to ASSIGNED',
+              'Order status changed from ASSIGNED to PICKED',
+              'Order cancelled. Reason: Customer not reachable at delivery address'])[step],
+       created_at
+FROM bench_events;
+INSERT INTO bench_insert_marks VALUES ('legacy', 'end', clock_timestamp());
+
+CHECKPOINT;
+INSERT INTO bench_insert_marks VALUES ('compact', 'start', clock_timestamp());
+INSERT INTO bench_audit_compact (order_id, action, old_status, new_status, partner_id, performed_by, subject,
+                                 payload, created_at)
+SELECT order_id,
+       (ARRAY[1, 3, 2, 2, 4])[step],
+       (ARRAY[NULL, NULL, 1, 2, 3])[step],
+       (ARRAY[1, NULL, 2, 3, 5])[step],
+       CASE WHEN step = 2 THEN partner_id END,
+       performed_by,
+       -- Names the messages quote, as at the time of the event
+       CASE step WHEN 1 THEN 'Customer ' || order_id WHEN 2 THEN 'Partner ' || partner_id END,
+       CASE step WHEN 1 THEN 'BENGALURU' WHEN 5 THEN 'Customer not reachable at delivery address' END,
+       created_at
+FROM bench_events;
+INSERT INTO bench_insert_marks VALUES ('compact', 'end', clock_timestamp());
+
+VACUUM ANALYZE bench_audit_legacy;
+VACUUM ANALYZE bench_audit_compact;
+
+WITH sizes AS (
+    SELECT 'legacy' AS layout,
+           count(*) AS row_count,
+           round(avg(pg_column_size(t.*)), 1) AS avg_row_bytes,
+           pg_size_pretty(pg_table_size('bench_audit_legacy')) AS table_size,
+           pg_size_pretty(pg_indexes_size('bench_audit_legacy')) AS index_size
+    FROM bench_audit_legacy t
+    UNION ALL
+    SELECT 'compact',
+           count(*),
+           round(avg(pg_column_size(t.*)), 1),
+           pg_size_pretty(pg_table_size('bench_audit_compact')),
+           pg_size_pretty(pg_indexes_size('bench_audit_compact'))
+    FROM bench_audit_compact t
+), inserts AS (
+    SELECT layout, extract(epoch FROM max(at) FILTER (WHERE mark = 'end')
+                                    - max(at) FILTER (WHERE mark = 'start')) AS seconds
+    FROM bench_insert_marks
+    GROUP BY layout
+)
+SELECT s.*, round(i.seconds, 2) AS insert_seconds, round(s.row_count / i.seconds) AS insert_rows_per_second
+FROM sizes s JOIN inserts i USING (layout)
+ORDER BY s.layout DESC;
+
+DROP TABLE bench_audit_legacy;
+DROP TABLE bench_audit_compact;
+DROP TABLE bench_insert_marks;
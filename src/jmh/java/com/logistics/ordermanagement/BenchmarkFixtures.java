@@ -0,0 +1,91 @@
+package com.logistics.ordermanagement;
+
+import com.logistics.ordermanagement.config.PartnerCapacityProperties;
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.service.PartnerCapacityService;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDateTime;
+
+/**
+ * Shared test data for the JMH benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    public static final double BANGALORE_LAT = 12.9716;
+    public static final double BANGALORE_LNG = 77.5946;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static DeliveryPartner partner(long id) {
+        return DeliveryPartner.builder()
+                .id(id)
+                .name("Partner " + id)
+                .phone(String.format("9%09d", id))
+                .email("partner" + id + "@example.com")
+                .city("BANGALORE")
+                .status(PartnerStatus.AVAILABLE)
+                .vehicleType("BIKE")
+                .createdAt(NOW)
+                .build();
+    }
+
+    public static Order order(long id, boolean withPartner) {
+        return Order.builder()
+                .id(id)
+                .orderNumber(String.format("ORD-%08X", id))
+                .customerName("Customer " + id)
+                .customerPhone(String.format("8%09d", id))
+                .pickupAddress("12 MG Road, Bangalore 560001")
+                .deliveryAddress("221 Indiranagar 100ft Road, Bangalore 560038")
+                .city("BANGALORE")
+                .status(withPartner ? OrderStatus.ASSIGNED : OrderStatus.PLACED)
+                .deliveryPartner(withPartner ? partner(id % 100 + 1) : null)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    /**
+     * Instantiates a Spring service through its constructor with every dependency null.
+     * Only suitable for benchmarking methods that do not touch those dependencies.
+     */
+    public static <T> T withNullDependencies(Class<T> type) {
+        return withDependencies(type);
+    }
+
+    /**
+     * Like {@link #withNullDependencies}, but passes each given object to the constructor
+     * parameter it is assignable to.
+     */
+    public static <T> T withDependencies(Class<T> type, Object... dependencies) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                for (Object dependency : dependencies) {
+                    if (parameterTypes[i].isInstance(dependency)) {
+                        arguments[i] = dependency;
+                    }
+                }
+            }
+            return type.cast(constructor.newInstance(arguments));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Capacity service with the default per-vehicle capacities; only its lock-free methods work.
+     */
+    public static PartnerCapacityService partnerCapacityService() {
+        return new PartnerCapacityService(new PartnerCapacityProperties());
+    }
+}
@@ -0,0 +1,147 @@
+package com.logistics.ordermanagement.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import com.logistics.ordermanagement.config.BinaryFormatConfig;
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.entity.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of list pages and notifications per wire format. The payload sizes
+ * of each format are printed once per trial, next to the timings in the JMH output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({ "10", "50" })
+    private int pageSize;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    private ObjectWriter writer;
+    private ApiResponse<PagedResponse<OrderResponse>> pagedOrders;
+    private OrderNotification statusNotification;
+    private OrderNotification bulkNotification;
+
+    @Setup
+    public void setup() {
+        // Each mapper starts from a builder configured like Boot's (java.time module, ISO dates
+        // rather than timestamp arrays), as the application's JSON, CBOR and Smile converters do
+        writer = switch (format) {
+            case "cbor" -> BinaryFormatConfig.cborMapper(bootBuilder()).writer();
+            case "smile" -> BinaryFormatConfig.smileMapper(bootBuilder()).writer();
+            default -> bootBuilder().build().writer();
+        };
+
+        List<OrderResponse> orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            orders.add(orderResponse(BenchmarkFixtures.order(i + 1, i % 2 == 0)));
+        }
+        pagedOrders = ApiResponse.success(PagedResponse.<OrderResponse>builder()
+                .content(orders)
+                .page(0)
+                .size(pageSize)
+                .totalElements(10_000)
+                .totalPages(10_000 / pageSize)
+                .last(false)
+                .build());
+
+        statusNotification = notification(1);
+
+        List<OrderNotification> updates = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            updates.add(OrderNotification.builder()
+                    .orderId((long) i + 1)
+                    .orderNumber(String.format("ORD-%08X", i + 1))
+                    .oldStatus("ASSIGNED")
+                    .newStatus("PICKED")
+                    .build());
+        }
+        bulkNotification = OrderNotification.builder()
+                .type("BULK_STATUS_CHANGED")
+                .message(pageSize + " order(s) changed status")
+                .updates(updates)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        try {
+            System.out.printf("%n%s payload bytes (page size %d): page %d, status notification %d, "
+                    + "bulk notification %d%n", format, pageSize, pagedOrderResponse().length, statusChangedNotification().length,
+                    bulkStatusChangedNotification().length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] pagedOrderResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pagedOrders);
+    }
+
+    @Benchmark
+    public byte[] statusChangedNotification() throws JsonProcessingException {
+        return writer.writeValueAsBytes(statusNotification);
+    }
+
+    @Benchmark
+    public byte[] bulkStatusChangedNotification() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bulkNotification);
+    }
+
+    private static Jackson2ObjectMapperBuilder bootBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+                .modulesToInstall(new JavaTimeModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static OrderResponse orderResponse(Order order) {
+        DeliveryPartner partner = order.getDeliveryPartner();
+        return OrderResponse.builder()
+                .id(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .customerName(order.getCustomerName())
+                .customerPhone(order.getCustomerPhone())
+                .pickupAddress(order.getPickupAddress())
+                .deliveryAddress(order.getDeliveryAddress())
+                .city(order.getCity())
+                .status(order.getStatus())
+                .deliveryPartner(partner == null ? null : DeliveryPartnerResponse.builder()
+                        .id(partner.getId())
+                        .name(partner.getName())
+                        .phone(partner.getPhone())
+                        .email(partner.getEmail())
+                        .city(partner.getCity())
+                        .status(partner.getStatus())
+                        .vehicleType(partner.getVehicleType())
+                        .createdAt(partner.getCreatedAt())
+                        .build())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    private static OrderNotification notification(long orderId) {
+        return OrderNotification.builder()
+                .type("STATUS_CHANGED")
+                .orderId(orderId)
+                .orderNumber(String.format("ORD-%08X", orderId))
+                .message("Order status changed from ASSIGNED to PICKED")
+                .oldStatus("ASSIGNED")
+                .newStatus("PICKED")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
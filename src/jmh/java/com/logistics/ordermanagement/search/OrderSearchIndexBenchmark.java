@@ -0,0 +1,107 @@
+package com.logistics.ordermanagement.search;
+
+import com.logistics.ordermanagement.config.OrderSearchProperties;
+import com.logistics.ordermanagement.dto.response.OrderSearchHit;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency against an on-disk index of synthetic orders: names and streets drawn from
+ * small vocabularies (so common fragments match many orders) and unique 10-digit phones.
+ * Each query kind cycles through pre-drawn fragments of indexed values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderSearchIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final String[] FIRST_NAMES = { "Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha",
+            "Arjun", "Kavya", "Rohan", "Meera", "Karthik", "Divya", "Aditya", "Pooja", "Siddharth", "Nisha" };
+    private static final String[] LAST_NAMES = { "Sharma", "Iyer", "Reddy", "Nair", "Gupta", "Patel", "Menon",
+            "Rao", "Singh", "Kulkarni", "Joshi", "Das", "Pillai", "Verma", "Banerjee", "Hegde" };
+    private static final String[] STREETS = { "MG Road", "Brigade Road", "Residency Road", "Church Street",
+            "100ft Road", "Outer Ring Road", "Sarjapur Road", "Hosur Road", "Bannerghatta Road", "Old Airport Road" };
+    private static final String[] AREAS = { "Koramangala", "Indiranagar", "Jayanagar", "Whitefield", "Malleshwaram",
+            "Hebbal", "Marathahalli", "Basavanagudi", "Yelahanka", "Electronic City" };
+
+    @Param({ "100000", "1000000" })
+    private int orderCount;
+
+    @Param({ "phone", "name", "address", "orderNumber" })
+    private String queryKind;
+
+    private Path directory;
+    private OrderSearchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("order-search-bench");
+        OrderSearchProperties properties = new OrderSearchProperties();
+        properties.setDirectory(directory.toString());
+        index = new OrderSearchIndex(properties, null, null, new SimpleMeterRegistry());
+        index.open();
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (long id = 1; id <= orderCount; id++) {
+            index.put(id, String.format("ORD-%08X", id * 2654435761L & 0xFFFFFFFFL),
+                    pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES), phone(id),
+                    (1 + random.nextInt(400)) + " " + pick(random, STREETS) + ", " + pick(random, AREAS),
+                    (1 + random.nextInt(400)) + " " + pick(random, STREETS) + ", " + pick(random, AREAS),
+                    "BANGALORE", OrderStatus.values()[random.nextInt(OrderStatus.values().length)],
+                    start.plusSeconds(id * 30));
+        }
+        index.refresh();
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long id = 1 + random.nextInt(orderCount);
+            queries[i] = switch (queryKind) {
+                // Any 5 consecutive digits
+                case "phone" -> {
+                    int from = random.nextInt(6);
+                    yield phone(id).substring(from, from + 5);
+                }
+                // First-name prefix plus last-name prefix, as agents type it
+                case "name" -> pick(random, FIRST_NAMES).substring(0, 4) + " "
+                        + pick(random, LAST_NAMES).substring(0, 3);
+                case "address" -> pick(random, AREAS).substring(0, 5) + " " + pick(random, STREETS).split(" ")[0];
+                case "orderNumber" -> String.format("%08X", id * 2654435761L & 0xFFFFFFFFL).substring(0, 6);
+                default -> throw new IllegalArgumentException(queryKind);
+            };
+        }
+        System.out.printf("%d orders indexed, query kind %s, e.g. \"%s\"%n", orderCount, queryKind, queries[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<OrderSearchHit> search() {
+        return index.search(queries[next++ & (QUERIES - 1)], 20);
+    }
+
+    private static String phone(long id) {
+        return String.format("9%09d", id * 7919 % 1_000_000_000L);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
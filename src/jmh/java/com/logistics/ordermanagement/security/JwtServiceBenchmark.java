@@ -0,0 +1,61 @@
+package com.logistics.ordermanagement.security;
+
+import com.logistics.ordermanagement.entity.User;
+import com.logistics.ordermanagement.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    // Same default as jwt.secret in application.yml
+    private static final String SECRET =
+            "dGhpc2lzYXZlcnlsb25nc2VjcmV0a2V5Zm9yand0dG9rZW5nZW5lcmF0aW9uYW5kc2hvdWxkYmVhdGxlYXN0MjU2Yml0cw==";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        setField("secretKey", SECRET);
+        setField("jwtExpiration", 86_400_000L);
+
+        user = User.builder()
+                .id(1L)
+                .name("Bench User")
+                .email("bench@example.com")
+                .password("unused")
+                .role(Role.CUSTOMER)
+                .enabled(true)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtService, value);
+    }
+}
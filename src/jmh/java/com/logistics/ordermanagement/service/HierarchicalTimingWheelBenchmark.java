@@ -0,0 +1,68 @@
+package com.logistics.ordermanagement.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of arming and then cancelling one lifecycle timer while many others are pending,
+ * as happens on every order transition. The timing wheel is compared with a
+ * {@link ScheduledThreadPoolExecutor} (a binary heap, O(log n) per operation) that
+ * removes cancelled tasks eagerly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HierarchicalTimingWheelBenchmark {
+
+    private static final long HORIZON_MS = TimeUnit.MINUTES.toMillis(90);
+    private static final int DELAYS = 4096;
+
+    @Param({ "10000", "1000000" })
+    private int pendingTimers;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private long start;
+    private long[] delays;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        start = System.currentTimeMillis();
+        wheel = new HierarchicalTimingWheel<>(1000, 64, 4, start);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        for (long i = 0; i < pendingTimers; i++) {
+            long delay = (long) (random.nextDouble() * HORIZON_MS);
+            wheel.schedule(i, start + delay);
+            executor.schedule(() -> { }, delay, TimeUnit.MILLISECONDS);
+        }
+        delays = new long[DELAYS];
+        for (int i = 0; i < DELAYS; i++) {
+            delays[i] = (long) (random.nextDouble() * HORIZON_MS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean wheelScheduleAndCancel() {
+        long delay = delays[next++ & (DELAYS - 1)];
+        return wheel.schedule(delay, start + delay).cancel();
+    }
+
+    @Benchmark
+    public boolean executorScheduleAndCancel() {
+        long delay = delays[next++ & (DELAYS - 1)];
+        ScheduledFuture<?> future = executor.schedule(() -> { }, delay, TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
@@ -0,0 +1,84 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained location ping rate into the in-memory store, in pings per second, for
+ * partners that already have a slot (the steady state). Run with {@code -prof gc} to
+ * confirm the ingest path allocates nothing per ping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PartnerLocationIngestBenchmark {
+
+    private static final int PINGS = 4096;
+
+    @Param({ "10000", "200000" })
+    private int partnerCount;
+
+    private PartnerLocationStore store;
+    private long[] partnerIds;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        store = new PartnerLocationStore(partnerCount);
+        for (long id = 1; id <= partnerCount; id++) {
+            store.register(id);
+        }
+        partnerIds = new long[PINGS];
+        latitudes = new double[PINGS];
+        longitudes = new double[PINGS];
+        for (int i = 0; i < PINGS; i++) {
+            partnerIds[i] = 1 + random.nextInt(partnerCount);
+            latitudes[i] = BenchmarkFixtures.BANGALORE_LAT + random.nextGaussian() * 0.055;
+            longitudes[i] = BenchmarkFixtures.BANGALORE_LNG + random.nextGaussian() * 0.055;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        final PartnerLocationStore.Position position = new PartnerLocationStore.Position();
+    }
+
+    @Benchmark
+    public PartnerLocationStore.Outcome ping(Cursor cursor) {
+        return record(cursor);
+    }
+
+    /**
+     * Three threads pinging while a fourth scans every slot as the write-behind flusher does.
+     */
+    @Benchmark
+    @Group("ingestWhileFlushing")
+    @GroupThreads(3)
+    public PartnerLocationStore.Outcome pingDuringFlush(Cursor cursor) {
+        return record(cursor);
+    }
+
+    @Benchmark
+    @Group("ingestWhileFlushing")
+    @GroupThreads(1)
+    public long flushScan(Cursor cursor) {
+        long sum = 0;
+        int size = store.size();
+        for (int slot = 0; slot < size; slot++) {
+            sum += store.read(slot, cursor.position);
+        }
+        return sum;
+    }
+
+    private PartnerLocationStore.Outcome record(Cursor cursor) {
+        int i = cursor.next++ & (PINGS - 1);
+        int slot = store.slotOf(partnerIds[i]);
+        return store.record(slot, latitudes[i], longitudes[i], System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,82 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.entity.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking a candidate list by insertion cost. With coordinates and pending pickups every
+ * partner is scored by cheapest insertion into its route; with a large list this is the
+ * city-wide fallback path. Compare with {@link PartnerSpatialIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartnerSelectionBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int partnerCount;
+
+    @Param({ "true", "false" })
+    private boolean withCoordinates;
+
+    // Pickups already assigned to each partner (0 = nobody carries a bundle)
+    @Param({ "0", "2" })
+    private int pendingPickups;
+
+    private AssignmentService assignmentService;
+    private List<DeliveryPartner> partners;
+    private Map<Long, AssignmentService.PendingRoute> routes;
+    private Order order;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Random random = new Random(42);
+        assignmentService = BenchmarkFixtures.withDependencies(AssignmentService.class,
+                BenchmarkFixtures.partnerCapacityService());
+        Field maxDetourKm = AssignmentService.class.getDeclaredField("maxDetourKm");
+        maxDetourKm.setAccessible(true);
+        maxDetourKm.setDouble(assignmentService, 2.0);
+
+        partners = new ArrayList<>(partnerCount);
+        routes = new HashMap<>();
+        for (int i = 0; i < partnerCount; i++) {
+            DeliveryPartner partner = BenchmarkFixtures.partner(i + 1);
+            if (withCoordinates) {
+                partner.setLatitude(BenchmarkFixtures.BANGALORE_LAT + random.nextGaussian() * 0.055);
+                partner.setLongitude(BenchmarkFixtures.BANGALORE_LNG + random.nextGaussian() * 0.055);
+                AssignmentService.PendingRoute route = new AssignmentService.PendingRoute();
+                for (int p = 0; p < pendingPickups; p++) {
+                    route.add(partner.getLatitude() + random.nextGaussian() * 0.01,
+                            partner.getLongitude() + random.nextGaussian() * 0.01);
+                }
+                partner.setActiveOrders(pendingPickups);
+                routes.put(partner.getId(), route);
+            }
+            partners.add(partner);
+        }
+        // Repository results are not guaranteed to arrive in id order
+        Collections.shuffle(partners, random);
+
+        order = BenchmarkFixtures.order(1, false);
+        if (withCoordinates) {
+            order.setPickupLatitude(BenchmarkFixtures.BANGALORE_LAT + 0.01);
+            order.setPickupLongitude(BenchmarkFixtures.BANGALORE_LNG - 0.02);
+        }
+    }
+
+    @Benchmark
+    public List<DeliveryPartner> rankPartners() {
+        return assignmentService.rankPartners(order, partners, routes);
+    }
+}
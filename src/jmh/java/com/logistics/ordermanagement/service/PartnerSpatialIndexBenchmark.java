@@ -0,0 +1,68 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * k-nearest queries against one city's grid, with partners spread normally around the
+ * centre (~6 km sigma) and pickup points drawn from the same distribution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartnerSpatialIndexBenchmark {
+
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({ "10000", "50000", "200000" })
+    private int partnerCount;
+
+    @Param({ "1", "5" })
+    private int k;
+
+    @Param({ "0.5", "1.0", "2.0" })
+    private double cellSizeKm;
+
+    private PartnerSpatialIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new PartnerSpatialIndex(null, null, true, cellSizeKm, 0);
+        for (long id = 1; id <= partnerCount; id++) {
+            index.put(id, "BANGALORE",
+                    BenchmarkFixtures.BANGALORE_LAT + random.nextGaussian() * 0.055,
+                    BenchmarkFixtures.BANGALORE_LNG + random.nextGaussian() * 0.055);
+        }
+        latitudes = new double[QUERY_POINTS];
+        longitudes = new double[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            latitudes[i] = BenchmarkFixtures.BANGALORE_LAT + random.nextGaussian() * 0.055;
+            longitudes[i] = BenchmarkFixtures.BANGALORE_LNG + random.nextGaussian() * 0.055;
+        }
+    }
+
+    @Benchmark
+    public List<PartnerSpatialIndex.Candidate> nearest() {
+        int i = next++ & (QUERY_POINTS - 1);
+        return index.nearest("BANGALORE", latitudes[i], longitudes[i], k);
+    }
+
+    /**
+     * An available partner going busy and coming back, as happens on every assignment.
+     */
+    @Benchmark
+    public void removeAndReinsert() {
+        int i = next++ & (QUERY_POINTS - 1);
+        long id = 1 + (i % partnerCount);
+        index.remove(id);
+        index.put(id, "BANGALORE", latitudes[i], longitudes[i]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.logistics.ordermanagement.service.impl;
+
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.dto.response.PagedResponse;
+import com.logistics.ordermanagement.entity.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMappingBenchmark {
+
+    @Param({ "10", "50" })
+    private int pageSize;
+
+    private OrderServiceImpl orderService;
+    private Order order;
+    private Page<Order> page;
+
+    @Setup
+    public void setup() {
+        orderService = BenchmarkFixtures.withDependencies(OrderServiceImpl.class,
+                BenchmarkFixtures.partnerCapacityService());
+        order = BenchmarkFixtures.order(1, true);
+
+        List<Order> orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            orders.add(BenchmarkFixtures.order(i + 1, i % 2 == 0));
+        }
+        page = new PageImpl<>(orders, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order);
+    }
+
+    @Benchmark
+    public PagedResponse<OrderResponse> mapToPagedResponse() {
+        return orderService.mapToPagedResponse(page);
+    }
+}
@@ -0,0 +1,40 @@
+package com.logistics.ordermanagement.service.impl;
+
+import com.logistics.ordermanagement.BenchmarkFixtures;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.exception.InvalidStatusTransitionException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatusTransitionBenchmark {
+
+    private OrderServiceImpl orderService;
+
+    @Setup
+    public void setup() {
+        orderService = BenchmarkFixtures.withNullDependencies(OrderServiceImpl.class);
+    }
+
+    @Benchmark
+    public void validTransition() {
+        orderService.validateStatusTransition(OrderStatus.ASSIGNED, OrderStatus.PICKED);
+    }
+
+    /**
+     * Rejected transitions throw, so this measures the exception path the bulk
+     * status endpoint takes for every invalid item.
+     */
+    @Benchmark
+    public void invalidTransition(Blackhole blackhole) {
+        try {
+            orderService.validateStatusTransition(OrderStatus.DELIVERED, OrderStatus.PICKED);
+        } catch (InvalidStatusTransitionException e) {
+            blackhole.consume(e);
+        }
+    }
+}
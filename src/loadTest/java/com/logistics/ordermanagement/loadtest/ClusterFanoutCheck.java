@@ -0,0 +1,276 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks WebSocket fan-out across two or more running instances, e.g. one started with
+ * {@code bootRun} and one with {@code bootRun --args=--server.port=8081}, both using the same
+ * database and a cluster transport.
+ * <p>
+ * One STOMP client per node subscribes to {@code /topic/orders}; orders are then created
+ * round-robin across the nodes. Every client should see every ORDER_CREATED notification
+ * exactly once. Propagation latency is the time from the notification reaching the client
+ * of the node that created the order to it reaching each other node's client, so all
+ * timestamps come from this process's clock. Missing and duplicate deliveries per node and
+ * the latency percentiles are printed and written as a JSON report.
+ * <p>
+ * {@code ./gradlew clusterFanoutCheck -Pargs="--nodes=http://localhost:8080,http://localhost:8081 --messages=500"}
+ */
+public class ClusterFanoutCheck {
+
+    private static final String[] CITIES = { "BANGALORE", "MUMBAI", "DELHI", "HYDERABAD", "CHENNAI", "PUNE" };
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<URI> nodes = new ArrayList<>();
+
+    // orderNumber -> index of the node that created it
+    private final Map<String, Integer> origins = new ConcurrentHashMap<>();
+    // orderNumber -> arrival time (nanos) per node, -1 until it arrives
+    private final Map<String, long[]> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong[] duplicates;
+    private final AtomicLong createFailures = new AtomicLong();
+
+    private String token;
+
+    ClusterFanoutCheck(Map<String, String> options) {
+        this.options = options;
+        for (String node : option("nodes", "http://localhost:8080,http://localhost:8081").split(",")) {
+            nodes.add(URI.create(node.trim()));
+        }
+        if (nodes.size() < 2) {
+            throw new IllegalArgumentException("--nodes needs at least two instances");
+        }
+        this.duplicates = new AtomicLong[nodes.size()];
+        for (int i = 0; i < duplicates.length; i++) {
+            duplicates[i] = new AtomicLong();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        new ClusterFanoutCheck(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        int messages = Integer.parseInt(option("messages", "200"));
+        int rate = Integer.parseInt(option("rate", "20"));
+        int settleSeconds = Integer.parseInt(option("settle", "5"));
+
+        login();
+        List<StompSession> sessions = new ArrayList<>();
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        for (int i = 0; i < nodes.size(); i++) {
+            sessions.add(subscribe(stompClient, i));
+        }
+        System.out.printf("Subscribed to %d node(s); creating %d order(s) at %d/s%n", nodes.size(), messages, rate);
+
+        Instant startedAt = Instant.now();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long next = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            createOrder(i % nodes.size());
+            next += intervalNanos;
+        }
+
+        // Wait for stragglers before counting anything as missing
+        TimeUnit.SECONDS.sleep(settleSeconds);
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+
+        writeReport(startedAt, messages, rate);
+    }
+
+    private StompSession subscribe(WebSocketStompClient stompClient, int node) throws Exception {
+        URI uri = nodes.get(node);
+        String wsUrl = (uri.getScheme().equals("https") ? "wss" : "ws") + "://" + uri.getAuthority() + "/ws";
+        StompSession session = stompClient.connectAsync(wsUrl, new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/orders", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onNotification(node, (byte[]) payload, System.nanoTime());
+            }
+        });
+        return session;
+    }
+
+    private void onNotification(int node, byte[] payload, long receivedAt) {
+        try {
+            JsonNode notification = objectMapper.readTree(payload);
+            if (!"ORDER_CREATED".equals(notification.path("type").asText())) {
+                return;
+            }
+            long[] times = arrivals.computeIfAbsent(notification.path("orderNumber").asText(), n -> newArrivals());
+            synchronized (times) {
+                if (times[node] >= 0) {
+                    duplicates[node].incrementAndGet();
+                } else {
+                    times[node] = receivedAt;
+                }
+            }
+        } catch (IOException e) {
+            // Not one of ours
+        }
+    }
+
+    private void createOrder(int node) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String city = CITIES[random.nextInt(CITIES.length)];
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("customerName", "Fanout Customer " + random.nextInt(1_000_000))
+                .put("customerPhone", String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)))
+                .put("pickupAddress", (1 + random.nextInt(999)) + " Main Road, " + city)
+                .put("deliveryAddress", (1 + random.nextInt(999)) + " Cross Street, " + city)
+                .put("city", city);
+        HttpRequest request = HttpRequest.newBuilder(nodes.get(node).resolve("/api/v1/orders"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            createFailures.incrementAndGet();
+            return;
+        }
+        String orderNumber = objectMapper.readTree(response.body()).path("data").path("orderNumber").asText();
+        origins.put(orderNumber, node);
+        arrivals.computeIfAbsent(orderNumber, n -> newArrivals());
+    }
+
+    private long[] newArrivals() {
+        long[] times = new long[nodes.size()];
+        Arrays.fill(times, -1);
+        return times;
+    }
+
+    private void login() throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("email", option("email", "perf-admin@example.com"))
+                .put("password", option("password", "perf-admin-password"));
+        HttpRequest request = HttpRequest.newBuilder(nodes.get(0).resolve("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private void writeReport(Instant startedAt, int messages, int rate) throws IOException {
+        long[] missing = new long[nodes.size()];
+        long[] latencies = new long[origins.size() * (nodes.size() - 1)];
+        int latencyCount = 0;
+        for (Map.Entry<String, Integer> entry : origins.entrySet()) {
+            long[] times = arrivals.get(entry.getKey());
+            int origin = entry.getValue();
+            for (int node = 0; node < nodes.size(); node++) {
+                if (times[node] < 0) {
+                    missing[node]++;
+                } else if (node != origin && times[origin] >= 0) {
+                    latencies[latencyCount++] = times[node] - times[origin];
+                }
+            }
+        }
+        latencies = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(latencies);
+
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode config = report.putObject("config");
+        config.put("nodes", nodes.toString());
+        config.put("messages", messages);
+        config.put("rate", rate);
+        report.put("startedAt", startedAt.toString());
+        report.put("ordersCreated", origins.size());
+        report.put("createFailures", createFailures.get());
+
+        System.out.printf("%n%-32s %10s %10s%n", "node", "missing", "duplicate");
+        ObjectNode perNode = report.putObject("nodes");
+        for (int node = 0; node < nodes.size(); node++) {
+            ObjectNode nodeReport = perNode.putObject(nodes.get(node).toString());
+            nodeReport.put("missing", missing[node]);
+            nodeReport.put("duplicates", duplicates[node].get());
+            System.out.printf("%-32s %10d %10d%n", nodes.get(node), missing[node], duplicates[node].get());
+        }
+
+        ObjectNode latencyNode = report.putObject("propagationMs");
+        latencyNode.put("count", latencies.length);
+        latencyNode.put("p50", percentile(latencies, 0.50));
+        latencyNode.put("p95", percentile(latencies, 0.95));
+        latencyNode.put("p99", percentile(latencies, 0.99));
+        latencyNode.put("max", percentile(latencies, 1.0));
+        System.out.printf("%nPropagation over %d delivery(ies): p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                latencies.length, percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+
+        Path path = Path.of(option("report", "build/reports/load/cluster-fanout.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.printf("%d order(s) created, %d failed; report written to %s%n",
+                origins.size(), createFailures.get(), path.toAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.logistics.ordermanagement.security.AdaptiveConcurrencyLimiter;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local overload simulation for the adaptive concurrency limiter.
+ * <p>
+ * Models the write path as a fixed pool of Tomcat worker threads in front of a
+ * small database connection pool with a fixed query time, then offers an open-loop
+ * arrival rate well above what the pool can serve. It runs the same load twice,
+ * without and with {@link AdaptiveConcurrencyLimiter}, and prints latency
+ * percentiles of the requests that were served.
+ * <p>
+ * Run with {@code ./gradlew stressTest} (optionally {@code -Pargs="--rate=600 --seconds=20"}).
+ */
+public class ConcurrencyLimitStressTest {
+
+    private static int workerThreads = 200;
+    private static int connections = 10;
+    private static int queryMillis = 20;
+    private static int rate = -1;
+    private static int seconds = 15;
+    private static int warmupSeconds = 5;
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            int value = Integer.parseInt(kv[1]);
+            switch (kv[0]) {
+                case "threads" -> workerThreads = value;
+                case "connections" -> connections = value;
+                case "query-ms" -> queryMillis = value;
+                case "rate" -> rate = value;
+                case "seconds" -> seconds = value;
+                case "warmup-seconds" -> warmupSeconds = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + kv[0]);
+            }
+        }
+
+        int capacity = connections * 1000 / queryMillis;
+        if (rate < 0) {
+            rate = capacity * 3;
+        }
+
+        System.out.printf("Pool capacity ~%d req/s (%d connections x %d ms), offering %d req/s for %ds after %ds warm-up%n%n",
+                capacity, connections, queryMillis, rate, seconds, warmupSeconds);
+
+        Result unlimited = run(null, capacity);
+        Result limited = run(new AdaptiveConcurrencyLimiter(20, 4, 100, 1.5, 0.2, 600), capacity);
+
+        System.out.printf("%-12s %9s %9s %9s %9s %9s %9s %7s%n",
+                "mode", "served", "shed", "p50 ms", "p95 ms", "p99 ms", "max ms", "limit");
+        unlimited.print("unlimited");
+        limited.print("adaptive");
+    }
+
+    private static Result run(AdaptiveConcurrencyLimiter limiter, int capacity) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads);
+        Semaphore database = new Semaphore(connections, true);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger shed = new AtomicInteger();
+
+        // Warm-up below capacity so the limiter learns the unloaded latency
+        offer(workers, capacity / 2, warmupSeconds, database, limiter, null, shed);
+        shed.set(0);
+        offer(workers, rate, seconds, database, limiter, latencies, shed);
+
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.MINUTES);
+        return new Result(latencies.stream().mapToLong(Long::longValue).toArray(), shed.get(),
+                limiter == null ? -1 : limiter.getLimit());
+    }
+
+    private static void offer(ExecutorService workers, int perSecond, int durationSeconds, Semaphore database,
+            AdaptiveConcurrencyLimiter limiter, ConcurrentLinkedQueue<Long> latencies, AtomicInteger shed)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long next = start;
+        while (next < end) {
+            long arrival = next;
+            workers.execute(() -> handle(arrival, database, limiter, latencies, shed));
+            next += intervalNanos;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+        }
+    }
+
+    private static void handle(long arrival, Semaphore database, AdaptiveConcurrencyLimiter limiter,
+            ConcurrentLinkedQueue<Long> latencies, AtomicInteger shed) {
+        if (limiter != null && !limiter.tryAcquire()) {
+            shed.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            database.acquire();
+            try {
+                Thread.sleep(queryMillis);
+            } finally {
+                database.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (limiter != null) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+        if (latencies != null) {
+            // Measured from arrival, so time spent queued for a worker thread counts too
+            latencies.add(System.nanoTime() - arrival);
+        }
+    }
+
+    private record Result(long[] latencies, int shed, int finalLimit) {
+
+        void print(String mode) {
+            Arrays.sort(latencies);
+            System.out.printf("%-12s %9d %9d %9.1f %9.1f %9.1f %9.1f %7s%n",
+                    mode, latencies.length, shed,
+                    percentile(0.50), percentile(0.95), percentile(0.99), percentile(1.0),
+                    finalLimit < 0 ? "-" : String.valueOf(finalLimit));
+        }
+
+        private double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.logistics.ordermanagement.service.PartnerSpatialIndex;
+import com.logistics.ordermanagement.service.RouteInsertion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulated city for multi-order dispatch.
+ * <p>
+ * Partners drive at a fixed speed between stops with a fixed dwell time per stop.
+ * Orders arrive as a Poisson stream with pickups spread around the centre and drop-offs
+ * a few km away; an order not assigned within max-wait is lost. Each waiting order goes
+ * to the candidate with spare capacity (the k nearest, as in production) whose route
+ * grows least by cheapest insertion of its pickup and then its drop-off; partners who
+ * already carry orders only qualify within max-detour-km. The same arrival stream is
+ * replayed for every capacity, so capacity 1 is the one-order-per-partner baseline.
+ * Unlike production, the simulator knows drop-off points and includes them in routes.
+ * <p>
+ * Run with {@code ./gradlew dispatchSimulation} (optionally
+ * {@code -Pargs="--partners=300 --orders-per-hour=1200 --capacities=1,2,3"}).
+ */
+public class DispatchSimulation {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LNG = 77.5946;
+    private static final double CITY_SPREAD_DEGREES = 0.055;
+    private static final double DROP_SPREAD_DEGREES = 0.03;
+    private static final double TICK_SECONDS = 10;
+
+    private static int partners = 300;
+    private static double ordersPerHour = 1200;
+    private static double hours = 4;
+    private static double speedKmh = 18;
+    private static double stopMinutes = 3;
+    private static double maxWaitMinutes = 15;
+    private static double maxDetourKm = 3;
+    private static int candidates = 5;
+    private static int[] capacities = { 1, 2, 3 };
+    private static long seed = 42;
+
+    public static void main(String[] args) {
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            switch (kv[0]) {
+                case "partners" -> partners = Integer.parseInt(kv[1]);
+                case "orders-per-hour" -> ordersPerHour = Double.parseDouble(kv[1]);
+                case "hours" -> hours = Double.parseDouble(kv[1]);
+                case "speed-kmh" -> speedKmh = Double.parseDouble(kv[1]);
+                case "stop-minutes" -> stopMinutes = Double.parseDouble(kv[1]);
+                case "max-wait-minutes" -> maxWaitMinutes = Double.parseDouble(kv[1]);
+                case "max-detour-km" -> maxDetourKm = Double.parseDouble(kv[1]);
+                case "candidates" -> candidates = Integer.parseInt(kv[1]);
+                case "capacities" -> capacities = Arrays.stream(kv[1].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "seed" -> seed = Long.parseLong(kv[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + kv[0]);
+            }
+        }
+
+        SimOrder[] orders = generateOrders(new Random(seed));
+        System.out.printf("%d partners, %d orders over %.1f h (%.0f/h), %.0f km/h, %.0f min per stop, "
+                        + "max wait %.0f min, max detour %.1f km%n%n",
+                partners, orders.length, hours, ordersPerHour, speedKmh, stopMinutes, maxWaitMinutes, maxDetourKm);
+        System.out.printf("%-9s %12s %9s %9s %9s %10s %9s %12s%n",
+                "capacity", "delivered/h", "lost %", "p50 min", "p95 min", "km/order", "bundled", "utilization");
+
+        Result baseline = null;
+        for (int capacity : capacities) {
+            Result result = run(orders, capacity);
+            result.print(capacity, baseline);
+            if (baseline == null) {
+                baseline = result;
+            }
+        }
+    }
+
+    private static SimOrder[] generateOrders(Random random) {
+        List<SimOrder> orders = new ArrayList<>();
+        double horizon = hours * 3600;
+        double meanGap = 3600 / ordersPerHour;
+        for (double t = -Math.log(1 - random.nextDouble()) * meanGap; t < horizon;
+                t += -Math.log(1 - random.nextDouble()) * meanGap) {
+            double pickupLat = CENTER_LAT + random.nextGaussian() * CITY_SPREAD_DEGREES;
+            double pickupLng = CENTER_LNG + random.nextGaussian() * CITY_SPREAD_DEGREES;
+            orders.add(new SimOrder(orders.size(), t, pickupLat, pickupLng,
+                    pickupLat + random.nextGaussian() * DROP_SPREAD_DEGREES,
+                    pickupLng + random.nextGaussian() * DROP_SPREAD_DEGREES));
+        }
+        return orders.toArray(SimOrder[]::new);
+    }
+
+    private static Result run(SimOrder[] orders, int capacity) {
+        // Same starting positions for every run
+        Random random = new Random(seed + 1);
+        Partner[] fleet = new Partner[partners];
+        for (int i = 0; i < partners; i++) {
+            fleet[i] = new Partner(CENTER_LAT + random.nextGaussian() * CITY_SPREAD_DEGREES,
+                    CENTER_LNG + random.nextGaussian() * CITY_SPREAD_DEGREES);
+        }
+
+        Result result = new Result();
+        ArrayDeque<SimOrder> waiting = new ArrayDeque<>();
+        double horizon = hours * 3600;
+        double stepKm = speedKmh * TICK_SECONDS / 3600;
+        int next = 0;
+        for (double t = 0; t < horizon; t += TICK_SECONDS) {
+            while (next < orders.length && orders[next].createdAt <= t) {
+                waiting.add(orders[next++]);
+            }
+            for (Iterator<SimOrder> it = waiting.iterator(); it.hasNext(); ) {
+                SimOrder order = it.next();
+                if (t - order.createdAt > maxWaitMinutes * 60) {
+                    it.remove();
+                    result.lost++;
+                } else if (assign(order, fleet, capacity, result)) {
+                    it.remove();
+                }
+            }
+            for (Partner partner : fleet) {
+                partner.advance(t, stepKm, result);
+            }
+        }
+        result.offered = next;
+        return result;
+    }
+
+    /**
+     * Gives the order to the cheapest-insertion candidate among the nearest partners with
+     * spare capacity. Returns false if nobody fits yet.
+     */
+    private static boolean assign(SimOrder order, Partner[] fleet, int capacity, Result result) {
+        Partner[] nearest = new Partner[candidates];
+        double[] nearestKm = new double[candidates];
+        int found = 0;
+        for (Partner partner : fleet) {
+            if (partner.load >= capacity) {
+                continue;
+            }
+            double km = PartnerSpatialIndex.distanceKm(partner.lat, partner.lng, order.pickupLat, order.pickupLng);
+            if (found < candidates || km < nearestKm[found - 1]) {
+                int i = found < candidates ? found++ : found - 1;
+                while (i > 0 && nearestKm[i - 1] > km) {
+                    nearest[i] = nearest[i - 1];
+                    nearestKm[i] = nearestKm[i - 1];
+                    i--;
+                }
+                nearest[i] = partner;
+                nearestKm[i] = km;
+            }
+        }
+
+        Partner best = null;
+        int bestPickupIndex = 0;
+        int bestDropIndex = 0;
+        double bestCost = Double.MAX_VALUE;
+        for (int c = 0; c < found; c++) {
+            Partner partner = nearest[c];
+            double[] lats = partner.stopLats();
+            double[] lngs = partner.stopLngs();
+            int n = lats.length;
+            RouteInsertion.Insertion pickup = RouteInsertion.cheapest(partner.lat, partner.lng, lats, lngs, n, 0,
+                    order.pickupLat, order.pickupLng);
+            double[] withPickupLats = insert(lats, pickup.index(), order.pickupLat);
+            double[] withPickupLngs = insert(lngs, pickup.index(), order.pickupLng);
+            RouteInsertion.Insertion drop = RouteInsertion.cheapest(partner.lat, partner.lng, withPickupLats,
+                    withPickupLngs, n + 1, pickup.index() + 1, order.dropLat, order.dropLng);
+            double cost = pickup.detourKm() + drop.detourKm();
+            if (partner.load > 0 && cost > maxDetourKm) {
+                continue;
+            }
+            if (cost < bestCost) {
+                best = partner;
+                bestCost = cost;
+                bestPickupIndex = pickup.index();
+                bestDropIndex = drop.index();
+            }
+        }
+        if (best == null) {
+            return false;
+        }
+        if (best.load > 0) {
+            result.bundled++;
+        }
+        best.route.add(bestPickupIndex, new Stop(order, true));
+        best.route.add(bestDropIndex, new Stop(order, false));
+        best.load++;
+        return true;
+    }
+
+    private static double[] insert(double[] values, int index, double value) {
+        double[] result = new double[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private record SimOrder(int id, double createdAt, double pickupLat, double pickupLng,
+            double dropLat, double dropLng) {
+    }
+
+    private record Stop(SimOrder order, boolean pickup) {
+
+        double lat() {
+            return pickup ? order.pickupLat : order.dropLat;
+        }
+
+        double lng() {
+            return pickup ? order.pickupLng : order.dropLng;
+        }
+    }
+
+    private static final class Partner {
+
+        double lat;
+        double lng;
+        final List<Stop> route = new ArrayList<>();
+        int load;
+        double dwellUntil;
+
+        Partner(double lat, double lng) {
+            this.lat = lat;
+            this.lng = lng;
+        }
+
+        double[] stopLats() {
+            return route.stream().mapToDouble(Stop::lat).toArray();
+        }
+
+        double[] stopLngs() {
+            return route.stream().mapToDouble(Stop::lng).toArray();
+        }
+
+        void advance(double now, double stepKm, Result result) {
+            if (route.isEmpty()) {
+                return;
+            }
+            result.busyTicks++;
+            if (now < dwellUntil) {
+                return;
+            }
+            Stop stop = route.get(0);
+            double remaining = PartnerSpatialIndex.distanceKm(lat, lng, stop.lat(), stop.lng());
+            if (remaining > stepKm) {
+                double fraction = stepKm / remaining;
+                lat += (stop.lat() - lat) * fraction;
+                lng += (stop.lng() - lng) * fraction;
+                result.km += stepKm;
+                return;
+            }
+            lat = stop.lat();
+            lng = stop.lng();
+            result.km += remaining;
+            dwellUntil = now + stopMinutes * 60;
+            route.remove(0);
+            if (!stop.pickup()) {
+                load--;
+                result.deliveryMinutes.add((now - stop.order().createdAt()) / 60);
+            }
+        }
+    }
+
+    private static final class Result {
+
+        int offered;
+        int lost;
+        int bundled;
+        long busyTicks;
+        double km;
+        final List<Double> deliveryMinutes = new ArrayList<>();
+
+        void print(int capacity, Result baseline) {
+            int delivered = deliveryMinutes.size();
+            double[] sorted = deliveryMinutes.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            double perHour = delivered / hours;
+            String gain = baseline == null || baseline.deliveryMinutes.isEmpty()
+                    ? ""
+                    : String.format(" (%+.0f%%)", 100.0 * (delivered - baseline.deliveryMinutes.size())
+                            / baseline.deliveryMinutes.size());
+            double ticks = hours * 3600 / TICK_SECONDS * partners;
+            System.out.printf("%-9d %12s %9.1f %9.1f %9.1f %10.2f %9d %11.0f%%%n",
+                    capacity, String.format("%.0f", perHour) + gain,
+                    100.0 * lost / Math.max(1, offered),
+                    percentile(sorted, 50), percentile(sorted, 95),
+                    delivered == 0 ? 0 : km / delivered, bundled, 100.0 * busyTicks / ticks);
+        }
+
+        private static double percentile(double[] sorted, double p) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, sorted.length * p / 100)];
+        }
+    }
+}
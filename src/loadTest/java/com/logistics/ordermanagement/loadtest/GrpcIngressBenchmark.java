@@ -0,0 +1,376 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.logistics.ordermanagement.grpc.v1.GetOrderRequest;
+import com.logistics.ordermanagement.grpc.v1.OrderStatus;
+import com.logistics.ordermanagement.grpc.v1.PartnerIngressGrpc;
+import com.logistics.ordermanagement.grpc.v1.PartnerMessage;
+import com.logistics.ordermanagement.grpc.v1.ServerMessage;
+import com.logistics.ordermanagement.grpc.v1.StatusUpdate;
+import com.logistics.ordermanagement.grpc.v1.StatusUpdateResult;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the partner path over REST (HTTP/1.1, JSON, JWT filter per request) with the gRPC
+ * ingress (one authenticated stream per device, protobuf) on a running instance started with
+ * {@code grpc.enabled=true}, typically the {@code perf} profile so there are partners to
+ * auto-assign.
+ * <p>
+ * Orders are first created with auto-assignment (not measured) and split between the two
+ * transports. Each transport then drives its orders through PICKED, a lookup by id and
+ * DELIVERED from a fixed number of closed-loop workers (devices), after a warm-up round.
+ * Throughput and p50/p95/p99 per operation are printed and written as a JSON report.
+ * <p>
+ * {@code ./gradlew grpcIngressBenchmark -Pargs="--orders=2000 --concurrency=32"}
+ */
+public class GrpcIngressBenchmark {
+
+    enum Transport {
+        REST, GRPC
+    }
+
+    enum Operation {
+        STATUS_PICKED, GET_ORDER, STATUS_DELIVERED
+    }
+
+    private static final String[] CITIES = { "BANGALORE", "MUMBAI", "DELHI", "HYDERABAD", "CHENNAI", "PUNE" };
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI baseUri;
+    private final AtomicLong errors = new AtomicLong();
+
+    private String token;
+
+    GrpcIngressBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.baseUri = URI.create(option("base-url", "http://localhost:8080"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        new GrpcIngressBenchmark(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        int orders = Integer.parseInt(option("orders", "2000"));
+        int warmup = Integer.parseInt(option("warmup-orders", "200"));
+        int concurrency = Integer.parseInt(option("concurrency", "32"));
+
+        login();
+        System.out.printf("Creating %d assigned order(s)...%n", 2 * (orders + warmup));
+        List<Long> assigned = createAssignedOrders(2 * (orders + warmup), concurrency);
+        if (assigned.size() < 2 * (orders + warmup)) {
+            throw new IllegalStateException("Only " + assigned.size() + " order(s) could be auto-assigned; "
+                    + "run against the perf profile or lower --orders");
+        }
+
+        ManagedChannel channel = NettyChannelBuilder.forTarget(option("grpc-target", "localhost:9090"))
+                .usePlaintext()
+                .build();
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        PartnerIngressGrpc.PartnerIngressStub asyncStub = PartnerIngressGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+        PartnerIngressGrpc.PartnerIngressBlockingStub blockingStub = PartnerIngressGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+
+        Map<Transport, Result> results = new LinkedHashMap<>();
+        int offset = 0;
+        for (Transport transport : Transport.values()) {
+            List<Long> warmupOrders = assigned.subList(offset, offset + warmup);
+            List<Long> measuredOrders = assigned.subList(offset + warmup, offset + warmup + orders);
+            offset += warmup + orders;
+
+            drive(transport, warmupOrders, concurrency, new Result(), asyncStub, blockingStub);
+            Result result = new Result();
+            System.out.printf("Driving %d order(s) over %s with %d device(s)%n",
+                    measuredOrders.size(), transport, concurrency);
+            drive(transport, measuredOrders, concurrency, result, asyncStub, blockingStub);
+            results.put(transport, result);
+        }
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+
+        writeReport(results, orders, concurrency);
+    }
+
+    private void drive(Transport transport, List<Long> orderIds, int concurrency, Result result,
+            PartnerIngressGrpc.PartnerIngressStub asyncStub,
+            PartnerIngressGrpc.PartnerIngressBlockingStub blockingStub) throws Exception {
+        ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>(orderIds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                if (transport == Transport.REST) {
+                    restDevice(pending, result);
+                } else {
+                    grpcDevice(pending, result, asyncStub, blockingStub);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        workers.shutdown();
+    }
+
+    private void restDevice(ConcurrentLinkedQueue<Long> pending, Result result) throws Exception {
+        Long orderId;
+        while ((orderId = pending.poll()) != null) {
+            long t0 = System.nanoTime();
+            rest(request("/api/v1/orders/" + orderId + "/status").PUT(statusBody("PICKED")).build());
+            long t1 = System.nanoTime();
+            rest(request("/api/v1/orders/" + orderId).GET().build());
+            long t2 = System.nanoTime();
+            rest(request("/api/v1/orders/" + orderId + "/status").PUT(statusBody("DELIVERED")).build());
+            long t3 = System.nanoTime();
+            result.record(Operation.STATUS_PICKED, t1 - t0);
+            result.record(Operation.GET_ORDER, t2 - t1);
+            result.record(Operation.STATUS_DELIVERED, t3 - t2);
+        }
+    }
+
+    private void grpcDevice(ConcurrentLinkedQueue<Long> pending, Result result,
+            PartnerIngressGrpc.PartnerIngressStub asyncStub,
+            PartnerIngressGrpc.PartnerIngressBlockingStub blockingStub) throws Exception {
+        BlockingQueue<StatusUpdateResult> replies = new LinkedBlockingQueue<>();
+        StreamObserver<PartnerMessage> stream = asyncStub.connect(new StreamObserver<>() {
+            @Override
+            public void onNext(ServerMessage message) {
+                if (message.hasStatusResult()) {
+                    replies.add(message.getStatusResult());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                System.err.println("Device stream failed: " + t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+
+        long requestId = 0;
+        Long orderId;
+        try {
+            while ((orderId = pending.poll()) != null) {
+                long t0 = System.nanoTime();
+                statusUpdate(stream, replies, ++requestId, orderId, OrderStatus.ORDER_STATUS_PICKED);
+                long t1 = System.nanoTime();
+                try {
+                    blockingStub.getOrder(GetOrderRequest.newBuilder().setOrderId(orderId).build());
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                long t2 = System.nanoTime();
+                statusUpdate(stream, replies, ++requestId, orderId, OrderStatus.ORDER_STATUS_DELIVERED);
+                long t3 = System.nanoTime();
+                result.record(Operation.STATUS_PICKED, t1 - t0);
+                result.record(Operation.GET_ORDER, t2 - t1);
+                result.record(Operation.STATUS_DELIVERED, t3 - t2);
+            }
+        } finally {
+            stream.onCompleted();
+        }
+    }
+
+    private void statusUpdate(StreamObserver<PartnerMessage> stream, BlockingQueue<StatusUpdateResult> replies,
+            long requestId, long orderId, OrderStatus status) throws InterruptedException {
+        stream.onNext(PartnerMessage.newBuilder()
+                .setStatusUpdate(StatusUpdate.newBuilder()
+                        .setRequestId(requestId)
+                        .setOrderId(orderId)
+                        .setStatus(status))
+                .build());
+        StatusUpdateResult reply = replies.poll(30, TimeUnit.SECONDS);
+        if (reply == null || reply.getRequestId() != requestId || !reply.getErrorCode().isEmpty()) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private List<Long> createAssignedOrders(int count, int concurrency) throws Exception {
+        ConcurrentLinkedQueue<Long> assigned = new ConcurrentLinkedQueue<>();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(workers.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String city = CITIES[random.nextInt(CITIES.length)];
+                ObjectNode body = objectMapper.createObjectNode()
+                        .put("customerName", "Ingress Customer " + random.nextInt(1_000_000))
+                        .put("customerPhone", String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)))
+                        .put("pickupAddress", (1 + random.nextInt(999)) + " Main Road, " + city)
+                        .put("deliveryAddress", (1 + random.nextInt(999)) + " Cross Street, " + city)
+                        .put("city", city)
+                        .put("autoAssign", true);
+                JsonNode data = rest(request("/api/v1/orders")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build());
+                if (data != null && "ASSIGNED".equals(data.path("status").asText())) {
+                    assigned.add(data.path("id").asLong());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+        errors.set(0);
+        return new ArrayList<>(assigned);
+    }
+
+    private JsonNode rest(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            errors.incrementAndGet();
+            return null;
+        }
+        return objectMapper.readTree(response.body()).path("data");
+    }
+
+    private HttpRequest.BodyPublisher statusBody(String status) {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.createObjectNode().put("status", status).toString());
+    }
+
+    private void login() throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("email", option("email", "perf-admin@example.com"))
+                .put("password", option("password", "perf-admin-password"));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private void writeReport(Map<Transport, Result> results, int orders, int concurrency) throws IOException {
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode config = report.putObject("config");
+        config.put("baseUrl", baseUri.toString());
+        config.put("grpcTarget", option("grpc-target", "localhost:9090"));
+        config.put("ordersPerTransport", orders);
+        config.put("concurrency", concurrency);
+        report.put("startedAt", Instant.now().toString());
+        report.put("errors", errors.get());
+
+        System.out.printf("%n%-6s %-18s %8s %10s %9s %9s %9s %9s%n",
+                "", "operation", "count", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        ObjectNode transports = report.putObject("transports");
+        for (Map.Entry<Transport, Result> entry : results.entrySet()) {
+            Result result = entry.getValue();
+            double seconds = result.elapsedNanos / 1e9;
+            ObjectNode transportNode = transports.putObject(entry.getKey().name());
+            transportNode.put("elapsedSeconds", seconds);
+            transportNode.put("ordersPerSecond", orders / seconds);
+            for (Operation operation : Operation.values()) {
+                long[] latencies = result.sorted(operation);
+                ObjectNode node = transportNode.putObject(operation.name());
+                node.put("count", latencies.length);
+                node.put("throughputOps", latencies.length / seconds);
+                node.put("p50", percentile(latencies, 0.50));
+                node.put("p95", percentile(latencies, 0.95));
+                node.put("p99", percentile(latencies, 0.99));
+                node.put("max", percentile(latencies, 1.0));
+                System.out.printf("%-6s %-18s %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), operation,
+                        latencies.length, latencies.length / seconds, percentile(latencies, 0.50),
+                        percentile(latencies, 0.95), percentile(latencies, 0.99), percentile(latencies, 1.0));
+            }
+        }
+
+        Path path = Path.of(option("report", "build/reports/load/grpc-ingress.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.printf("%n%d error(s); report written to %s%n", errors.get(), path.toAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] sizes = new int[Operation.values().length];
+        private long elapsedNanos;
+
+        synchronized void record(Operation operation, long latencyNanos) {
+            int i = operation.ordinal();
+            if (sizes[i] == latencies[i].length) {
+                latencies[i] = Arrays.copyOf(latencies[i], sizes[i] * 2);
+            }
+            latencies[i][sizes[i]++] = latencyNanos;
+        }
+
+        synchronized long[] sorted(Operation operation) {
+            long[] sorted = Arrays.copyOf(latencies[operation.ordinal()], sizes[operation.ordinal()]);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
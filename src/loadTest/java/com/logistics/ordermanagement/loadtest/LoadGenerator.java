@@ -0,0 +1,429 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop HTTP load generator for a running instance (typically the {@code perf} profile).
+ * <p>
+ * Requests are issued on a fixed schedule at the target rate regardless of how fast
+ * responses come back, and latency is measured from each request's scheduled start,
+ * so a stalled server shows up as latency instead of silently lowering the load.
+ * The mix covers order creation (plain and auto-assign), status updates on orders
+ * this run created, city-filtered list pages and history lookups. A JSON report with
+ * throughput and p50/p95/p99 per endpoint is written at the end.
+ * <p>
+ * {@code ./gradlew loadTest -Pargs="--rps=200 --duration=60 --report=build/reports/load/run.json"}
+ */
+public class LoadGenerator {
+
+    enum Operation {
+        CREATE_ORDER, CREATE_ORDER_AUTO_ASSIGN, UPDATE_STATUS, LIST_ORDERS, ORDER_HISTORY
+    }
+
+    // Same skew as the perf seeder: a handful of metros dominate
+    private static final String[] CITIES = {
+            "BANGALORE", "MUMBAI", "DELHI", "HYDERABAD", "CHENNAI", "PUNE",
+            "KOLKATA", "AHMEDABAD", "JAIPUR", "LUCKNOW", "KOCHI", "INDORE"
+    };
+
+    // Approximate city centres (lat, lng), index-aligned with CITIES; pickups are spread around them
+    private static final double[][] CITY_CENTERS = {
+            { 12.9716, 77.5946 }, { 19.0760, 72.8777 }, { 28.6139, 77.2090 }, { 17.3850, 78.4867 },
+            { 13.0827, 80.2707 }, { 18.5204, 73.8567 }, { 22.5726, 88.3639 }, { 23.0225, 72.5714 },
+            { 26.9124, 75.7873 }, { 26.8467, 80.9462 }, { 9.9312, 76.2673 }, { 22.7196, 75.8577 }
+    };
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final URI baseUri;
+    private final EnumMap<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Long> assignedOrders = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> pickedOrders = new ConcurrentLinkedQueue<>();
+    private final AtomicLong maxOrderId = new AtomicLong(1);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong clientDropped = new AtomicLong();
+    private final double[] cityWeights = cumulativeZipf(CITIES.length, 1.1);
+
+    private String token;
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.baseUri = URI.create(option("base-url", "http://localhost:8080"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Integer.parseInt(option("client-threads", "16"))))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        new LoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        int rps = Integer.parseInt(option("rps", "100"));
+        int durationSeconds = Integer.parseInt(option("duration", "60"));
+        int warmupSeconds = Integer.parseInt(option("warmup", "10"));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "2000"));
+        Map<Operation, Integer> mix = parseMix(option("mix",
+                "create=15,create-auto=10,status=20,list=35,history=20"));
+
+        login();
+        discoverMaxOrderId();
+
+        System.out.printf("Driving %s at %d req/s for %ds (+%ds warm-up), mix %s%n",
+                baseUri, rps, durationSeconds, warmupSeconds, mix);
+
+        Operation[] schedule = weightedSchedule(mix);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Instant startedAt = Instant.now();
+
+        long next = start;
+        long sequence = 0;
+        while (next < end) {
+            long now = System.nanoTime();
+            if (now < next) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(next - now, TimeUnit.MILLISECONDS.toNanos(1)));
+                continue;
+            }
+            boolean recording = next >= recordFrom;
+            if (inFlight.get() >= maxInFlight) {
+                if (recording) {
+                    clientDropped.incrementAndGet();
+                }
+            } else {
+                issue(schedule[(int) (sequence % schedule.length)], next, recording);
+            }
+            sequence++;
+            next += intervalNanos;
+        }
+
+        // Let outstanding requests finish so their latency is counted
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        writeReport(startedAt, rps, durationSeconds, warmupSeconds, mix);
+    }
+
+    private void issue(Operation operation, long scheduledAt, boolean record) {
+        HttpRequest request = buildRequest(operation);
+        if (request == null) {
+            // Nothing to transition yet; read instead so the offered rate stays constant
+            operation = Operation.LIST_ORDERS;
+            request = buildRequest(operation);
+        }
+        Operation op = operation;
+        inFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<String>> future = client.sendAsync(request,
+                HttpResponse.BodyHandlers.ofString());
+        future.whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long latency = System.nanoTime() - scheduledAt;
+            int status = error != null ? -1 : response.statusCode();
+            if (record) {
+                stats.get(op).record(status, latency);
+            }
+            if (error == null && status < 300) {
+                onSuccess(op, response.body());
+            }
+        });
+    }
+
+    private HttpRequest buildRequest(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case CREATE_ORDER, CREATE_ORDER_AUTO_ASSIGN -> {
+                int cityIndex = pick(random, cityWeights);
+                String city = CITIES[cityIndex];
+                ObjectNode body = objectMapper.createObjectNode()
+                        .put("customerName", "Load Customer " + random.nextInt(1_000_000))
+                        .put("customerPhone", String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)))
+                        .put("pickupAddress", (1 + random.nextInt(999)) + " Main Road, " + city)
+                        .put("deliveryAddress", (1 + random.nextInt(999)) + " Cross Street, " + city)
+                        .put("city", city)
+                        .put("pickupLatitude", CITY_CENTERS[cityIndex][0] + random.nextGaussian() * 0.055)
+                        .put("pickupLongitude", CITY_CENTERS[cityIndex][1] + random.nextGaussian() * 0.055)
+                        .put("autoAssign", operation == Operation.CREATE_ORDER_AUTO_ASSIGN);
+                yield request("/api/v1/orders").POST(json(body)).build();
+            }
+            case UPDATE_STATUS -> {
+                Long picked = pickedOrders.poll();
+                if (picked != null) {
+                    yield statusUpdate(picked, "DELIVERED");
+                }
+                Long assigned = assignedOrders.poll();
+                yield assigned != null ? statusUpdate(assigned, "PICKED") : null;
+            }
+            case LIST_ORDERS -> request(String.format("/api/v1/orders?city=%s&page=%d&size=20",
+                    CITIES[pick(random, cityWeights)], random.nextInt(10))).GET().build();
+            case ORDER_HISTORY -> request(String.format("/api/v1/orders/%d/history?size=20",
+                    1 + random.nextLong(maxOrderId.get()))).GET().build();
+        };
+    }
+
+    private HttpRequest statusUpdate(long orderId, String status) {
+        ObjectNode body = objectMapper.createObjectNode().put("status", status);
+        return request("/api/v1/orders/" + orderId + "/status").PUT(json(body)).build();
+    }
+
+    private void onSuccess(Operation operation, String body) {
+        try {
+            JsonNode data = objectMapper.readTree(body).path("data");
+            switch (operation) {
+                case CREATE_ORDER, CREATE_ORDER_AUTO_ASSIGN -> {
+                    long id = data.path("id").asLong();
+                    maxOrderId.accumulateAndGet(id, Math::max);
+                    if ("ASSIGNED".equals(data.path("status").asText())) {
+                        assignedOrders.add(id);
+                    }
+                }
+                case UPDATE_STATUS -> {
+                    if ("PICKED".equals(data.path("status").asText())) {
+                        pickedOrders.add(data.path("id").asLong());
+                    }
+                }
+                default -> {
+                }
+            }
+        } catch (IOException e) {
+            // Body is not needed for the measurement itself
+        }
+    }
+
+    private void login() throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("email", option("email", "perf-admin@example.com"))
+                .put("password", option("password", "perf-admin-password"));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private void discoverMaxOrderId() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request("/api/v1/orders?page=0&size=1").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode content = objectMapper.readTree(response.body()).path("data").path("content");
+        if (content.size() > 0) {
+            maxOrderId.set(Math.max(1, content.get(0).path("id").asLong()));
+        }
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(JsonNode body) {
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    private void writeReport(Instant startedAt, int rps, int durationSeconds, int warmupSeconds,
+            Map<Operation, Integer> mix) throws IOException {
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode config = report.putObject("config");
+        config.put("baseUrl", baseUri.toString());
+        config.put("targetRps", rps);
+        config.put("durationSeconds", durationSeconds);
+        config.put("warmupSeconds", warmupSeconds);
+        ObjectNode mixNode = config.putObject("mix");
+        mix.forEach((operation, weight) -> mixNode.put(operation.name(), weight));
+        report.put("startedAt", startedAt.toString());
+
+        long total = 0;
+        long errors = 0;
+        ObjectNode endpoints = report.putObject("endpoints");
+        System.out.printf("%n%-26s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long[] latencies = s.sortedLatencies();
+            long count = latencies.length;
+            total += count;
+            errors += s.errors();
+
+            ObjectNode node = endpoints.putObject(entry.getKey().name());
+            node.put("count", count);
+            node.put("errors", s.errors());
+            node.put("throughputRps", count / (double) durationSeconds);
+            ObjectNode latencyNode = node.putObject("latencyMs");
+            latencyNode.put("p50", percentile(latencies, 0.50));
+            latencyNode.put("p95", percentile(latencies, 0.95));
+            latencyNode.put("p99", percentile(latencies, 0.99));
+            latencyNode.put("max", percentile(latencies, 1.0));
+            ObjectNode codes = node.putObject("statusCodes");
+            s.statusCodes().forEach((code, n) -> codes.put(String.valueOf(code), n));
+
+            System.out.printf("%-26s %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), count, s.errors(),
+                    count / (double) durationSeconds, percentile(latencies, 0.50), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), percentile(latencies, 1.0));
+        }
+
+        ObjectNode totals = report.putObject("totals");
+        totals.put("requests", total);
+        totals.put("errors", errors);
+        totals.put("clientDropped", clientDropped.get());
+        totals.put("throughputRps", total / (double) durationSeconds);
+
+        Path path = Path.of(option("report", "build/reports/load/load-report.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.printf("%nTotal %d request(s), %d error(s), %d dropped client-side; report written to %s%n",
+                total, errors, clientDropped.get(), path.toAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            Operation operation = switch (kv[0]) {
+                case "create" -> Operation.CREATE_ORDER;
+                case "create-auto" -> Operation.CREATE_ORDER_AUTO_ASSIGN;
+                case "status" -> Operation.UPDATE_STATUS;
+                case "list" -> Operation.LIST_ORDERS;
+                case "history" -> Operation.ORDER_HISTORY;
+                default -> throw new IllegalArgumentException("Unknown operation in mix: " + kv[0]);
+            };
+            mix.put(operation, Integer.parseInt(kv[1]));
+        }
+        return mix;
+    }
+
+    /**
+     * Interleaves operations by weight into a repeating schedule, so the mix holds at
+     * every time scale rather than only on average.
+     */
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[total];
+        double[] credit = new double[Operation.values().length];
+        for (int slot = 0; slot < total; slot++) {
+            Operation best = null;
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                credit[entry.getKey().ordinal()] += entry.getValue();
+                if (best == null || credit[entry.getKey().ordinal()] > credit[best.ordinal()]) {
+                    best = entry.getKey();
+                }
+            }
+            credit[best.ordinal()] -= total;
+            schedule[slot] = best;
+        }
+        return schedule;
+    }
+
+    private static double[] cumulativeZipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(ThreadLocalRandom random, double[] cumulative) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        private final Map<Integer, Long> statusCodes = new TreeMap<>();
+
+        synchronized void record(int status, long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            statusCodes.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized Map<Integer, Long> statusCodes() {
+            return new TreeMap<>(statusCodes);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.logistics.ordermanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start comparison between today's configuration and the fast-start setup
+ * (fast-start profile, AOT context, CDS archive when present).
+ * <p>
+ * Each run launches the application as a fresh JVM and measures wall-clock time from
+ * process start to the first successful {@code GET /api/v1/orders}, i.e. until a
+ * new instance can actually serve traffic. Runs alternate between the two modes to
+ * spread out noise from the machine and the database.
+ * <p>
+ * Both modes run against the same, already-migrated database, as a scaled-out
+ * instance would. A PostgreSQL database is expected: Hibernate schema validation
+ * does not accept H2's mapping of TEXT columns.
+ * <p>
+ * {@code ./gradlew cdsArchive startupBenchmark -Pargs="--runs=5 --datasource-url=jdbc:postgresql://localhost:5432/orders"}
+ */
+public class StartupBenchmark {
+
+    enum Mode {
+        DEFAULT, FAST_START
+    }
+
+    private static final String MAIN_CLASS = "com.logistics.ordermanagement.OrderManagementApplication";
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final String classpath = System.getProperty("startup.classpath", System.getProperty("java.class.path"));
+    private final Path cdsArchive = Path.of(System.getProperty("startup.cds-archive", "build/cds/order-management.jsa"));
+
+    StartupBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "true");
+        }
+        new StartupBenchmark(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        int runs = Integer.parseInt(option("runs", "5"));
+        boolean cds = Files.isRegularFile(cdsArchive);
+        if (!cds) {
+            System.out.printf("No CDS archive at %s; fast-start runs use AOT only (run ./gradlew cdsArchive)%n",
+                    cdsArchive);
+        }
+
+        // Untimed: applies migrations and makes sure the benchmark user exists
+        System.out.println("Preparing database and user with a fast-start instance...");
+        launchAndMeasure(Mode.FAST_START, cds, true);
+
+        Map<Mode, List<Long>> results = new LinkedHashMap<>();
+        for (Mode mode : Mode.values()) {
+            results.put(mode, new ArrayList<>());
+        }
+        for (int i = 0; i < runs; i++) {
+            for (Mode mode : Mode.values()) {
+                long millis = launchAndMeasure(mode, cds, false);
+                results.get(mode).add(millis);
+                System.out.printf("run %d %-10s %6d ms%n", i + 1, mode, millis);
+            }
+        }
+
+        writeReport(runs, cds, results);
+    }
+
+    /**
+     * Starts the application, waits for the first 200 from GET /api/v1/orders and
+     * stops it again. Returns the elapsed time in milliseconds.
+     */
+    private long launchAndMeasure(Mode mode, boolean cds, boolean prepare) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(option("jvm-args", "-Xmx1g").split("\\s+")));
+        if (mode == Mode.FAST_START) {
+            command.add("-Dspring.aot.enabled=true");
+            if (cds) {
+                command.add("-XX:SharedArchiveFile=" + cdsArchive);
+            }
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        if (mode == Mode.FAST_START) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        if (options.containsKey("datasource-url")) {
+            command.add("--spring.datasource.url=" + options.get("datasource-url"));
+            command.add("--spring.datasource.username=" + option("datasource-username", "postgres"));
+            command.add("--spring.datasource.password=" + option("datasource-password", "postgres"));
+        }
+
+        Path log = Files.createTempFile("startup-" + mode.name().toLowerCase(), ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        boolean served = false;
+        try {
+            URI baseUri = URI.create("http://localhost:" + port);
+            long deadline = start + TimeUnit.SECONDS.toNanos(Long.parseLong(option("timeout", "180")));
+            String token = null;
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " instance exited with " + process.exitValue()
+                            + "; see " + log);
+                }
+                try {
+                    if (token == null) {
+                        token = prepare ? registerOrLogin(baseUri) : login(baseUri);
+                    }
+                    if (token != null && ordersReturn200(baseUri, token)) {
+                        served = true;
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            throw new IllegalStateException(mode + " instance did not serve GET /api/v1/orders in time; see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            // Failed runs keep their log for the error message above
+            if (served) {
+                Files.deleteIfExists(log);
+            }
+        }
+    }
+
+    private String registerOrLogin(URI baseUri) throws IOException, InterruptedException {
+        ObjectNode body = credentials().put("name", "Startup Benchmark").put("role", "ADMIN");
+        HttpResponse<String> response = post(baseUri.resolve("/api/v1/auth/register"), body);
+        if (response.statusCode() == 201) {
+            return token(response);
+        }
+        return login(baseUri);
+    }
+
+    private String login(URI baseUri) throws IOException, InterruptedException {
+        HttpResponse<String> response = post(baseUri.resolve("/api/v1/auth/login"), credentials());
+        return response.statusCode() == 200 ? token(response) : null;
+    }
+
+    private boolean ordersReturn200(URI baseUri, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/orders?page=0&size=20"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private ObjectNode credentials() {
+        return objectMapper.createObjectNode()
+                .put("email", option("email", "startup-benchmark@example.com"))
+                .put("password", option("password", "startup-benchmark-password"));
+    }
+
+    private HttpResponse<String> post(URI uri, JsonNode body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String token(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body()).path("data").path("token").asText(null);
+    }
+
+    private void writeReport(int runs, boolean cds, Map<Mode, List<Long>> results) throws IOException {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", Instant.now().toString());
+        report.put("runs", runs);
+        report.put("cdsArchive", cds);
+
+        System.out.printf("%n%-10s %9s %9s %9s%n", "mode", "min ms", "median ms", "max ms");
+        ObjectNode modes = report.putObject("modes");
+        for (Map.Entry<Mode, List<Long>> entry : results.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            ObjectNode node = modes.putObject(entry.getKey().name());
+            ArrayNode samples = node.putArray("timeToFirstRequestMs");
+            entry.getValue().forEach(samples::add);
+            node.put("min", sorted[0]);
+            node.put("median", sorted[sorted.length / 2]);
+            node.put("max", sorted[sorted.length - 1]);
+            System.out.printf("%-10s %9d %9d %9d%n", entry.getKey(), sorted[0], sorted[sorted.length / 2],
+                    sorted[sorted.length - 1]);
+        }
+
+        Path path = Path.of(option("report", "build/reports/startup/startup-report.json"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.printf("%nReport written to %s%n", path.toAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
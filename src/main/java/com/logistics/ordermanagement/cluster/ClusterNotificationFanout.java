@@ -0,0 +1,204 @@
+package com.logistics.ordermanagement.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.logistics.ordermanagement.config.ClusterFanoutProperties;
+import com.logistics.ordermanagement.config.NotificationProperties;
+import com.logistics.ordermanagement.dto.response.OrderNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers notifications to the WebSocket sessions of every node. The sending node delivers
+ * to its own sessions straight away and publishes the notification on the cluster transport;
+ * every other node delivers it to its sessions on receipt. Messages carry an id and their
+ * origin, so a node skips its own messages and any message it has already delivered.
+ * <p>
+ * Without a transport (local simple broker, or an external broker relay that fans out by
+ * itself) this is a plain send through the messaging template.
+ * <p>
+ * With {@code notifications.binary-frames} each delivery also goes to the destination plus
+ * {@value #BINARY_SUFFIX} as a CBOR body. Those frames are typed application/octet-stream so
+ * they go out as binary WebSocket messages; SockJS clients cannot receive them.
+ */
+@Slf4j
+@Component
+public class ClusterNotificationFanout {
+
+    public static final String BINARY_SUFFIX = ".cbor";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterTransport transport;
+    private final String nodeId;
+    private final ObjectWriter envelopeWriter;
+    private final ObjectReader envelopeReader;
+    // Null unless binary frames are enabled
+    private final ObjectWriter binaryWriter;
+
+    // Recently delivered message ids, oldest evicted first; guarded by itself
+    private final Map<String, Boolean> delivered;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter duplicates;
+    private final Timer propagation;
+
+    public ClusterNotificationFanout(SimpMessagingTemplate messagingTemplate,
+            ObjectProvider<ClusterTransport> transport,
+            ObjectMapper objectMapper,
+            ClusterFanoutProperties properties,
+            NotificationProperties notificationProperties,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.transport = transport.getIfAvailable();
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString().substring(0, 8);
+        int dedupeWindow = properties.getDedupeWindow();
+        // ASCII only, so a transport can size messages by characters
+        this.envelopeWriter = objectMapper.writerFor(NotificationEnvelope.class)
+                .with(JsonWriteFeature.ESCAPE_NON_ASCII);
+        this.envelopeReader = objectMapper.readerFor(NotificationEnvelope.class);
+        this.binaryWriter = notificationProperties.isBinaryFrames()
+                ? cborConverter.getObjectMapper().writerFor(OrderNotification.class)
+                : null;
+        this.delivered = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+
+        String transportName = this.transport != null ? this.transport.name() : properties.getTransport().name();
+        this.published = Counter.builder("notifications.cluster.published")
+                .description("Notifications this node published to other nodes")
+                .tag("transport", transportName)
+                .register(meterRegistry);
+        this.received = Counter.builder("notifications.cluster.received")
+                .description("Notifications from other nodes delivered to this node's sessions")
+                .tag("transport", transportName)
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("notifications.cluster.duplicates")
+                .description("Relayed notifications dropped because they were already delivered")
+                .tag("transport", transportName)
+                .register(meterRegistry);
+        this.propagation = Timer.builder("notifications.cluster.propagation")
+                .description("Time from publish on the origin node to delivery on this node (includes clock skew)")
+                .tag("transport", transportName)
+                .register(meterRegistry);
+
+        if (this.transport != null) {
+            this.transport.start(this::onMessage);
+            log.info("Cluster notification fan-out over {} as node {}", transportName, nodeId);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void sendToTopic(String destination, OrderNotification notification) {
+        send(destination, null, notification);
+    }
+
+    public void sendToUser(String username, String destination, OrderNotification notification) {
+        send(destination, username, notification);
+    }
+
+    private void send(String destination, String user, OrderNotification notification) {
+        deliver(destination, user, notification);
+        if (transport == null) {
+            return;
+        }
+
+        NotificationEnvelope envelope = new NotificationEnvelope(UUID.randomUUID().toString(), nodeId,
+                System.currentTimeMillis(), destination, user, notification);
+        try {
+            transport.publish(envelopeWriter.writeValueAsString(envelope));
+            published.increment();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} notification for other nodes: {}",
+                    notification.getType(), e.getMessage());
+        }
+    }
+
+    void onMessage(String message) {
+        NotificationEnvelope envelope;
+        try {
+            envelope = envelopeReader.readValue(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping unreadable cluster notification: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(envelope.origin())) {
+            // Already delivered here when it was sent
+            return;
+        }
+        if (!remember(envelope.id())) {
+            duplicates.increment();
+            return;
+        }
+
+        deliver(envelope.destination(), envelope.user(), envelope.payload());
+        received.increment();
+        propagation.record(Math.max(0, System.currentTimeMillis() - envelope.sentAt()), TimeUnit.MILLISECONDS);
+    }
+
+    private void deliver(String destination, String user, OrderNotification notification) {
+        if (user == null) {
+            messagingTemplate.convertAndSend(destination, notification);
+        } else {
+            messagingTemplate.convertAndSendToUser(user, destination, notification);
+        }
+        if (binaryWriter != null) {
+            deliverBinary(destination, user, notification);
+        }
+    }
+
+    private void deliverBinary(String destination, String user, OrderNotification notification) {
+        byte[] body;
+        try {
+            body = binaryWriter.writeValueAsBytes(notification);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode {} notification as CBOR: {}", notification.getType(), e.getMessage());
+            return;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        headers.setLeaveMutable(true);
+        String target = destination + BINARY_SUFFIX;
+        if (user != null) {
+            // Same resolution as convertAndSendToUser
+            target = messagingTemplate.getUserDestinationPrefix() + user.replace("/", "%2F") + target;
+        }
+        messagingTemplate.send(target, MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+    }
+
+    /**
+     * Returns false if the id was already seen.
+     */
+    private boolean remember(String id) {
+        synchronized (delivered) {
+            return delivered.put(id, Boolean.TRUE) == null;
+        }
+    }
+}
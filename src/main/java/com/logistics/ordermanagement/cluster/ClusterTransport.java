@@ -0,0 +1,23 @@
+package com.logistics.ordermanagement.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries notification messages between nodes. Every message published by any node is
+ * handed to the receiver of every node, the publisher included. Messages are ASCII JSON.
+ */
+public interface ClusterTransport {
+
+    String name();
+
+    /**
+     * Starts receiving; called once, before the first publish.
+     */
+    void start(Consumer<String> receiver);
+
+    /**
+     * Sends without blocking on the network. Messages may be dropped under overload or
+     * while the transport reconnects; they are never delivered twice by the transport itself.
+     */
+    void publish(String message);
+}
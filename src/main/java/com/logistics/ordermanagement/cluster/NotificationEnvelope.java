@@ -0,0 +1,15 @@
+package com.logistics.ordermanagement.cluster;
+
+import com.logistics.ordermanagement.dto.response.OrderNotification;
+
+/**
+ * A notification as relayed between nodes. {@code user} is set for per-user destinations.
+ */
+public record NotificationEnvelope(
+        String id,
+        String origin,
+        long sentAt,
+        String destination,
+        String user,
+        OrderNotification payload) {
+}
@@ -0,0 +1,274 @@
+package com.logistics.ordermanagement.cluster;
+
+import com.logistics.ordermanagement.config.ClusterFanoutProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Cluster transport over PostgreSQL LISTEN/NOTIFY, so nodes sharing a database need no
+ * extra infrastructure. One connection listens and one publishes; both are opened with
+ * DriverManager rather than borrowed from the pool, since a listening connection is held
+ * for the life of the node.
+ * <p>
+ * NOTIFY payloads are limited to 8000 bytes. Longer messages (bulk status changes) are
+ * sent as {@code id|index|count|chunk} fragments, which Postgres delivers in order within
+ * a session, and reassembled by the listener.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cluster.fanout.transport", havingValue = "postgres")
+public class PostgresNotifyTransport implements ClusterTransport {
+
+    // Messages are ASCII, so characters are bytes; leaves room for the fragment header
+    private static final int MAX_CHUNK = 7_000;
+    private static final long FRAGMENT_TIMEOUT_MS = 30_000;
+    // Bounds the buffer a single (possibly garbled) header can make the listener allocate
+    private static final int MAX_FRAGMENTS = 1_024;
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long pollMillis;
+    private final long reconnectMillis;
+    private final BlockingQueue<String> outgoing;
+    private final Counter dropped;
+
+    // Incomplete fragmented messages by id; listener thread only
+    private final Map<String, Fragments> pending = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+    private Thread publisher;
+
+    public PostgresNotifyTransport(ClusterFanoutProperties properties,
+            DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry) {
+        ClusterFanoutProperties.Postgres postgres = properties.getPostgres();
+        if (!CHANNEL.matcher(postgres.getChannel()).matches()) {
+            throw new IllegalStateException("Invalid cluster.fanout.postgres.channel: " + postgres.getChannel());
+        }
+        this.channel = postgres.getChannel();
+        boolean own = StringUtils.hasText(postgres.getUrl());
+        this.url = own ? postgres.getUrl() : dataSourceProperties.determineUrl();
+        this.username = own ? postgres.getUsername() : dataSourceProperties.determineUsername();
+        this.password = own ? postgres.getPassword() : dataSourceProperties.determinePassword();
+        this.pollMillis = postgres.getPollInterval().toMillis();
+        this.reconnectMillis = postgres.getReconnectDelay().toMillis();
+        this.outgoing = new LinkedBlockingQueue<>(postgres.getQueueCapacity());
+        this.dropped = Counter.builder("notifications.cluster.dropped")
+                .description("Notifications not published to other nodes because the outgoing queue was full")
+                .tag("transport", name())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> receiver) {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cluster-listen").daemon().start(() -> listen(receiver));
+        publisher = Thread.ofPlatform().name("cluster-notify").daemon().start(this::publishLoop);
+    }
+
+    @Override
+    public void publish(String message) {
+        if (!outgoing.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            publisher.interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> receiver) {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cluster notifications on channel {}", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            try {
+                                receive(notification.getParameter(), receiver);
+                            } catch (RuntimeException e) {
+                                // Anyone with access to the channel can NOTIFY on it; never let one
+                                // payload tear down the listen connection
+                                log.warn("Dropping unreadable cluster notification: {}", e.toString());
+                            }
+                        }
+                    }
+                    expireFragments();
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    // Notifications sent while disconnected are lost
+                    log.warn("Cluster listen connection failed, reconnecting in {} ms: {}",
+                            reconnectMillis, e.getMessage());
+                    pending.clear();
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void publishLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                    PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                connection.setAutoCommit(true);
+                notify.setString(1, channel);
+                while (running) {
+                    String message = outgoing.poll(pollMillis, TimeUnit.MILLISECONDS);
+                    if (message != null) {
+                        for (String part : split(message)) {
+                            notify.setString(2, part);
+                            notify.execute();
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cluster notify connection failed, reconnecting in {} ms: {}",
+                            reconnectMillis, e.getMessage());
+                    pause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whole messages go out as they are (they start with '{'); longer ones as fragments.
+     */
+    private static String[] split(String message) {
+        if (message.length() <= MAX_CHUNK) {
+            return new String[] {message};
+        }
+        String id = UUID.randomUUID().toString();
+        int count = (message.length() + MAX_CHUNK - 1) / MAX_CHUNK;
+        String[] parts = new String[count];
+        for (int i = 0; i < count; i++) {
+            int from = i * MAX_CHUNK;
+            parts[i] = id + "|" + i + "|" + count + "|"
+                    + message.substring(from, Math.min(message.length(), from + MAX_CHUNK));
+        }
+        return parts;
+    }
+
+    private void receive(String part, Consumer<String> receiver) {
+        if (part.startsWith("{")) {
+            deliver(part, receiver);
+            return;
+        }
+        String[] header = part.split("\\|", 4);
+        int index = header.length == 4 ? parseInt(header[1]) : -1;
+        int count = header.length == 4 ? parseInt(header[2]) : -1;
+        if (count < 2 || count > MAX_FRAGMENTS || index < 0 || index >= count) {
+            log.warn("Dropping malformed cluster notification fragment");
+            return;
+        }
+        Fragments fragments = pending.computeIfAbsent(header[0], id -> new Fragments(count));
+        if (fragments.chunks.length != count || fragments.chunks[index] != null) {
+            log.warn("Dropping cluster notification {}: fragment {} of {} does not fit it", header[0], index, count);
+            pending.remove(header[0]);
+            return;
+        }
+        fragments.chunks[index] = header[3];
+        if (++fragments.received == count) {
+            pending.remove(header[0]);
+            deliver(String.join("", fragments.chunks), receiver);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void deliver(String message, Consumer<String> receiver) {
+        try {
+            receiver.accept(message);
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver cluster notification: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops messages whose remaining fragments were lost, e.g. when the sender went away.
+     */
+    private void expireFragments() {
+        long cutoff = System.currentTimeMillis() - FRAGMENT_TIMEOUT_MS;
+        Iterator<Fragments> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().startedAt < cutoff) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static final class Fragments {
+
+        private final String[] chunks;
+        private final long startedAt = System.currentTimeMillis();
+        private int received;
+
+        Fragments(int count) {
+            this.chunks = new String[count];
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.enums.FanoutTransport;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Delivery of WebSocket notifications to clients connected to any node of the cluster.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cluster.fanout")
+public class ClusterFanoutProperties {
+
+    private FanoutTransport transport = FanoutTransport.LOCAL;
+
+    // Identifies this node in relayed messages; a random id per start when empty
+    private String nodeId;
+
+    // Message ids remembered per node to drop anything delivered twice
+    private int dedupeWindow = 10_000;
+
+    private Postgres postgres = new Postgres();
+
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Postgres {
+
+        private String channel = "order_notifications";
+
+        // Dedicated listen/notify connections; spring.datasource.* when empty
+        private String url;
+        private String username;
+        private String password;
+
+        // How long the listener waits for notifications before checking for shutdown
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        // Outgoing messages waiting for the publisher connection; further ones are dropped
+        private int queueCapacity = 10_000;
+    }
+
+    @Data
+    public static class Relay {
+
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        // Used for client sessions
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        // Used for the shared system session (server-side sends)
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+    }
+}
@@ -0,0 +1,43 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive in-flight limits for API requests, one independent limit per route group.
+ * Writes (POST/PUT/PATCH/DELETE) and reads (GET) are limited separately so a burst
+ * of slow writes cannot starve order lookups, and vice versa.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Latency may exceed the baseline by this factor before the limit starts shrinking
+    private double tolerance = 1.5;
+
+    // Weight of each new limit estimate (0..1); lower values react more slowly
+    private double smoothing = 0.2;
+
+    // Number of samples the baseline latency is averaged over
+    private int longWindow = 600;
+
+    private Group write = new Group(20, 4, 100);
+
+    private Group read = new Group(50, 8, 200);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+    }
+}
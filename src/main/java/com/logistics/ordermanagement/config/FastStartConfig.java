@@ -0,0 +1,24 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.jfr.JfrSlowOperationMonitor;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager when spring.main.lazy-initialization is on (fast-start profile).
+ * The EntityManagerFactory keeps Flyway migration and schema validation at startup,
+ * so a bad deployment fails before taking traffic rather than on its first request.
+ * Beans with {@code @Scheduled} methods are already kept eager by Spring Boot.
+ */
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                EntityManagerFactory.class,
+                JfrSlowOperationMonitor.class);
+    }
+}
@@ -0,0 +1,37 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the optional gRPC ingress for partner devices.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "grpc")
+public class GrpcProperties {
+
+    private boolean enabled = false;
+
+    // Network listener (plaintext HTTP/2); -1 serves the in-process transport only
+    private int port = 9090;
+
+    // In-process server name, for clients in the same JVM
+    private String inProcessName = "order-management";
+
+    private DataSize maxInboundMessageSize = DataSize.ofKilobytes(256);
+
+    // HTTP/2 flow-control window per stream on the network listener
+    private DataSize flowControlWindow = DataSize.ofKilobytes(256);
+
+    private int maxConcurrentCallsPerConnection = 100;
+
+    // Status updates read ahead per device stream; the next one is requested as each is handled
+    private int inboundWindow = 8;
+
+    // Results and pushes held per device stream while the client is not reading; the stream
+    // is closed with RESOURCE_EXHAUSTED when more pile up
+    private int outboundBuffer = 256;
+}
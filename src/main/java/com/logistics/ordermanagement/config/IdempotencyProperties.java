@@ -0,0 +1,35 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for Idempotency-Key handling on state-changing API calls.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // memory (single node, bounded LRU) or jdbc (idempotency_keys table, shared by all nodes)
+    private String store = "memory";
+
+    // How long a completed response is replayed for
+    private Duration ttl = Duration.ofHours(24);
+
+    // How long an in-progress key stays claimed if its request never finishes
+    private Duration lockTimeout = Duration.ofSeconds(60);
+
+    // How long a concurrent duplicate waits for the first call before getting 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    private int maxEntries = 100_000;
+
+    // Larger responses are not stored; the key is released instead
+    private int maxBodyBytes = 64 * 1024;
+}
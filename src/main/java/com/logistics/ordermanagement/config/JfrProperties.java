@@ -0,0 +1,42 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the custom JFR events, the continuous slow-operation stream
+ * and the on-demand recordings started through /actuator/jfr.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jfr")
+public class JfrProperties {
+
+    private Streaming streaming = new Streaming();
+    private Recording recording = new Recording();
+
+    @Data
+    public static class Streaming {
+
+        private boolean enabled = true;
+
+        // Only events at least this long are committed to the stream and logged
+        private Duration slowThreshold = Duration.ofMillis(250);
+    }
+
+    @Data
+    public static class Recording {
+
+        private int maxConcurrent = 2;
+        private Duration defaultDuration = Duration.ofMinutes(5);
+        private Duration maxDuration = Duration.ofMinutes(30);
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+
+        // Where dumped .jfr files are written before download; defaults to java.io.tmpdir
+        private String directory;
+    }
+}
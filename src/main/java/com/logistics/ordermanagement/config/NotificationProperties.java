@@ -0,0 +1,17 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the WebSocket notification frames.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+
+    // Also send every notification as a CBOR frame to the same destination + ".cbor"
+    private boolean binaryFrames = false;
+}
@@ -0,0 +1,53 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.enums.LifecycleAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timed rules on the order state machine. A rule fires once an order has been in
+ * {@code status} for {@code after}, and again every {@code after} if it repeats,
+ * until the order leaves the status. A RETRY_ASSIGNMENT rule only applies to orders
+ * created with auto-assignment; an action that fails is tried again, repeating or not.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "order-lifecycle")
+public class OrderLifecycleProperties {
+
+    private boolean enabled = true;
+
+    // Timer resolution; deadlines are rounded up to a whole tick
+    private long tickMs = 1000;
+
+    // Buckets per wheel level (a power of two) and number of levels
+    private int wheelSize = 64;
+    private int levels = 4;
+
+    // Threads running fired actions, which take an order row lock each
+    private int actionThreads = 2;
+
+    // Delay before an action that threw is tried again (capped at the rule's 'after')
+    private Duration failureRetry = Duration.ofMinutes(1);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        private OrderStatus status;
+        private Duration after;
+        private LifecycleAction action;
+        private boolean repeat;
+    }
+}
@@ -0,0 +1,44 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the embedded order search index behind GET /api/v1/orders/search.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search.orders")
+public class OrderSearchProperties {
+
+    private boolean enabled = true;
+
+    // Local directory for the index; each node needs its own (the index is locked while open)
+    private String directory = "data/order-search";
+
+    private int defaultResults = 20;
+
+    private int maxResults = 100;
+
+    // How often new writes become searchable
+    private long refreshIntervalMs = 250;
+
+    // How often orders changed elsewhere (other nodes, plain JDBC) are read from the database
+    private long syncIntervalMs = 10_000;
+
+    // Re-read window behind the last sync, covering clock skew between nodes and slow commits
+    private Duration syncOverlap = Duration.ofSeconds(5);
+
+    // Rows per database round trip during rebuild and sync
+    private int batchSize = 5_000;
+
+    // Indexing buffer before a segment is flushed to disk
+    private DataSize ramBuffer = DataSize.ofMegabytes(64);
+
+    // Build the index from the database at startup when there is none yet
+    private boolean rebuildIfEmpty = true;
+}
@@ -0,0 +1,35 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How many orders a delivery partner may carry at once, when the partner has no
+ * explicit capacity.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "assignment.capacity")
+public class PartnerCapacityProperties {
+
+    // For vehicle types not listed below (and partners without one)
+    private int defaultCapacity = 1;
+
+    // Keyed by vehicle type, case-insensitive (e.g. BIKE: 2, CAR: 4)
+    private Map<String, Integer> byVehicleType = new HashMap<>();
+
+    public int capacityFor(String vehicleType) {
+        if (vehicleType != null) {
+            for (Map.Entry<String, Integer> entry : byVehicleType.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(vehicleType)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return defaultCapacity;
+    }
+}
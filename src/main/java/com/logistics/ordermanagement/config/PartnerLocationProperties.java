@@ -0,0 +1,33 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for partner location pings and their write-behind persistence.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "partner.location")
+public class PartnerLocationProperties {
+
+    // Partners tracked by this node; pings from further partners are rejected
+    private int capacity = 250_000;
+
+    // How often changed positions are pushed to the spatial index and considered for persistence
+    private long flushIntervalMs = 2000;
+
+    // Minimum time between two persisted positions of one partner; newer pings in between only live in memory
+    private Duration persistInterval = Duration.ofSeconds(15);
+
+    private int batchSize = 500;
+
+    // Client timestamps further in the future than this are clamped to the server clock
+    private Duration maxClockSkew = Duration.ofSeconds(5);
+
+    // How long a partner's owner email, or the absence of an unknown partner id, is trusted before re-checking
+    private Duration lookupTtl = Duration.ofMinutes(5);
+}
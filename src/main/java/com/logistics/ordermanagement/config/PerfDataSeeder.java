@@ -0,0 +1,360 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.entity.User;
+import com.logistics.ordermanagement.enums.AuditAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.enums.Role;
+import com.logistics.ordermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-generates partners, orders and audit events for the {@code perf} profile.
+ * <p>
+ * Rows are written with JDBC batches and explicit ids, and identity columns and the
+ * audit sequence are moved past the generated ranges afterwards. Cities follow a
+ * Zipf-like skew, so a few metros carry most of the volume as they do in production.
+ * Orders older than two days are mostly settled (DELIVERED/CANCELLED), recent ones
+ * are spread across the active states, and every order gets the audit trail its
+ * status implies. Seeding is skipped when orders already exist.
+ */
+@Slf4j
+@Component
+@Profile("perf")
+@RequiredArgsConstructor
+public class PerfDataSeeder implements ApplicationRunner {
+
+    static final String[] CITIES = {
+            "BANGALORE", "MUMBAI", "DELHI", "HYDERABAD", "CHENNAI", "PUNE",
+            "KOLKATA", "AHMEDABAD", "JAIPUR", "LUCKNOW", "KOCHI", "INDORE"
+    };
+
+    // Approximate city centres (lat, lng), index-aligned with CITIES
+    static final double[][] CITY_CENTERS = {
+            { 12.9716, 77.5946 }, { 19.0760, 72.8777 }, { 28.6139, 77.2090 }, { 17.3850, 78.4867 },
+            { 13.0827, 80.2707 }, { 18.5204, 73.8567 }, { 22.5726, 88.3639 }, { 23.0225, 72.5714 },
+            { 26.9124, 75.7873 }, { 26.8467, 80.9462 }, { 9.9312, 76.2673 }, { 22.7196, 75.8577 }
+    };
+    // Spread of positions around a centre, in degrees (~6 km)
+    private static final double CITY_SPREAD_DEGREES = 0.055;
+
+    private static final String[] VEHICLES = { "BIKE", "BIKE", "BIKE", "SCOOTER", "CAR", "VAN" };
+    private static final String[] CANCEL_REASONS = {
+            "Customer not reachable", "Ordered by mistake", "Address incorrect", "Delivery delayed"
+    };
+    private static final int HISTORY_DAYS = 180;
+
+    private static final String INSERT_PARTNER = "INSERT INTO delivery_partners "
+            + "(id, name, phone, email, city, status, vehicle_type, latitude, longitude, location_updated_at, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(id, order_number, customer_name, customer_phone, pickup_address, delivery_address, city, "
+            + "pickup_latitude, pickup_longitude, status, delivery_partner_id, cancellation_reason, cancelled_at, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ACTIVE_ORDERS = "UPDATE delivery_partners SET active_orders = ? WHERE id = ?";
+    private static final String INSERT_AUDIT = "INSERT INTO order_audit_events "
+            + "(id, order_id, action, old_status, new_status, partner_id, performed_by, subject, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${perf.seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${perf.seed.orders:200000}")
+    private int orderCount;
+
+    @Value("${perf.seed.partners:20000}")
+    private int partnerCount;
+
+    @Value("${perf.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${perf.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${perf.seed.admin-email:perf-admin@example.com}")
+    private String adminEmail;
+
+    @Value("${perf.seed.admin-password:perf-admin-password}")
+    private String adminPassword;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureAdminUser();
+
+        if (!enabled) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Skipping perf seeding, {} order(s) already present", existing);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        double[] cityWeights = zipfCumulativeWeights(CITIES.length, 1.1);
+
+        long[][] partnersByCity = seedPartners(random, cityWeights);
+        int[] activeOrders = new int[partnerCount + 1];
+        long auditRows = seedOrders(random, cityWeights, partnersByCity, activeOrders);
+        seedActiveOrders(activeOrders);
+
+        log.info("Seeded {} partner(s), {} order(s) and {} audit event(s) in {} ms",
+                partnerCount, orderCount, auditRows, System.currentTimeMillis() - started);
+    }
+
+    private void ensureAdminUser() {
+        if (userRepository.existsByEmail(adminEmail)) {
+            return;
+        }
+        userRepository.save(User.builder()
+                .name("Perf Admin")
+                .email(adminEmail)
+                .password(passwordEncoder.encode(adminPassword))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        log.info("Created perf admin user {}", adminEmail);
+    }
+
+    private long[][] seedPartners(SplittableRandom random, double[] cityWeights) {
+        List<List<Long>> byCity = new ArrayList<>();
+        for (int i = 0; i < CITIES.length; i++) {
+            byCity.add(new ArrayList<>());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= partnerCount; id++) {
+            int city = pick(random, cityWeights);
+            byCity.get(city).add(id);
+            // Most partners idle so auto-assignment has candidates; the rest busy or off shift
+            int roll = random.nextInt(100);
+            PartnerStatus status = roll < 70 ? PartnerStatus.AVAILABLE
+                    : roll < 90 ? PartnerStatus.BUSY : PartnerStatus.OFFLINE;
+            // A few partners have never reported a position
+            boolean located = random.nextInt(100) >= 5;
+            batch.add(new Object[] {
+                    id, "Partner " + id, String.valueOf(7_000_000_000L + id), "partner" + id + "@example.com",
+                    CITIES[city], status.name(), VEHICLES[random.nextInt(VEHICLES.length)],
+                    located ? coordinate(random, CITY_CENTERS[city][0]) : null,
+                    located ? coordinate(random, CITY_CENTERS[city][1]) : null,
+                    located ? Timestamp.valueOf(now.minusMinutes(random.nextInt(120))) : null,
+                    Timestamp.valueOf(now.minusDays(HISTORY_DAYS + random.nextInt(365)))
+            });
+            if (batch.size() == batchSize) {
+                flush(INSERT_PARTNER, batch);
+            }
+        }
+        flush(INSERT_PARTNER, batch);
+        restartIdentity("delivery_partners", partnerCount + 1L);
+
+        long[][] partnersByCity = new long[CITIES.length][];
+        for (int i = 0; i < CITIES.length; i++) {
+            partnersByCity[i] = byCity.get(i).stream().mapToLong(Long::longValue).toArray();
+        }
+        return partnersByCity;
+    }
+
+    private long seedOrders(SplittableRandom random, double[] cityWeights, long[][] partnersByCity,
+            int[] activeOrders) {
+        LocalDateTime start = LocalDateTime.now().minusDays(HISTORY_DAYS);
+        long spanSeconds = HISTORY_DAYS * 86_400L;
+        LocalDateTime settledBefore = LocalDateTime.now().minusDays(2);
+
+        List<Object[]> orders = new ArrayList<>(batchSize);
+        List<Object[]> audits = new ArrayList<>(batchSize * 4);
+        long auditId = 0;
+
+        for (long id = 1; id <= orderCount; id++) {
+            int city = pick(random, cityWeights);
+            // Ids increase with time, as they would for organically created orders
+            LocalDateTime createdAt = start.plusSeconds(spanSeconds * (id - 1) / orderCount);
+            OrderStatus status = pickStatus(random, createdAt.isBefore(settledBefore));
+            long[] cityPartners = partnersByCity[city];
+            boolean reachedAssignment = status == OrderStatus.ASSIGNED || status == OrderStatus.PICKED
+                    || status == OrderStatus.DELIVERED
+                    || (status == OrderStatus.CANCELLED && random.nextBoolean());
+            Long partnerId = reachedAssignment && cityPartners.length > 0
+                    ? cityPartners[random.nextInt(cityPartners.length)]
+                    : null;
+            if (partnerId == null && status != OrderStatus.PLACED && status != OrderStatus.CANCELLED) {
+                status = OrderStatus.PLACED;
+            }
+
+            // Audit trail implied by the status path, a few minutes per step
+            LocalDateTime at = createdAt;
+            audits.add(audit(++auditId, id, AuditAction.CREATED, null, OrderStatus.PLACED, null,
+                    "Customer " + id, CITIES[city], at));
+            OrderStatus reached = OrderStatus.PLACED;
+            if (partnerId != null) {
+                at = at.plusMinutes(1 + random.nextInt(10));
+                audits.add(audit(++auditId, id, AuditAction.PARTNER_ASSIGNED, null, null, partnerId,
+                        "Partner " + partnerId, null, at));
+                audits.add(audit(++auditId, id, AuditAction.STATUS_CHANGED, OrderStatus.PLACED,
+                        OrderStatus.ASSIGNED, null, null, null, at));
+                reached = OrderStatus.ASSIGNED;
+                if (status == OrderStatus.PICKED || status == OrderStatus.DELIVERED) {
+                    at = at.plusMinutes(5 + random.nextInt(20));
+                    audits.add(audit(++auditId, id, AuditAction.STATUS_CHANGED, OrderStatus.ASSIGNED,
+                            OrderStatus.PICKED, null, null, null, at));
+                    reached = OrderStatus.PICKED;
+                }
+                if (status == OrderStatus.DELIVERED) {
+                    at = at.plusMinutes(10 + random.nextInt(50));
+                    audits.add(audit(++auditId, id, AuditAction.STATUS_CHANGED, OrderStatus.PICKED,
+                            OrderStatus.DELIVERED, null, null, null, at));
+                    reached = OrderStatus.DELIVERED;
+                }
+            }
+            if (partnerId != null && (status == OrderStatus.ASSIGNED || status == OrderStatus.PICKED)) {
+                activeOrders[partnerId.intValue()]++;
+            }
+
+            String cancellationReason = null;
+            Timestamp cancelledAt = null;
+            if (status == OrderStatus.CANCELLED) {
+                at = at.plusMinutes(1 + random.nextInt(30));
+                cancellationReason = CANCEL_REASONS[random.nextInt(CANCEL_REASONS.length)];
+                cancelledAt = Timestamp.valueOf(at);
+                audits.add(audit(++auditId, id, AuditAction.CANCELLED, reached, OrderStatus.CANCELLED, null,
+                        null, cancellationReason, at));
+            }
+
+            orders.add(new Object[] {
+                    id, String.format("ORD-%08X", id), "Customer " + id,
+                    String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)),
+                    (1 + random.nextInt(999)) + " Main Road, " + CITIES[city],
+                    (1 + random.nextInt(999)) + " Cross Street, " + CITIES[city],
+                    CITIES[city], coordinate(random, CITY_CENTERS[city][0]), coordinate(random, CITY_CENTERS[city][1]),
+                    status.name(), partnerId, cancellationReason, cancelledAt,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(at)
+            });
+
+            if (orders.size() == batchSize) {
+                flushOrdersWithAudits(orders, audits);
+                if (id % (batchSize * 20L) == 0) {
+                    log.info("Seeded {} / {} orders", id, orderCount);
+                }
+            }
+        }
+        flushOrdersWithAudits(orders, audits);
+
+        restartIdentity("orders", orderCount + 1L);
+        // Hibernate's pooled optimizer hands out the 50 ids below each sequence value
+        jdbcTemplate.execute("ALTER SEQUENCE order_audit_events_seq RESTART WITH " + (auditId + 100));
+        return auditId;
+    }
+
+    private void flushOrdersWithAudits(List<Object[]> orders, List<Object[]> audits) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!orders.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ORDER, orders);
+            }
+            if (!audits.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_AUDIT, audits);
+            }
+        });
+        orders.clear();
+        audits.clear();
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        rows.clear();
+    }
+
+    /**
+     * Records the open orders drawn for each partner as its load. Statuses stay as seeded,
+     * so some partners start over capacity until their orders are delivered.
+     */
+    private void seedActiveOrders(int[] activeOrders) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int id = 1; id < activeOrders.length; id++) {
+            if (activeOrders[id] > 0) {
+                batch.add(new Object[] { activeOrders[id], (long) id });
+                if (batch.size() == batchSize) {
+                    flush(UPDATE_ACTIVE_ORDERS, batch);
+                }
+            }
+        }
+        flush(UPDATE_ACTIVE_ORDERS, batch);
+    }
+
+    private void restartIdentity(String table, long next) {
+        // Valid for both H2 and PostgreSQL identity columns
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    private static Object[] audit(long id, long orderId, AuditAction action, OrderStatus oldStatus,
+            OrderStatus newStatus, Long partnerId, String subject, String payload, LocalDateTime at) {
+        return new Object[] {
+                id, orderId, action.getCode(),
+                oldStatus == null ? null : oldStatus.getCode(),
+                newStatus == null ? null : newStatus.getCode(),
+                partnerId, "SYSTEM", subject, payload, Timestamp.valueOf(at)
+        };
+    }
+
+    private static OrderStatus pickStatus(SplittableRandom random, boolean settled) {
+        int roll = random.nextInt(100);
+        if (settled) {
+            return roll < 88 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+        }
+        return roll < 30 ? OrderStatus.PLACED
+                : roll < 55 ? OrderStatus.ASSIGNED
+                : roll < 75 ? OrderStatus.PICKED
+                : roll < 95 ? OrderStatus.DELIVERED
+                : OrderStatus.CANCELLED;
+    }
+
+    static double[] zipfCumulativeWeights(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static double coordinate(SplittableRandom random, double center) {
+        return center + random.nextGaussian() * CITY_SPREAD_DEGREES;
+    }
+
+    static int pick(SplittableRandom random, double[] cumulativeWeights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+}
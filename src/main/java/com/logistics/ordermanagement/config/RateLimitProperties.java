@@ -0,0 +1,48 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route/per-role token bucket limits. Rules are matched in order, the first
+ * match wins; requests matching no rule fall back to {@code defaultRule}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched (and full again) for this long are dropped from memory
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    private Rule defaultRule = new Rule("default", null, "/api/**", List.of(), 300, Duration.ofMinutes(1), 0);
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        private String name;
+        private String method; // null matches any HTTP method
+        private String path; // Ant-style pattern, e.g. /api/v1/orders/**
+        private List<String> roles = List.of(); // empty matches any caller, including anonymous
+        private int limit; // requests refilled per period
+        private Duration period = Duration.ofMinutes(1);
+        private int burst; // bucket capacity, defaults to limit when 0
+
+        public int getCapacity() {
+            return burst > 0 ? burst : limit;
+        }
+    }
+}
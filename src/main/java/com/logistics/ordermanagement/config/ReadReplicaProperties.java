@@ -0,0 +1,52 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting. When enabled, read-only transactions are served by the
+ * replicas below and everything else by {@code spring.datasource}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private long healthCheckIntervalMs = 5000;
+
+    // Replicas further behind than this stop receiving reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Must return the replica's lag in seconds (NULL counts as 0); empty only checks the replica answers
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    // Connection and health-check timeout; reads fall back to the primary after this
+    private Duration timeout = Duration.ofSeconds(2);
+
+    // A caller's reads stay on the primary for this long after their own commit (tracked per node)
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Replica {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
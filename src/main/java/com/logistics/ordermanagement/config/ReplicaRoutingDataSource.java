@@ -0,0 +1,252 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.service.TransactionCallbacks;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy read replica, round-robin,
+ * and all others to the primary. Needs a LazyConnectionDataSourceProxy in front so the
+ * connection is only fetched once the transaction is marked read-only.
+ * <p>
+ * Replicas are checked on a schedule. One that does not answer, or lags more than
+ * max-lag, gets no reads until a later check passes. A replica that fails to hand out a
+ * connection is taken out at once and the read goes to the primary. After a caller's own
+ * commit, that caller's reads stay on the primary for read-your-writes-window. A caller is
+ * the authenticated user, or the client address for anonymous calls such as registration
+ * followed by login.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private enum Route {
+        WRITE("primary", "write"),
+        REPLICA("replica", "read"),
+        READ_YOUR_WRITES("primary", "read_your_writes"),
+        NO_HEALTHY_REPLICA("primary", "no_healthy_replica"),
+        REPLICA_ERROR("primary", "replica_error");
+
+        final String target;
+        final String reason;
+
+        Route(String target, String reason) {
+            this.target = target;
+            this.reason = reason;
+        }
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean healthy;
+        volatile double lagSeconds = -1;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadReplicaProperties properties;
+    private final Map<Route, Counter> routeCounters = new EnumMap<>(Route.class);
+    // Caller key -> epoch millis until which the caller's reads stay on the primary
+    private final ConcurrentHashMap<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.properties = properties;
+
+        for (ReadReplicaProperties.Replica config : properties.getReplicas()) {
+            String name = StringUtils.hasText(config.getName()) ? config.getName() : "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(config.getUrl());
+            dataSource.setUsername(config.getUsername());
+            dataSource.setPassword(config.getPassword());
+            dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(Math.max(250, properties.getTimeout().toMillis()));
+            dataSource.setReadOnly(true);
+            // Start even if the replica is down; the health check keeps it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricRegistry(meterRegistry);
+
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last health check, -1 if unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is receiving reads")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+        for (Route route : Route.values()) {
+            routeCounters.put(route, Counter.builder("datasource.routing")
+                    .description("Physical connections handed out, by target and reason")
+                    .tag("target", route.target)
+                    .tag("reason", route.reason)
+                    .register(meterRegistry));
+        }
+        log.info("Read/write splitting enabled with {} replica(s)", replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit();
+            return connect(Route.WRITE);
+        }
+        if (isRecentWriter()) {
+            return connect(Route.READ_YOUR_WRITES);
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            return connect(Route.NO_HEALTHY_REPLICA);
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            routeCounters.get(Route.REPLICA).increment();
+            return connection;
+        } catch (SQLException e) {
+            if (replica.healthy) {
+                replica.healthy = false;
+                log.warn("Replica {} failed to hand out a connection, reading from the primary until it passes "
+                        + "a health check: {}", replica.name, e.getMessage());
+            }
+            return connect(Route.REPLICA_ERROR);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${read-replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until <= now);
+    }
+
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private void check(Replica replica) {
+        boolean wasHealthy = replica.healthy;
+        int timeoutSeconds = (int) Math.max(1, properties.getTimeout().toSeconds());
+        try (Connection connection = replica.dataSource.getConnection()) {
+            double lag = 0;
+            if (StringUtils.hasText(properties.getLagQuery())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout(timeoutSeconds);
+                    try (ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                        lag = rs.next() ? rs.getDouble(1) : 0;
+                    }
+                }
+            } else if (!connection.isValid(timeoutSeconds)) {
+                throw new SQLException("Connection is not valid");
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = lag <= properties.getMaxLag().toMillis() / 1000.0;
+            if (wasHealthy && !replica.healthy) {
+                log.warn("Replica {} is {}s behind the primary (max {}), sending its reads to the primary",
+                        replica.name, lag, properties.getMaxLag());
+            }
+        } catch (SQLException e) {
+            replica.lagSeconds = -1;
+            replica.healthy = false;
+            if (wasHealthy) {
+                log.warn("Replica {} failed its health check, sending its reads to the primary: {}",
+                        replica.name, e.getMessage());
+            }
+        }
+        if (!wasHealthy && replica.healthy) {
+            log.info("Replica {} is in rotation ({}s behind the primary)", replica.name, replica.lagSeconds);
+        }
+    }
+
+    private Connection connect(Route route) throws SQLException {
+        Connection connection = primary.getConnection();
+        routeCounters.get(route).increment();
+        return connection;
+    }
+
+    private Replica pickReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void rememberWriterOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String caller = currentCaller();
+        if (caller != null) {
+            TransactionCallbacks.afterCommit(() -> recentWriters.put(caller,
+                    System.currentTimeMillis() + properties.getReadYourWritesWindow().toMillis()));
+        }
+    }
+
+    private boolean isRecentWriter() {
+        if (recentWriters.isEmpty()) {
+            return false;
+        }
+        String caller = currentCaller();
+        Long until = caller == null ? null : recentWriters.get(caller);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private static String currentCaller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
+            return "user:" + auth.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "addr:" + attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -1,8 +1,15 @@
 package com.logistics.ordermanagement.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logistics.ordermanagement.repository.UserRepository;
+import com.logistics.ordermanagement.security.ConcurrencyLimitFilter;
+import com.logistics.ordermanagement.security.IdempotencyFilter;
 import com.logistics.ordermanagement.security.JwtAuthenticationFilter;
 import com.logistics.ordermanagement.security.JwtService;
+import com.logistics.ordermanagement.security.RateLimitFilter;
+import com.logistics.ordermanagement.security.RateLimiter;
+import com.logistics.ordermanagement.service.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,6 +39,13 @@ public class SecurityConfig {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final MeterRegistry meterRegistry;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
 
     @Bean
     public UserDetailsService userDetailsService() {
@@ -54,23 +68,38 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/ordersearch", "/actuator/ordersearch/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/ws/**").permitAll() // WebSocket
 
+                        // Order search exposes customer contact details across all orders
+                        .requestMatchers(HttpMethod.GET, "/api/v1/orders/search").hasRole("ADMIN")
+
                         // Read operations - allow authenticated users
                         .requestMatchers(HttpMethod.GET, "/api/v1/**").authenticated()
 
                         // Write operations - require specific roles
                         .requestMatchers(HttpMethod.POST, "/api/v1/orders/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/orders/**").hasAnyRole("ADMIN", "PARTNER")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/delivery-partners/locations").hasAnyRole("ADMIN", "PARTNER")
                         .requestMatchers(HttpMethod.POST, "/api/v1/delivery-partners/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/delivery-partners/*/capacity").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/delivery-partners/**").hasAnyRole("ADMIN", "PARTNER")
 
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Not @Beans, so they are only registered here and never as plain servlet filters.
+                // Load shedding runs before JWT auth so rejected requests never touch the database.
+                .addFilterBefore(new ConcurrencyLimitFilter(concurrencyLimitProperties, objectMapper, meterRegistry),
+                        JwtAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, rateLimitProperties, objectMapper),
+                        JwtAuthenticationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyStore, idempotencyProperties, objectMapper),
+                        RateLimitFilter.class);
 
         return http.build();
     }
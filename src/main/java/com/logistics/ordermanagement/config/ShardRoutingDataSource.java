@@ -0,0 +1,41 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.shard.ShardContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections to the shard in the current {@link ShardContext}, or to the default
+ * shard when none is set. Needs a LazyConnectionDataSourceProxy in front, like replica
+ * routing, so the shard is picked at the first statement rather than at transaction begin.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Map<String, HikariDataSource> shardPools;
+
+    public ShardRoutingDataSource(String defaultShard, DataSource defaultDataSource,
+            Map<String, HikariDataSource> shardPools) {
+        this.shardPools = shardPools;
+        Map<Object, Object> targets = new HashMap<>(shardPools);
+        targets.put(defaultShard, defaultDataSource);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(defaultDataSource);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * Closes the pools of the non-default shards; the default pool is its own bean.
+     */
+    public void close() {
+        shardPools.values().forEach(HikariDataSource::close);
+    }
+}
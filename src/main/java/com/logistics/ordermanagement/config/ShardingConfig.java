@@ -0,0 +1,114 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.shard.ShardDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a shard-routing one when sharding is enabled.
+ * The default shard keeps its {@code spring.datasource.*} settings and the bean everything
+ * else uses is still named "dataSource", so SQL telemetry wraps it as before.
+ * <p>
+ * Every shard is migrated with Flyway at startup, and its orders and delivery_partners
+ * identity columns are moved to the start of the shard's id block.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final List<String> ROUTED_TABLES = List.of("orders", "delivery_partners");
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource defaultShardDataSource(DataSourceProperties dataSourceProperties,
+            ShardingProperties properties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(properties.getDefaultShard());
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            @Qualifier("defaultShardDataSource") HikariDataSource defaultShard,
+            ShardingProperties properties,
+            ReadReplicaProperties readReplicaProperties,
+            ShardDirectory directory,
+            MeterRegistry meterRegistry) {
+        if (readReplicaProperties.isEnabled()) {
+            throw new IllegalStateException("sharding and read-replicas cannot be enabled together");
+        }
+
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setMetricRegistry(meterRegistry);
+            pools.put(shard.getName(), dataSource);
+        }
+
+        prepare(properties.getDefaultShard(), defaultShard, directory);
+        pools.forEach((name, dataSource) -> prepare(name, dataSource, directory));
+
+        log.info("Sharding enabled: {} shard(s), {} city(ies) in the directory",
+                pools.size() + 1, properties.getDirectory().size());
+        return new ShardRoutingDataSource(properties.getDefaultShard(), defaultShard, pools);
+    }
+
+    /**
+     * The lazy proxy defers fetching a physical connection until the first statement, by
+     * which time the shard of the transaction is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    private void prepare(String shard, DataSource dataSource, ShardDirectory directory) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long blockStart = directory.indexOf(shard) * directory.getIdBlockSize();
+        long blockEnd = blockStart + directory.getIdBlockSize();
+        for (String table : ROUTED_TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId != null && (maxId < blockStart || maxId >= blockEnd)) {
+                throw new IllegalStateException(String.format("Shard %s: %s ids up to %d fall outside its id block "
+                        + "[%d, %d); rows cannot be routed by id", shard, table, maxId, blockStart, blockEnd));
+            }
+            if (maxId == null && blockStart > 0) {
+                // Empty table: start its identity at the block before the first row goes in
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + blockStart);
+            }
+        }
+    }
+}
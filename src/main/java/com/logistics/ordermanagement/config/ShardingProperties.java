@@ -0,0 +1,56 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * City-based sharding of orders and delivery partners. When enabled, {@code spring.datasource}
+ * is the default shard (index 0) and each entry of {@code shards} is another database.
+ * Users and idempotency keys always stay on the default shard.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // Name of the spring.datasource shard; also receives every city missing from the directory
+    private String defaultShard = "main";
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // City -> shard name, matched case-insensitively
+    private Map<String, String> directory = new HashMap<>();
+
+    // Shard i generates order and partner ids in [i * id-block-size, (i + 1) * id-block-size)
+    private long idBlockSize = 1_000_000_000_000L;
+
+    // Cross-shard listings read (page + 1) * size rows from every shard; deeper pages are refused
+    private int mergeWindow = 10_000;
+
+    // Threads running the per-shard queries of cross-shard listings and rebuilds
+    private int scatterThreads = 8;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shard {
+
+        private String name;
+        // Fixes the shard's id block; never change it once the shard holds data
+        private int index;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
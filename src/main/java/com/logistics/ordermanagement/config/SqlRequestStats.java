@@ -0,0 +1,51 @@
+package com.logistics.ordermanagement.config;
+
+/**
+ * Statement count and database time for the HTTP request on the current thread.
+ * Opened and closed by {@link com.logistics.ordermanagement.security.SqlTelemetryFilter};
+ * statements run outside a request (schedulers, startup) are not attributed.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlRequestStats() {
+    }
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Returns the stats of the request on this thread, or null outside a request.
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+}
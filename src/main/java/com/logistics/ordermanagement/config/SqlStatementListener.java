@@ -0,0 +1,70 @@
+package com.logistics.ordermanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Receives every JDBC execution on the proxied DataSource. Adds it to the current
+ * request's {@link SqlRequestStats} and logs it if it exceeded the slow-query
+ * threshold. Bind parameter values are never logged, and inline literals in the
+ * SQL text are replaced with {@code ?} before logging.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    // Executions do not nest on a thread, so one slot per thread is enough
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final long slowQueryThresholdNanos;
+    private final Counter slowQueries;
+
+    public SqlStatementListener(SqlTelemetryProperties properties, MeterRegistry meterRegistry) {
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+        this.slowQueries = Counter.builder("sql.slow_queries")
+                .description("JDBC executions slower than sql-telemetry.slow-query-threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - START.get()[0];
+
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+
+        if (elapsed >= slowQueryThresholdNanos) {
+            slowQueries.increment();
+            log.warn("Slow SQL ({} ms{}{}): {}",
+                    elapsed / 1_000_000,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    execInfo.isSuccess() ? "" : ", failed",
+                    queryInfoList.stream()
+                            .map(query -> redact(query.getQuery()))
+                            .collect(Collectors.joining("; ")));
+        }
+    }
+
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return redacted.replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,63 @@
+package com.logistics.ordermanagement.config;
+
+import com.logistics.ordermanagement.security.SqlTelemetryFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a statement-counting proxy and registers the
+ * per-request SQL telemetry filter. Replaces show-sql / org.hibernate.SQL logging,
+ * which formatted and logged every statement.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql-telemetry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTelemetryConfig {
+
+    @Bean
+    public SqlStatementListener sqlStatementListener(SqlTelemetryProperties properties, MeterRegistry meterRegistry) {
+        return new SqlStatementListener(properties, meterRegistry);
+    }
+
+    /**
+     * Static so the post-processor is created before the DataSource; the listener is
+     * resolved lazily when the DataSource itself is initialized.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTelemetryDataSourcePostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof ProxyDataSource)
+                        && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlTelemetryFilter> sqlTelemetryFilter(SqlTelemetryProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlTelemetryFilter> registration =
+                new FilterRegistrationBean<>(new SqlTelemetryFilter(properties, meterRegistry));
+        // Ahead of Spring Security so the user lookup in JWT authentication is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package com.logistics.ordermanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC statement telemetry. Budgets are matched in order, the first match wins;
+ * API requests matching no budget use {@code defaultMaxStatements} (0 disables the check).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sql-telemetry")
+public class SqlTelemetryProperties {
+
+    private boolean enabled = true;
+
+    // Statements slower than this are logged, with literals redacted and without bind values
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    // Adds X-SQL-Statements / X-SQL-Time-Ms to API responses; meant for dev and perf runs
+    private boolean responseHeaders = false;
+
+    private int defaultMaxStatements = 50;
+
+    private List<Budget> budgets = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+
+        private String method; // null matches any HTTP method
+        private String path; // Ant-style pattern, e.g. /api/v1/orders/*
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,43 @@
+package com.logistics.ordermanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's statement count and database time as response headers.
+ * Runs just before the body is written, after the controller and service work
+ * that issues the queries.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "sql-telemetry", name = "response-headers", havingValue = "true")
+public class SqlTelemetryResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+            response.getHeaders().set(TIME_HEADER, Long.toString(stats.getMillis()));
+        }
+        return body;
+    }
+}
@@ -1,21 +1,38 @@
 package com.logistics.ordermanagement.config;
 
+import com.logistics.ordermanagement.enums.FanoutTransport;
+import com.logistics.ordermanagement.security.JwtService;
+import com.logistics.ordermanagement.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final ClusterFanoutProperties clusterFanoutProperties;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // Enable a simple in-memory message broker
         // Clients can subscribe to /topic/* for broadcasts and /user/* for private
         // messages
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (clusterFanoutProperties.getTransport() == FanoutTransport.BROKER_RELAY) {
+            enableBrokerRelay(registry, clusterFanoutProperties.getRelay());
+        } else {
+            // Simple in-memory message broker; other nodes are reached through the cluster fan-out
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
 
         // Application destination prefix for messages from clients
         registry.setApplicationDestinationPrefixes("/app");
@@ -24,6 +41,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * Relays subscriptions and sends to an external STOMP broker (e.g. RabbitMQ with the STOMP
+     * plugin), which delivers every message to the sessions of all nodes. User destinations
+     * are resolved across nodes through the broadcast topics.
+     */
+    private void enableBrokerRelay(MessageBrokerRegistry registry, ClusterFanoutProperties.Relay relay) {
+        StompBrokerRelayRegistration registration = registry.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relay.getHost())
+                .setRelayPort(relay.getPort())
+                .setClientLogin(relay.getClientLogin())
+                .setClientPasscode(relay.getClientPasscode())
+                .setSystemLogin(relay.getSystemLogin())
+                .setSystemPasscode(relay.getSystemPasscode())
+                .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                .setUserRegistryBroadcast("/topic/simp-user-registry");
+        if (StringUtils.hasText(relay.getVirtualHost())) {
+            registration.setVirtualHost(relay.getVirtualHost());
+        }
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket endpoint that clients connect to
@@ -35,4 +72,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // JWT on CONNECT; partner location pings (/app/partners/location) need PARTNER or ADMIN
+        registration.interceptors(new StompAuthChannelInterceptor(jwtService, userDetailsService));
+    }
 }
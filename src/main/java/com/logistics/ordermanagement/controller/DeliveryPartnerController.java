@@ -1,12 +1,18 @@
 package com.logistics.ordermanagement.controller;
 
 import com.logistics.ordermanagement.dto.request.CreateDeliveryPartnerRequest;
+import com.logistics.ordermanagement.dto.request.PartnerLocationBatchRequest;
+import com.logistics.ordermanagement.dto.request.UpdatePartnerCapacityRequest;
 import com.logistics.ordermanagement.dto.request.UpdatePartnerStatusRequest;
 import com.logistics.ordermanagement.dto.response.ApiResponse;
 import com.logistics.ordermanagement.dto.response.DeliveryPartnerResponse;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
+import com.logistics.ordermanagement.dto.response.PartnerImportResponse;
+import com.logistics.ordermanagement.dto.response.PartnerLocationBatchResponse;
+import com.logistics.ordermanagement.enums.PartnerImportFormat;
 import com.logistics.ordermanagement.enums.PartnerStatus;
 import com.logistics.ordermanagement.service.DeliveryPartnerService;
+import com.logistics.ordermanagement.service.PartnerLocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,11 +20,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -28,6 +39,7 @@ import java.util.List;
 public class DeliveryPartnerController {
 
     private final DeliveryPartnerService deliveryPartnerService;
+    private final PartnerLocationService partnerLocationService;
 
     @PostMapping
     @Operation(summary = "Register a new delivery partner", description = "Creates a new delivery partner with contact info and vehicle type")
@@ -44,6 +56,37 @@ public class DeliveryPartnerController {
                 HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    @Operation(summary = "Bulk import delivery partners", description = "Imports partners from a CSV (header: name,phone,email,city,vehicleType) or JSON array body. Valid rows are inserted; invalid and duplicate rows are reported per row")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import processed, see per-row results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unreadable file or too many rows")
+    })
+    public ResponseEntity<ApiResponse<PartnerImportResponse>> importDeliveryPartners(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        PartnerImportFormat format = MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                ? PartnerImportFormat.JSON
+                : PartnerImportFormat.CSV;
+        log.info("Received request to import delivery partners as {}", format);
+        PartnerImportResponse response = deliveryPartnerService.importDeliveryPartners(body, format);
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("%d of %d delivery partner(s) imported", response.getImported(), response.getTotal())));
+    }
+
+    @PostMapping("/locations")
+    @Operation(summary = "Report partner locations", description = "Batch fallback for the STOMP /app/partners/location destination. Keeps the newest position per partner; positions are persisted asynchronously. A PARTNER may only report for its own partner record; other entries are counted as rejected")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch processed, see accepted/stale/rejected counts"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid coordinates or too many locations")
+    })
+    public ResponseEntity<ApiResponse<PartnerLocationBatchResponse>> reportLocations(
+            @Valid @RequestBody PartnerLocationBatchRequest request, Authentication authentication) {
+        log.debug("Received {} partner location(s)", request.getLocations().size());
+        PartnerLocationBatchResponse response = partnerLocationService.recordLocations(request, authentication);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get partner by ID", description = "Retrieves a specific delivery partner by their unique identifier")
     @ApiResponses(value = {
@@ -59,13 +102,22 @@ public class DeliveryPartnerController {
 
     @GetMapping
     @Operation(summary = "Get all delivery partners", description = "Retrieves paginated list of delivery partners with optional city and status filters")
-    public ResponseEntity<ApiResponse<PagedResponse<DeliveryPartnerResponse>>> getDeliveryPartners(
+    public ResponseEntity<ApiResponse<PagedResponse<?>>> getDeliveryPartners(
             @Parameter(description = "Filter by city name") @RequestParam(required = false) String city,
             @Parameter(description = "Filter by partner status (AVAILABLE, BUSY, OFFLINE)") @RequestParam(required = false) PartnerStatus status,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-        log.info("Received request to get delivery partners - city: {}, status: {}, page: {}, size: {}",
-                city, status, page, size);
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,city,status") @RequestParam(required = false) String fields) {
+        log.info("Received request to get delivery partners - city: {}, status: {}, page: {}, size: {}, fields: {}",
+                city, status, page, size, fields);
+
+        if (fields != null) {
+            // Unlike the full listing, a sparse listing applies city and status together
+            PagedResponse<Map<String, Object>> sparse = city != null
+                    ? deliveryPartnerService.getDeliveryPartnerFieldsByCity(city, fields, status, page, size)
+                    : deliveryPartnerService.getDeliveryPartnerFields(fields, status, page, size);
+            return ResponseEntity.ok(ApiResponse.success(sparse));
+        }
 
         PagedResponse<DeliveryPartnerResponse> response;
 
@@ -103,4 +155,18 @@ public class DeliveryPartnerController {
         DeliveryPartnerResponse response = deliveryPartnerService.updatePartnerStatus(id, request);
         return ResponseEntity.ok(ApiResponse.success(response, "Delivery partner status updated successfully"));
     }
+
+    @PutMapping("/{id}/capacity")
+    @Operation(summary = "Update partner capacity", description = "Sets how many orders the partner may carry at once; null reverts to the vehicle type default. Status is re-derived from the new limit")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Capacity updated successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Partner not found")
+    })
+    public ResponseEntity<ApiResponse<DeliveryPartnerResponse>> updatePartnerCapacity(
+            @Parameter(description = "Partner ID") @PathVariable Long id,
+            @Valid @RequestBody UpdatePartnerCapacityRequest request) {
+        log.info("Received request to update delivery partner capacity for id: {} to: {}", id, request.getCapacity());
+        DeliveryPartnerResponse response = deliveryPartnerService.updatePartnerCapacity(id, request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Delivery partner capacity updated successfully"));
+    }
 }
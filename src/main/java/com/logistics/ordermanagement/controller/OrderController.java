@@ -1,12 +1,16 @@
 package com.logistics.ordermanagement.controller;
 
 import com.logistics.ordermanagement.dto.request.AssignPartnerRequest;
+import com.logistics.ordermanagement.dto.request.BulkUpdateOrderStatusRequest;
 import com.logistics.ordermanagement.dto.request.CancelOrderRequest;
 import com.logistics.ordermanagement.dto.request.CreateOrderRequest;
 import com.logistics.ordermanagement.dto.request.UpdateOrderStatusRequest;
 import com.logistics.ordermanagement.dto.response.ApiResponse;
+import com.logistics.ordermanagement.dto.response.BulkStatusUpdateResponse;
+import com.logistics.ordermanagement.dto.response.CursorPagedResponse;
 import com.logistics.ordermanagement.dto.response.OrderAuditLogResponse;
 import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.dto.response.OrderSearchHit;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
 import com.logistics.ordermanagement.enums.OrderStatus;
 import com.logistics.ordermanagement.service.OrderService;
@@ -22,6 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -69,15 +74,37 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search orders", description = "Finds orders by a fragment of the customer phone number (3+ digits), customer name, address or order number; every word must match. Results come from the search index and may trail the latest writes by a moment. ADMIN only")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Matching orders, best first"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Query too short or search disabled")
+    })
+    public ResponseEntity<ApiResponse<List<OrderSearchHit>>> searchOrders(
+            @Parameter(description = "Phone, name, address or order number fragment") @RequestParam String q,
+            @Parameter(description = "Maximum results (capped by search.orders.max-results)") @RequestParam(required = false) Integer limit) {
+        log.info("Received request to search orders");
+        List<OrderSearchHit> response = orderService.searchOrders(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping
     @Operation(summary = "Get all orders", description = "Retrieves paginated list of orders with optional city and status filters")
-    public ResponseEntity<ApiResponse<PagedResponse<OrderResponse>>> getOrders(
+    public ResponseEntity<ApiResponse<PagedResponse<?>>> getOrders(
             @Parameter(description = "Filter by city name") @RequestParam(required = false) String city,
             @Parameter(description = "Filter by order status") @RequestParam(required = false) OrderStatus status,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-        log.info("Received request to get orders - city: {}, status: {}, page: {}, size: {}",
-                city, status, page, size);
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated fields to return, e.g. orderNumber,city,status,deliveryPartner.name") @RequestParam(required = false) String fields) {
+        log.info("Received request to get orders - city: {}, status: {}, page: {}, size: {}, fields: {}",
+                city, status, page, size, fields);
+
+        if (fields != null) {
+            PagedResponse<Map<String, Object>> sparse = city != null
+                    ? orderService.getOrderFieldsByCity(city, fields, status, page, size)
+                    : orderService.getOrderFields(fields, status, page, size);
+            return ResponseEntity.ok(ApiResponse.success(sparse));
+        }
 
         PagedResponse<OrderResponse> response;
 
@@ -109,6 +136,20 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response, "Order status updated successfully"));
     }
 
+    @PutMapping("/status/bulk")
+    @Operation(summary = "Bulk update order status", description = "Applies a batch of status transitions (e.g. scanned parcels at hub pickup). Each item is validated independently; valid ones are applied and invalid ones reported")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkUpdateOrderStatusRequest request) {
+        log.info("Received request to bulk update status for {} order(s)", request.getItems().size());
+        BulkStatusUpdateResponse response = orderService.bulkUpdateOrderStatus(request);
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("%d of %d status update(s) applied", response.getSucceeded(), response.getRequested())));
+    }
+
     @PutMapping("/{id}/assign")
     @Operation(summary = "Assign delivery partner", description = "Assigns an available delivery partner to an order")
     @ApiResponses(value = {
@@ -141,15 +182,35 @@ public class OrderController {
     }
 
     @GetMapping("/{id}/history")
-    @Operation(summary = "Get order history", description = "Retrieves the complete audit history of an order including all status changes and events")
+    @Operation(summary = "Get order history", description = "Retrieves the audit history of an order, newest first, one cursor page at a time")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Order history retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Order not found")
     })
-    public ResponseEntity<ApiResponse<List<OrderAuditLogResponse>>> getOrderHistory(
-            @Parameter(description = "Order ID") @PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CursorPagedResponse<OrderAuditLogResponse>>> getOrderHistory(
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            @Parameter(description = "Cursor from the previous page's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
         log.info("Received request to get history for order id: {}", id);
-        List<OrderAuditLogResponse> response = orderService.getOrderHistory(id);
+        CursorPagedResponse<OrderAuditLogResponse> response = orderService.getOrderHistory(id, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/number/{orderNumber}/history")
+    @Operation(summary = "Get order history by order number", description = "Retrieves the audit history of an order by its order number, newest first, one cursor page at a time")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Order history retrieved"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    public ResponseEntity<ApiResponse<CursorPagedResponse<OrderAuditLogResponse>>> getOrderHistoryByOrderNumber(
+            @Parameter(description = "Unique order number") @PathVariable String orderNumber,
+            @Parameter(description = "Cursor from the previous page's nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        log.info("Received request to get history for order number: {}", orderNumber);
+        CursorPagedResponse<OrderAuditLogResponse> response = orderService.getOrderHistoryByOrderNumber(
+                orderNumber, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
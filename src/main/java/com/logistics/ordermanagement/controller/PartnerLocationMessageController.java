@@ -0,0 +1,49 @@
+package com.logistics.ordermanagement.controller;
+
+import com.logistics.ordermanagement.dto.request.PartnerLocationRequest;
+import com.logistics.ordermanagement.dto.response.ErrorResponse;
+import com.logistics.ordermanagement.service.PartnerLocationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP entry point for partner apps streaming their position. Pings are
+ * fire-and-forget: nothing is sent back unless a ping is invalid or reports for a
+ * partner other than the caller's own.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class PartnerLocationMessageController {
+
+    private final PartnerLocationService partnerLocationService;
+
+    @MessageMapping("/partners/location")
+    public void reportLocation(@Valid @Payload PartnerLocationRequest request, Authentication user) {
+        if (partnerLocationService.recordLocation(request, user) == PartnerLocationService.PingResult.FORBIDDEN) {
+            throw new AccessDeniedException("Not allowed to report for partner " + request.getPartnerId());
+        }
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ErrorResponse handleAccessDenied(AccessDeniedException e) {
+        log.debug("Rejected location ping: {}", e.getMessage());
+        return ErrorResponse.of("Forbidden", e.getMessage(), "/app/partners/location");
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ErrorResponse handleException(Exception e) {
+        log.debug("Rejected location ping: {}", e.getMessage());
+        return ErrorResponse.of("Bad Request", "Invalid location ping", "/app/partners/location");
+    }
+}
@@ -0,0 +1,21 @@
+package com.logistics.ordermanagement.dto.request;
+
+import com.logistics.ordermanagement.enums.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateItem {
+
+    @NotNull(message = "Order ID is required")
+    private Long orderId;
+
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+}
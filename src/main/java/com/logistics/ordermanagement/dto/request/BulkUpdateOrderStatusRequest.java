@@ -0,0 +1,22 @@
+package com.logistics.ordermanagement.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "At least one status update is required")
+    @Size(max = 500, message = "At most 500 status updates can be sent at once")
+    private List<@Valid BulkStatusUpdateItem> items;
+}
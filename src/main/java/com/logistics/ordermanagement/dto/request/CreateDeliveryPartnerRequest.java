@@ -1,5 +1,9 @@
 package com.logistics.ordermanagement.dto.request;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -30,4 +34,18 @@ public class CreateDeliveryPartnerRequest {
 
     @Size(max = 20, message = "Vehicle type must not exceed 20 characters")
     private String vehicleType;
+
+    // Orders the partner may carry at once; derived from vehicleType when absent
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Max(value = 20, message = "Capacity must be at most 20")
+    private Integer capacity;
+
+    // Optional starting position (both or neither)
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
 }
@@ -1,5 +1,7 @@
 package com.logistics.ordermanagement.dto.request;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -34,6 +36,15 @@ public class CreateOrderRequest {
     @Size(min = 2, max = 50, message = "City must be between 2 and 50 characters")
     private String city;
 
+    // Optional pickup coordinates (both or neither); enable nearest-partner assignment
+    @DecimalMin(value = "-90.0", message = "Pickup latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Pickup latitude must be between -90 and 90")
+    private Double pickupLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Pickup longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Pickup longitude must be between -180 and 180")
+    private Double pickupLongitude;
+
     // Optional: automatically assign an available delivery partner
     private Boolean autoAssign = false;
 }
@@ -0,0 +1,22 @@
+package com.logistics.ordermanagement.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartnerLocationBatchRequest {
+
+    @NotEmpty(message = "At least one location is required")
+    @Size(max = 1000, message = "At most 1000 locations can be sent at once")
+    private List<@Valid PartnerLocationRequest> locations;
+}
@@ -0,0 +1,20 @@
+package com.logistics.ordermanagement.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdatePartnerCapacityRequest {
+
+    // Null reverts to the capacity configured for the partner's vehicle type
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Max(value = 20, message = "Capacity must be at most 20")
+    private Integer capacity;
+}
@@ -0,0 +1,20 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResponse {
+
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BulkStatusUpdateResult> results;
+}
@@ -0,0 +1,22 @@
+package com.logistics.ordermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkStatusUpdateResult {
+
+    private Long orderId;
+    private boolean success;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paged response. Pass nextCursor back as the cursor parameter to
+ * fetch the following page; it is null once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPagedResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+}
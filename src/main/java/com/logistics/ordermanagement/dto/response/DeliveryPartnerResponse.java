@@ -21,5 +21,11 @@ public class DeliveryPartnerResponse {
     private String city;
     private PartnerStatus status;
     private String vehicleType;
+    // Effective limit on concurrent orders (explicit or derived from vehicleType)
+    private Integer capacity;
+    private Integer activeOrders;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime locationUpdatedAt;
     private LocalDateTime createdAt;
 }
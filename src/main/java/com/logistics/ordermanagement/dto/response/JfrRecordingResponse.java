@@ -0,0 +1,24 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JfrRecordingResponse {
+
+    private long id;
+    private String name;
+    private String state; // NEW, RUNNING, STOPPED, CLOSED
+    private String settings;
+    private Instant startTime;
+    private long maxDurationSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes;
+}
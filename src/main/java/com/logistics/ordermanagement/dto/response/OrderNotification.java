@@ -1,11 +1,13 @@
 package com.logistics.ordermanagement.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * WebSocket notification payload for order updates
@@ -14,9 +16,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OrderNotification {
 
-    private String type; // ORDER_CREATED, STATUS_CHANGED, PARTNER_ASSIGNED, ORDER_CANCELLED
+    private String type; // ORDER_CREATED, STATUS_CHANGED, PARTNER_ASSIGNED, ORDER_CANCELLED, BULK_STATUS_CHANGED
     private Long orderId;
     private String orderNumber;
     private String message;
@@ -24,4 +27,5 @@ public class OrderNotification {
     private String newStatus;
     private String partnerName;
     private LocalDateTime timestamp;
+    private List<OrderNotification> updates; // Per-order changes of a BULK_STATUS_CHANGED notification
 }
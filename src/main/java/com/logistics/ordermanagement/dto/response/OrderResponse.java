@@ -21,6 +21,8 @@ public class OrderResponse {
     private String pickupAddress;
     private String deliveryAddress;
     private String city;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
     private OrderStatus status;
     private DeliveryPartnerResponse deliveryPartner;
     private String cancellationReason;
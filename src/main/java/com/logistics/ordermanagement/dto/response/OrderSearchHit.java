@@ -0,0 +1,30 @@
+package com.logistics.ordermanagement.dto.response;
+
+import com.logistics.ordermanagement.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order matched by search, as of the last index refresh; fetch the order for its
+ * current state and partner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSearchHit {
+
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private String customerPhone;
+    private String pickupAddress;
+    private String deliveryAddress;
+    private String city;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSearchStatus {
+
+    private boolean enabled;
+    private String directory;
+    private long documents;
+    private LocalDateTime syncedThrough; // orders changed before this (less the overlap) are indexed
+    private boolean rebuilding;
+}
@@ -0,0 +1,20 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartnerImportResponse {
+
+    private int total;
+    private int imported;
+    private int rejected;
+    private List<PartnerImportRowResult> results;
+}
@@ -0,0 +1,22 @@
+package com.logistics.ordermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.logistics.ordermanagement.enums.PartnerImportOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PartnerImportRowResult {
+
+    private int row; // 1-based data row (CSV header and JSON array brackets excluded)
+    private String phone;
+    private PartnerImportOutcome outcome;
+    private Long partnerId;
+    private String error;
+}
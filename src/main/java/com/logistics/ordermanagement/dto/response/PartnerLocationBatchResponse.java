@@ -0,0 +1,20 @@
+package com.logistics.ordermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartnerLocationBatchResponse {
+
+    private int received;
+    private int accepted;
+    // Older than a position already received for the same partner
+    private int stale;
+    // Unknown partner, or this node is tracking as many partners as it can
+    private int rejected;
+}
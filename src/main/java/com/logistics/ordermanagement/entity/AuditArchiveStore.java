@@ -0,0 +1,32 @@
+package com.logistics.ordermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row naming the audit archive directory this database's archived months were
+ * written to. Rows are written through JdbcTemplate by the archive service; the entity
+ * exists so the schema is managed alongside the rest of the model.
+ */
+@Entity
+@Table(name = "audit_archive_store")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditArchiveStore {
+
+    // Always 1, so concurrent first starts cannot register two stores
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "store_id", nullable = false, length = 36)
+    private String storeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,13 +1,16 @@
 package com.logistics.ordermanagement.entity;
 
+import com.logistics.ordermanagement.entity.listener.PartnerSpatialIndexListener;
 import com.logistics.ordermanagement.enums.PartnerStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(PartnerSpatialIndexListener.class)
 @Table(name = "delivery_partners", indexes = {
         @Index(name = "idx_partner_city", columnList = "city"),
         @Index(name = "idx_partner_status", columnList = "status"),
@@ -43,6 +46,26 @@ public class DeliveryPartner {
     @Column(name = "vehicle_type", length = 20)
     private String vehicleType;
 
+    // Orders carried right now (ASSIGNED or PICKED); the partner is BUSY once this reaches capacity
+    @ColumnDefault("0")
+    @Column(name = "active_orders", nullable = false)
+    private int activeOrders;
+
+    // Explicit limit on concurrent orders; null means derived from vehicleType (assignment.capacity.*)
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    // Last known position; null until the partner reports one. After insert it is only
+    // written by PartnerLocationService, so entity saves never roll it back to a stale value
+    @Column(name = "latitude", updatable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", updatable = false)
+    private Double longitude;
+
+    @Column(name = "location_updated_at", updatable = false)
+    private LocalDateTime locationUpdatedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
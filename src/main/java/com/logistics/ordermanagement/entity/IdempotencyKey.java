@@ -0,0 +1,51 @@
+package com.logistics.ordermanagement.entity;
+
+import com.logistics.ordermanagement.service.IdempotencyStore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Backing table for the shared (multi-node) idempotency store.
+ * Rows are written through JdbcTemplate so a reservation is a single atomic INSERT;
+ * the entity exists so the schema is managed alongside the rest of the model.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String key;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStore.Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Raw response bytes (JSON, CBOR or Smile); bytea on PostgreSQL, as created by V6
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(name = "response_body", length = 65536)
+    private byte[] responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,18 +1,22 @@
 package com.logistics.ordermanagement.entity;
 
+import com.logistics.ordermanagement.entity.listener.OrderLifecycleListener;
 import com.logistics.ordermanagement.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(OrderLifecycleListener.class)
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_city", columnList = "city"),
         @Index(name = "idx_order_status", columnList = "status"),
-        @Index(name = "idx_order_city_status", columnList = "city, status")
+        @Index(name = "idx_order_city_status", columnList = "city, status"),
+        @Index(name = "idx_order_updated_at", columnList = "updated_at, id")
 })
 @Getter
 @Setter
@@ -43,10 +47,22 @@ public class Order {
     @Column(name = "city", nullable = false, length = 50)
     private String city;
 
+    // Optional pickup coordinates, used for nearest-partner assignment
+    @Column(name = "pickup_latitude")
+    private Double pickupLatitude;
+
+    @Column(name = "pickup_longitude")
+    private Double pickupLongitude;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     private OrderStatus status;
 
+    // Requested at creation; RETRY_ASSIGNMENT lifecycle rules only apply to these orders
+    @ColumnDefault("false")
+    @Column(name = "auto_assign", nullable = false)
+    private boolean autoAssign;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "delivery_partner_id")
     private DeliveryPartner deliveryPartner;
@@ -1,15 +1,24 @@
 package com.logistics.ordermanagement.entity;
 
+import com.logistics.ordermanagement.entity.converter.AuditActionConverter;
+import com.logistics.ordermanagement.entity.converter.OrderStatusCodeConverter;
+import com.logistics.ordermanagement.enums.AuditAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Compact audit record. Codes and ids are stored, plus the few names and texts a message
+ * quotes; the human-readable field names, values and notes are rendered when the history
+ * is read.
+ */
 @Entity
-@Table(name = "order_audit_logs", indexes = {
-        @Index(name = "idx_audit_order_id", columnList = "order_id"),
-        @Index(name = "idx_audit_created_at", columnList = "created_at")
+@Table(name = "order_audit_events", indexes = {
+        @Index(name = "idx_audit_event_order_created", columnList = "order_id, created_at, id"),
+        @Index(name = "idx_audit_event_created_at", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -19,32 +28,36 @@ import java.time.LocalDateTime;
 public class OrderAuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_event_seq")
+    @SequenceGenerator(name = "audit_event_seq", sequenceName = "order_audit_events_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
     private Long orderId;
 
-    @Column(name = "order_number", length = 50)
-    private String orderNumber;
+    @Convert(converter = AuditActionConverter.class)
+    @Column(name = "action", nullable = false)
+    private AuditAction action;
 
-    @Column(name = "action", nullable = false, length = 50)
-    private String action; // CREATED, STATUS_CHANGED, PARTNER_ASSIGNED, CANCELLED
+    @Convert(converter = OrderStatusCodeConverter.class)
+    @Column(name = "old_status")
+    private OrderStatus oldStatus;
 
-    @Column(name = "field_name", length = 50)
-    private String fieldName; // e.g., "status", "deliveryPartnerId"
+    @Convert(converter = OrderStatusCodeConverter.class)
+    @Column(name = "new_status")
+    private OrderStatus newStatus;
 
-    @Column(name = "old_value", length = 255)
-    private String oldValue;
-
-    @Column(name = "new_value", length = 255)
-    private String newValue;
+    @Column(name = "partner_id")
+    private Long partnerId;
 
     @Column(name = "performed_by", length = 100)
     private String performedBy; // User email or "SYSTEM"
 
-    @Column(name = "notes", columnDefinition = "TEXT")
-    private String notes;
+    @Column(name = "subject", length = 100)
+    private String subject; // Customer name on CREATED, partner name on PARTNER_ASSIGNED, as at the time
+
+    @Column(name = "payload", length = 500)
+    private String payload; // Free text: delivery city on CREATED, the reason on CANCELLED and SLA_BREACHED
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -0,0 +1,19 @@
+package com.logistics.ordermanagement.entity.converter;
+
+import com.logistics.ordermanagement.enums.AuditAction;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class AuditActionConverter implements AttributeConverter<AuditAction, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(AuditAction action) {
+        return action == null ? null : action.getCode();
+    }
+
+    @Override
+    public AuditAction convertToEntityAttribute(Short code) {
+        return code == null ? null : AuditAction.fromCode(code);
+    }
+}
@@ -0,0 +1,19 @@
+package com.logistics.ordermanagement.entity.converter;
+
+import com.logistics.ordermanagement.enums.OrderStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class OrderStatusCodeConverter implements AttributeConverter<OrderStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : OrderStatus.fromCode(code);
+    }
+}
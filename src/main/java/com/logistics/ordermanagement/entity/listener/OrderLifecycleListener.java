@@ -0,0 +1,32 @@
+package com.logistics.ordermanagement.entity.listener;
+
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.search.OrderSearchIndex;
+import com.logistics.ordermanagement.service.OrderLifecycleTimers;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Arms and cancels order lifecycle timers as orders change status through JPA, and keeps the
+ * order search index current. Both are only touched after commit; orders written by plain
+ * JDBC are picked up at the next startup (timers) or sync (search).
+ */
+public class OrderLifecycleListener {
+
+    private final ObjectProvider<OrderLifecycleTimers> lifecycleTimers;
+    private final ObjectProvider<OrderSearchIndex> searchIndex;
+
+    public OrderLifecycleListener(ObjectProvider<OrderLifecycleTimers> lifecycleTimers,
+            ObjectProvider<OrderSearchIndex> searchIndex) {
+        this.lifecycleTimers = lifecycleTimers;
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Order order) {
+        lifecycleTimers.ifAvailable(timers -> timers.onOrderSaved(order));
+        searchIndex.ifAvailable(index -> index.update(order));
+    }
+}
@@ -0,0 +1,33 @@
+package com.logistics.ordermanagement.entity.listener;
+
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.service.PartnerSpatialIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the partner spatial index in step with JPA writes. Changes are applied after
+ * commit by the index itself; bulk JDBC inserts go through DeliveryPartnersImportedEvent.
+ * The index is looked up lazily because listeners are created while JPA is bootstrapping.
+ */
+public class PartnerSpatialIndexListener {
+
+    private final ObjectProvider<PartnerSpatialIndex> spatialIndex;
+
+    public PartnerSpatialIndexListener(ObjectProvider<PartnerSpatialIndex> spatialIndex) {
+        this.spatialIndex = spatialIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(DeliveryPartner partner) {
+        spatialIndex.ifAvailable(index -> index.update(partner));
+    }
+
+    @PostRemove
+    public void onRemoved(DeliveryPartner partner) {
+        spatialIndex.ifAvailable(index -> index.remove(partner.getId()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.logistics.ordermanagement.enums;
+
+import lombok.Getter;
+
+/**
+ * Audit actions, persisted as small integer codes. Codes are part of the
+ * stored format and must never be reused or renumbered.
+ */
+@Getter
+public enum AuditAction {
+    CREATED(1, "order"),
+    STATUS_CHANGED(2, "status"),
+    PARTNER_ASSIGNED(3, "deliveryPartnerId"),
+    CANCELLED(4, "status"),
+    SLA_BREACHED(5, "status");
+
+    private final short code;
+    private final String fieldName;
+
+    AuditAction(int code, String fieldName) {
+        this.code = (short) code;
+        this.fieldName = fieldName;
+    }
+
+    public static AuditAction fromCode(short code) {
+        for (AuditAction action : values()) {
+            if (action.code == code) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit action code: " + code);
+    }
+}
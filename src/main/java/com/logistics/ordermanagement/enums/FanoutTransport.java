@@ -0,0 +1,13 @@
+package com.logistics.ordermanagement.enums;
+
+/**
+ * How WebSocket notifications reach clients connected to other nodes.
+ */
+public enum FanoutTransport {
+    // In-memory simple broker, this node's sessions only
+    LOCAL,
+    // Simple broker per node, notifications relayed between nodes over PostgreSQL LISTEN/NOTIFY
+    POSTGRES,
+    // External STOMP broker (e.g. RabbitMQ) holds every subscription; it does the fan-out
+    BROKER_RELAY
+}
@@ -0,0 +1,26 @@
+package com.logistics.ordermanagement.enums;
+
+import lombok.Getter;
+
+/**
+ * What a timed lifecycle rule does when an order has stayed in a status too long.
+ * Actions that move the order can only be attached to statuses the state machine
+ * lets them leave that way.
+ */
+@Getter
+public enum LifecycleAction {
+    AUTO_CANCEL(OrderStatus.CANCELLED),
+    RETRY_ASSIGNMENT(OrderStatus.ASSIGNED),
+    FLAG_SLA_BREACH(null);
+
+    // Status the action moves the order to, or null if it only records something
+    private final OrderStatus targetStatus;
+
+    LifecycleAction(OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public boolean appliesTo(OrderStatus status) {
+        return targetStatus == null ? !status.isTerminal() : status.canTransitionTo(targetStatus);
+    }
+}
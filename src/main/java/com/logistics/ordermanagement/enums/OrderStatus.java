@@ -1,9 +1,46 @@
 package com.logistics.ordermanagement.enums;
 
+import lombok.Getter;
+
+@Getter
 public enum OrderStatus {
-    PLACED,
-    ASSIGNED,
-    PICKED,
-    DELIVERED,
-    CANCELLED
+    PLACED(1),
+    ASSIGNED(2),
+    PICKED(3),
+    DELIVERED(4),
+    CANCELLED(5);
+
+    // Compact code used by the audit log; must never be reused or renumbered
+    private final short code;
+
+    OrderStatus(int code) {
+        this.code = (short) code;
+    }
+
+    /**
+     * The order state machine: PLACED -> ASSIGNED -> PICKED -> DELIVERED, with
+     * cancellation allowed from any non-terminal status.
+     */
+    public boolean canTransitionTo(OrderStatus newStatus) {
+        return switch (this) {
+            case PLACED -> newStatus == ASSIGNED || newStatus == CANCELLED;
+            case ASSIGNED -> newStatus == PICKED || newStatus == CANCELLED;
+            case PICKED -> newStatus == DELIVERED || newStatus == CANCELLED;
+            case DELIVERED -> false; // Cannot transition from DELIVERED
+            case CANCELLED -> false; // Cannot transition from CANCELLED
+        };
+    }
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    public static OrderStatus fromCode(short code) {
+        for (OrderStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
 }
@@ -0,0 +1,6 @@
+package com.logistics.ordermanagement.enums;
+
+public enum PartnerImportFormat {
+    CSV,
+    JSON
+}
@@ -0,0 +1,8 @@
+package com.logistics.ordermanagement.enums;
+
+public enum PartnerImportOutcome {
+    IMPORTED,
+    INVALID,
+    DUPLICATE_IN_FILE,
+    ALREADY_EXISTS
+}
@@ -0,0 +1,12 @@
+package com.logistics.ordermanagement.event;
+
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+
+import java.util.List;
+
+/**
+ * Published once per import chunk with the freshly inserted partners (ids populated),
+ * so in-memory partner structures can be seeded in one step instead of per partner.
+ */
+public record DeliveryPartnersImportedEvent(List<DeliveryPartner> partners) {
+}
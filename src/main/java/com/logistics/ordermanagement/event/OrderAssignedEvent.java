@@ -0,0 +1,10 @@
+package com.logistics.ordermanagement.event;
+
+import com.logistics.ordermanagement.entity.Order;
+
+/**
+ * Published when an order is assigned to a partner, manually or automatically, so the
+ * assignment can be pushed to the partner's open device streams once it commits.
+ */
+public record OrderAssignedEvent(Order order, Long partnerId) {
+}
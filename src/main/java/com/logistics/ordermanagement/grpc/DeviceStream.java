@@ -0,0 +1,120 @@
+package com.logistics.ordermanagement.grpc;
+
+import com.logistics.ordermanagement.grpc.v1.PartnerMessage;
+import com.logistics.ordermanagement.grpc.v1.ServerMessage;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * One partner device's Connect stream, with flow control both ways. Inbound, messages are
+ * requested a window at a time and one more after each is handled, so a fast device cannot
+ * queue unbounded work. Outbound, results and pushes are written only while the transport
+ * is ready; up to a bounded number wait for a slow reader, beyond that the stream is failed.
+ * <p>
+ * Writes come from the call's own thread (results) and from assignment events (pushes), so
+ * all of them go through the queue under this object's lock.
+ */
+@Slf4j
+final class DeviceStream implements StreamObserver<PartnerMessage> {
+
+    private final ServerCallStreamObserver<ServerMessage> responses;
+    private final PartnerIngressService service;
+    private final int outboundBuffer;
+
+    // Guarded by this
+    private final Queue<ServerMessage> outbound = new ArrayDeque<>();
+    private boolean halfClosed;
+    private boolean closed;
+
+    private volatile long partnerId;
+
+    DeviceStream(ServerCallStreamObserver<ServerMessage> responses, PartnerIngressService service,
+            int inboundWindow, int outboundBuffer) {
+        this.responses = responses;
+        this.service = service;
+        this.outboundBuffer = outboundBuffer;
+        responses.disableAutoRequest();
+        responses.setOnReadyHandler(this::drain);
+        responses.setOnCancelHandler(this::cancelled);
+        responses.request(inboundWindow);
+    }
+
+    long getPartnerId() {
+        return partnerId;
+    }
+
+    @Override
+    public void onNext(PartnerMessage message) {
+        try {
+            switch (message.getMessageCase()) {
+                case HELLO -> {
+                    long previous = partnerId;
+                    partnerId = message.getHello().getPartnerId();
+                    service.subscribe(this, previous);
+                }
+                case STATUS_UPDATE -> send(service.applyStatusUpdate(message.getStatusUpdate()));
+                default -> log.debug("Ignoring empty partner message");
+            }
+        } finally {
+            responses.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        cancelled();
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (this) {
+            halfClosed = true;
+            drain();
+        }
+        service.unsubscribe(this);
+    }
+
+    void send(ServerMessage message) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (outbound.size() >= outboundBuffer) {
+                closed = true;
+                outbound.clear();
+                responses.onError(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Client is not reading; more than " + outboundBuffer + " messages pending")
+                        .asRuntimeException());
+            } else {
+                outbound.add(message);
+                drain();
+                return;
+            }
+        }
+        service.unsubscribe(this);
+    }
+
+    private synchronized void drain() {
+        while (!closed && !outbound.isEmpty() && responses.isReady()) {
+            responses.onNext(outbound.poll());
+        }
+        if (!closed && halfClosed && outbound.isEmpty()) {
+            // The device is done sending and has everything it was owed
+            closed = true;
+            responses.onCompleted();
+        }
+    }
+
+    private void cancelled() {
+        synchronized (this) {
+            closed = true;
+            outbound.clear();
+        }
+        service.unsubscribe(this);
+    }
+}
@@ -0,0 +1,90 @@
+package com.logistics.ordermanagement.grpc;
+
+import com.logistics.ordermanagement.config.GrpcProperties;
+import com.logistics.ordermanagement.security.GrpcAuthInterceptor;
+import com.logistics.ordermanagement.security.JwtService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC servers inside the application: always the in-process transport, and a
+ * plaintext HTTP/2 listener unless {@code grpc.port} is -1. Both serve the same service
+ * behind the JWT interceptor.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "grpc", name = "enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+    private final ServerServiceDefinition service;
+    private final List<Server> servers = new ArrayList<>();
+
+    public GrpcServerLifecycle(GrpcProperties properties, PartnerIngressService partnerIngressService,
+            JwtService jwtService, UserDetailsService userDetailsService) {
+        this.properties = properties;
+        this.service = ServerInterceptors.intercept(partnerIngressService,
+                new GrpcAuthInterceptor(jwtService, userDetailsService));
+    }
+
+    @Override
+    public synchronized void start() {
+        int maxInbound = (int) properties.getMaxInboundMessageSize().toBytes();
+        try {
+            servers.add(InProcessServerBuilder.forName(properties.getInProcessName())
+                    .addService(service)
+                    .maxInboundMessageSize(maxInbound)
+                    .build()
+                    .start());
+            if (properties.getPort() >= 0) {
+                servers.add(NettyServerBuilder.forPort(properties.getPort())
+                        .addService(service)
+                        .maxInboundMessageSize(maxInbound)
+                        .flowControlWindow((int) properties.getFlowControlWindow().toBytes())
+                        .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                        .build()
+                        .start());
+            }
+        } catch (IOException e) {
+            stop();
+            throw new UncheckedIOException("Could not start the gRPC server", e);
+        }
+        log.info("gRPC partner ingress started (in-process '{}'{})", properties.getInProcessName(),
+                properties.getPort() >= 0 ? ", port " + properties.getPort() : "");
+    }
+
+    @Override
+    public synchronized void stop() {
+        servers.forEach(Server::shutdown);
+        for (Server server : servers) {
+            try {
+                if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                    server.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                server.shutdownNow();
+            }
+        }
+        servers.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return !servers.isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package com.logistics.ordermanagement.grpc;
+
+import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Maps orders and statuses between the service layer and the gRPC messages.
+ */
+final class OrderMessages {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private OrderMessages() {
+    }
+
+    static com.logistics.ordermanagement.grpc.v1.Order toMessage(OrderResponse order) {
+        com.logistics.ordermanagement.grpc.v1.Order.Builder message = com.logistics.ordermanagement.grpc.v1.Order
+                .newBuilder()
+                .setId(order.getId())
+                .setOrderNumber(order.getOrderNumber())
+                .setCustomerName(order.getCustomerName())
+                .setCustomerPhone(order.getCustomerPhone())
+                .setPickupAddress(order.getPickupAddress())
+                .setDeliveryAddress(order.getDeliveryAddress())
+                .setCity(order.getCity())
+                .setStatus(toMessage(order.getStatus()))
+                .setCreatedAt(epochMillis(order.getCreatedAt()))
+                .setUpdatedAt(epochMillis(order.getUpdatedAt()));
+        if (order.getPickupLatitude() != null && order.getPickupLongitude() != null) {
+            message.setPickupLatitude(order.getPickupLatitude()).setPickupLongitude(order.getPickupLongitude());
+        }
+        if (order.getDeliveryPartner() != null) {
+            message.setDeliveryPartnerId(order.getDeliveryPartner().getId());
+        }
+        if (order.getCancellationReason() != null) {
+            message.setCancellationReason(order.getCancellationReason());
+        }
+        return message.build();
+    }
+
+    static com.logistics.ordermanagement.grpc.v1.Order toMessage(com.logistics.ordermanagement.entity.Order order) {
+        com.logistics.ordermanagement.grpc.v1.Order.Builder message = com.logistics.ordermanagement.grpc.v1.Order
+                .newBuilder()
+                .setId(order.getId())
+                .setOrderNumber(order.getOrderNumber())
+                .setCustomerName(order.getCustomerName())
+                .setCustomerPhone(order.getCustomerPhone())
+                .setPickupAddress(order.getPickupAddress())
+                .setDeliveryAddress(order.getDeliveryAddress())
+                .setCity(order.getCity())
+                .setStatus(toMessage(order.getStatus()))
+                .setCreatedAt(epochMillis(order.getCreatedAt()))
+                .setUpdatedAt(epochMillis(order.getUpdatedAt()));
+        if (order.getPickupLatitude() != null && order.getPickupLongitude() != null) {
+            message.setPickupLatitude(order.getPickupLatitude()).setPickupLongitude(order.getPickupLongitude());
+        }
+        if (order.getDeliveryPartner() != null) {
+            message.setDeliveryPartnerId(order.getDeliveryPartner().getId());
+        }
+        if (order.getCancellationReason() != null) {
+            message.setCancellationReason(order.getCancellationReason());
+        }
+        return message.build();
+    }
+
+    static com.logistics.ordermanagement.grpc.v1.OrderStatus toMessage(OrderStatus status) {
+        return com.logistics.ordermanagement.grpc.v1.OrderStatus.forNumber(status.getCode());
+    }
+
+    static OrderStatus fromMessage(com.logistics.ordermanagement.grpc.v1.OrderStatus status) {
+        if (status == com.logistics.ordermanagement.grpc.v1.OrderStatus.ORDER_STATUS_UNSPECIFIED
+                || status == com.logistics.ordermanagement.grpc.v1.OrderStatus.UNRECOGNIZED) {
+            throw new BadRequestException("Status is required");
+        }
+        return OrderStatus.fromCode((short) status.getNumber());
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,160 @@
+package com.logistics.ordermanagement.grpc;
+
+import com.logistics.ordermanagement.config.GrpcProperties;
+import com.logistics.ordermanagement.dto.request.UpdateOrderStatusRequest;
+import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.event.OrderAssignedEvent;
+import com.logistics.ordermanagement.exception.BadRequestException;
+import com.logistics.ordermanagement.exception.InvalidStatusTransitionException;
+import com.logistics.ordermanagement.exception.ResourceNotFoundException;
+import com.logistics.ordermanagement.grpc.v1.Assignment;
+import com.logistics.ordermanagement.grpc.v1.GetOrderByNumberRequest;
+import com.logistics.ordermanagement.grpc.v1.GetOrderRequest;
+import com.logistics.ordermanagement.grpc.v1.Order;
+import com.logistics.ordermanagement.grpc.v1.PartnerIngressGrpc;
+import com.logistics.ordermanagement.grpc.v1.PartnerMessage;
+import com.logistics.ordermanagement.grpc.v1.ServerMessage;
+import com.logistics.ordermanagement.grpc.v1.StatusUpdate;
+import com.logistics.ordermanagement.grpc.v1.StatusUpdateResult;
+import com.logistics.ordermanagement.security.GrpcAuthInterceptor;
+import com.logistics.ordermanagement.service.OrderService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Partner operations over gRPC, backed by the same {@link OrderService} as the REST API.
+ * Status updates and assignment pushes share one Connect stream per device; assignments are
+ * pushed after they commit, to the streams open on this node for the assigned partner.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "grpc", name = "enabled", havingValue = "true")
+public class PartnerIngressService extends PartnerIngressGrpc.PartnerIngressImplBase {
+
+    private final OrderService orderService;
+    private final GrpcProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // Open device streams by partner id
+    private final Map<Long, Set<DeviceStream>> streams = new ConcurrentHashMap<>();
+
+    public PartnerIngressService(OrderService orderService, GrpcProperties properties, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("grpc.partner.streams", streams,
+                s -> s.values().stream().mapToInt(Set::size).sum());
+    }
+
+    @Override
+    public StreamObserver<PartnerMessage> connect(StreamObserver<ServerMessage> responseObserver) {
+        return new DeviceStream((ServerCallStreamObserver<ServerMessage>) responseObserver, this,
+                properties.getInboundWindow(), properties.getOutboundBuffer());
+    }
+
+    @Override
+    public void getOrder(GetOrderRequest request, StreamObserver<Order> responseObserver) {
+        unary(responseObserver, () -> orderService.getOrderById(request.getOrderId()));
+    }
+
+    @Override
+    public void getOrderByNumber(GetOrderByNumberRequest request, StreamObserver<Order> responseObserver) {
+        unary(responseObserver, () -> orderService.getOrderByOrderNumber(request.getOrderNumber()));
+    }
+
+    ServerMessage applyStatusUpdate(StatusUpdate update) {
+        StatusUpdateResult.Builder result = StatusUpdateResult.newBuilder().setRequestId(update.getRequestId());
+        try {
+            UpdateOrderStatusRequest request = UpdateOrderStatusRequest.builder()
+                    .status(OrderMessages.fromMessage(update.getStatus()))
+                    .build();
+            OrderResponse order = GrpcAuthInterceptor.asCaller(
+                    () -> orderService.updateOrderStatus(update.getOrderId(), request));
+            result.setOrder(OrderMessages.toMessage(order));
+            count("status_update", "OK");
+        } catch (RuntimeException e) {
+            Status status = toStatus(e);
+            result.setErrorCode(status.getCode().name()).setErrorMessage(status.getDescription());
+            count("status_update", status.getCode().name());
+        }
+        return ServerMessage.newBuilder().setStatusResult(result).build();
+    }
+
+    void subscribe(DeviceStream stream, long previousPartnerId) {
+        if (previousPartnerId != 0) {
+            remove(previousPartnerId, stream);
+        }
+        streams.computeIfAbsent(stream.getPartnerId(), id -> ConcurrentHashMap.newKeySet()).add(stream);
+    }
+
+    void unsubscribe(DeviceStream stream) {
+        if (stream.getPartnerId() != 0) {
+            remove(stream.getPartnerId(), stream);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderAssigned(OrderAssignedEvent event) {
+        Set<DeviceStream> partnerStreams = streams.get(event.partnerId());
+        if (partnerStreams == null || partnerStreams.isEmpty()) {
+            return;
+        }
+        ServerMessage push = ServerMessage.newBuilder()
+                .setAssignment(Assignment.newBuilder().setOrder(OrderMessages.toMessage(event.order())))
+                .build();
+        partnerStreams.forEach(stream -> stream.send(push));
+        meterRegistry.counter("grpc.partner.pushes").increment(partnerStreams.size());
+    }
+
+    private void remove(long partnerId, DeviceStream stream) {
+        streams.computeIfPresent(partnerId, (id, set) -> {
+            set.remove(stream);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void unary(StreamObserver<Order> responseObserver, Supplier<OrderResponse> lookup) {
+        try {
+            Order order = OrderMessages.toMessage(GrpcAuthInterceptor.asCaller(lookup));
+            count("get_order", "OK");
+            responseObserver.onNext(order);
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            Status status = toStatus(e);
+            count("get_order", status.getCode().name());
+            responseObserver.onError(status.asRuntimeException());
+        }
+    }
+
+    /**
+     * Same classification as GlobalExceptionHandler, in gRPC codes.
+     */
+    private static Status toStatus(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof InvalidStatusTransitionException) {
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof BadRequestException || e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        log.error("Unexpected error in gRPC partner call", e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred");
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("grpc.partner.calls", "operation", operation, "outcome", outcome).increment();
+    }
+}
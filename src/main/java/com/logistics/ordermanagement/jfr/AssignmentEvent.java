@@ -0,0 +1,11 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logistics.Assignment")
+@Label("Partner Assignment")
+@Description("Automatic delivery partner assignment")
+public class AssignmentEvent extends OrderOperationEvent {
+}
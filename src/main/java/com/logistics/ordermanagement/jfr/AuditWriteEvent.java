@@ -0,0 +1,11 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logistics.AuditWrite")
+@Label("Audit Write")
+@Description("Order audit trail write or history read")
+public class AuditWriteEvent extends OrderOperationEvent {
+}
@@ -0,0 +1,156 @@
+package com.logistics.ordermanagement.jfr;
+
+import com.logistics.ordermanagement.config.JfrProperties;
+import com.logistics.ordermanagement.dto.response.JfrRecordingResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-demand flight recordings at /actuator/jfr (ADMIN only, see SecurityConfig).
+ * <ul>
+ *   <li>{@code POST /actuator/jfr} starts a recording ({@code durationSeconds}, {@code settings})</li>
+ *   <li>{@code GET /actuator/jfr} lists recordings started here</li>
+ *   <li>{@code POST /actuator/jfr/{id}} stops a recording early</li>
+ *   <li>{@code GET /actuator/jfr/{id}} downloads the .jfr file (data so far if still running)</li>
+ *   <li>{@code DELETE /actuator/jfr/{id}} closes the recording and deletes its file</li>
+ * </ul>
+ * Duration and size are capped by {@code jfr.recording.*} and only a few recordings
+ * may exist at once, so the endpoint cannot fill the disk.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint {
+
+    private static final String NAME_PREFIX = "order-management-";
+
+    private final JfrProperties properties;
+
+    private final Map<Long, TrackedRecording> recordings = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public List<JfrRecordingResponse> recordings() {
+        return recordings.values().stream().map(this::toResponse).toList();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Object> start(@Nullable Long durationSeconds, @Nullable String settings) {
+        JfrProperties.Recording limits = properties.getRecording();
+        if (recordings.size() >= limits.getMaxConcurrent()) {
+            return new WebEndpointResponse<>(Map.of("error",
+                    "At most " + limits.getMaxConcurrent() + " recordings may exist; delete one first"),
+                    WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+
+        String settingsName = settings != null ? settings : "profile";
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown JFR settings: " + settingsName),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(durationSeconds)
+                : limits.getDefaultDuration();
+        if (duration.compareTo(limits.getMaxDuration()) > 0) {
+            duration = limits.getMaxDuration();
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName(NAME_PREFIX + recording.getId());
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(limits.getMaxSize().toBytes());
+        recording.start();
+        TrackedRecording tracked = new TrackedRecording(recording, settingsName);
+        recordings.put(recording.getId(), tracked);
+        log.info("Started JFR recording {} ({} settings, {} s)", recording.getId(), settingsName, duration.toSeconds());
+        return new WebEndpointResponse<>(toResponse(tracked), WebEndpointResponse.STATUS_OK);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> stop(@Selector long id) {
+        TrackedRecording tracked = recordings.get(id);
+        if (tracked == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (tracked.recording().getState() == RecordingState.RUNNING) {
+            tracked.recording().stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return new WebEndpointResponse<>(toResponse(tracked), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        TrackedRecording tracked = recordings.get(id);
+        if (tracked == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = dumpFile(id);
+        tracked.recording().dump(file);
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Object> delete(@Selector long id) throws IOException {
+        TrackedRecording tracked = recordings.remove(id);
+        if (tracked == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        tracked.recording().close();
+        Files.deleteIfExists(dumpFile(id));
+        log.info("Deleted JFR recording {}", id);
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    private Path dumpFile(long id) throws IOException {
+        String directory = properties.getRecording().getDirectory();
+        Path dir = Path.of(StringUtils.hasText(directory) ? directory : System.getProperty("java.io.tmpdir"));
+        Files.createDirectories(dir);
+        return dir.resolve(NAME_PREFIX + id + ".jfr");
+    }
+
+    private JfrRecordingResponse toResponse(TrackedRecording tracked) {
+        Recording recording = tracked.recording();
+        return JfrRecordingResponse.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(tracked.settings())
+                .startTime(recording.getStartTime())
+                .maxDurationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : 0)
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    private record TrackedRecording(Recording recording, String settings) {
+    }
+}
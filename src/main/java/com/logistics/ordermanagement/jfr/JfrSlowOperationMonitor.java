@@ -0,0 +1,83 @@
+package com.logistics.ordermanagement.jfr;
+
+import com.logistics.ordermanagement.config.JfrProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Continuously streams the custom events with a duration threshold, so only slow
+ * operations are committed at all, and logs each one. Runs on JFR's own stream
+ * thread; request threads only pay for the threshold check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JfrSlowOperationMonitor {
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            OrderServiceEvent.class,
+            AssignmentEvent.class,
+            AuditWriteEvent.class,
+            NotificationEvent.class,
+            JwtAuthenticationEvent.class);
+
+    private final JfrProperties properties;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        JfrProperties.Streaming streaming = properties.getStreaming();
+        if (!streaming.isEnabled()) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        // Events are handled as they arrive; nothing needs to be kept for later
+        stream.setMaxAge(Duration.ofSeconds(30));
+        for (Class<? extends Event> eventType : EVENTS) {
+            stream.enable(eventType).withThreshold(streaming.getSlowThreshold()).withoutStackTrace();
+            stream.onEvent(EventType.getEventType(eventType).getName(), this::logSlowOperation);
+        }
+        stream.startAsync();
+        log.info("JFR slow-operation stream started (threshold {} ms)", streaming.getSlowThreshold().toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void logSlowOperation(RecordedEvent event) {
+        String thread = event.getThread() != null ? event.getThread().getJavaName() : "?";
+        if (event.hasField("orderId")) {
+            long orderId = event.getLong("orderId");
+            log.warn("Slow {} {} took {} ms (order {}, city {}, outcome {}, thread {})",
+                    event.getEventType().getLabel(),
+                    event.getString("operation"),
+                    event.getDuration().toMillis(),
+                    orderId != 0 ? orderId : "-",
+                    event.getString("city") != null ? event.getString("city") : "-",
+                    event.getString("outcome"),
+                    thread);
+        } else {
+            log.warn("Slow {} took {} ms (outcome {}, thread {})",
+                    event.getEventType().getLabel(),
+                    event.getDuration().toMillis(),
+                    event.getString("outcome"),
+                    thread);
+        }
+    }
+}
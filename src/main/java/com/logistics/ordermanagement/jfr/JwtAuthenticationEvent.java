@@ -0,0 +1,27 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Bearer token validation and user lookup in JwtAuthenticationFilter and GrpcAuthInterceptor. The user
+ * identity is deliberately not recorded.
+ */
+@Name("com.logistics.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Logistics", "Security"})
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("AUTHENTICATED, INVALID_TOKEN, SKIPPED or ERROR")
+    String outcome;
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,11 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logistics.Notification")
+@Label("Notification")
+@Description("WebSocket order notification send")
+public class NotificationEvent extends OrderOperationEvent {
+}
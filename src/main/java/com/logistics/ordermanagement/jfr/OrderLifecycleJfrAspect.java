@@ -0,0 +1,86 @@
+package com.logistics.ordermanagement.jfr;
+
+import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.entity.Order;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Wraps the public methods of the order, assignment, audit and notification
+ * services in JFR events. When no recording or stream has an event enabled,
+ * the only cost is the {@code isEnabled()} check.
+ */
+@Aspect
+@Component
+public class OrderLifecycleJfrAspect {
+
+    @Around("execution(public * com.logistics.ordermanagement.service.impl.OrderServiceImpl.*(..))")
+    public Object orderService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, new OrderServiceEvent());
+    }
+
+    @Around("execution(public * com.logistics.ordermanagement.service.AssignmentService.*(..))")
+    public Object assignment(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, new AssignmentEvent());
+    }
+
+    @Around("execution(public * com.logistics.ordermanagement.service.AuditService.*(..))")
+    public Object audit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, new AuditWriteEvent());
+    }
+
+    @Around("execution(public * com.logistics.ordermanagement.service.NotificationService.*(..))")
+    public Object notification(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, new NotificationEvent());
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, OrderOperationEvent event) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        String outcome = "OK";
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.outcome = result instanceof Optional<?> optional && optional.isEmpty()
+                        ? (event instanceof AssignmentEvent ? "NO_PARTNER" : "EMPTY")
+                        : outcome;
+                describeOrder(event, joinPoint.getArgs(), result);
+                event.commit();
+            }
+        }
+    }
+
+    private void describeOrder(OrderOperationEvent event, Object[] args, Object result) {
+        if (result instanceof OrderResponse response) {
+            event.orderId = response.getId() != null ? response.getId() : 0;
+            event.city = response.getCity();
+            return;
+        }
+        for (Object arg : args) {
+            if (arg instanceof Order order) {
+                event.orderId = order.getId() != null ? order.getId() : 0;
+                event.city = order.getCity();
+                return;
+            }
+        }
+        // Service methods keyed by order take its id as the first argument
+        if (args.length > 0 && args[0] instanceof Long id) {
+            event.orderId = id;
+        }
+    }
+}
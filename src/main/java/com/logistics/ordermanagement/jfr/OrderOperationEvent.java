@@ -0,0 +1,31 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the order lifecycle JFR events. Stack traces are off so an
+ * enabled event costs little more than two timestamps.
+ */
+@Category({"Logistics", "Orders"})
+@StackTrace(false)
+public abstract class OrderOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Service method that was executed")
+    String operation;
+
+    @Label("Order ID")
+    @Description("0 when the operation is not tied to a single order")
+    long orderId;
+
+    @Label("City")
+    String city;
+
+    @Label("Outcome")
+    @Description("OK, a domain outcome such as NO_PARTNER, or the exception type")
+    String outcome;
+}
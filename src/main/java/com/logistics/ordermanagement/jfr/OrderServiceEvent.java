@@ -0,0 +1,11 @@
+package com.logistics.ordermanagement.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.logistics.OrderService")
+@Label("Order Service")
+@Description("Order service operation (OrderServiceImpl)")
+public class OrderServiceEvent extends OrderOperationEvent {
+}
@@ -5,8 +5,11 @@ import com.logistics.ordermanagement.enums.PartnerStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,21 @@ public interface DeliveryPartnerRepository extends JpaRepository<DeliveryPartner
 
     boolean existsByPhone(String phone);
 
+    @Query("SELECT p.phone FROM DeliveryPartner p WHERE p.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    List<DeliveryPartner> findByPhoneIn(Collection<String> phones);
+
+    @Query("SELECT p.id, p.city, p.latitude, p.longitude FROM DeliveryPartner p WHERE p.status = :status")
+    List<Object[]> findLocationsByStatus(@Param("status") PartnerStatus status);
+
+    // Empty when the partner does not exist; the id column keeps a null email a row
+    @Query("SELECT p.id, p.email FROM DeliveryPartner p WHERE p.id = :id")
+    List<Object[]> findIdAndEmailById(@Param("id") Long id);
+
+    @Query("SELECT p.city, COUNT(p) FROM DeliveryPartner p WHERE p.status = :status GROUP BY p.city")
+    List<Object[]> countByStatusGroupByCity(@Param("status") PartnerStatus status);
+
     Page<DeliveryPartner> findByCity(String city, Pageable pageable);
 
     Page<DeliveryPartner> findByStatus(PartnerStatus status, Pageable pageable);
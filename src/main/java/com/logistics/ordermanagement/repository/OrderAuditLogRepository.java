@@ -1,19 +1,76 @@
 package com.logistics.ordermanagement.repository;
 
 import com.logistics.ordermanagement.entity.OrderAuditLog;
-import org.springframework.data.domain.Page;
+import com.logistics.ordermanagement.enums.AuditAction;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderAuditLogRepository extends JpaRepository<OrderAuditLog, Long> {
 
-    List<OrderAuditLog> findByOrderIdOrderByCreatedAtDesc(Long orderId);
+    /*
+     * History page queries. Each row is [orderId, orderNumber, customerName, city, auditLog,
+     * partnerName]: the order is the driving table so a missing order yields no rows at all,
+     * while an order without (further) history yields a single row whose auditLog is null.
+     * The order columns and partner name are what the audit messages are rendered from.
+     */
 
-    Page<OrderAuditLog> findByOrderIdOrderByCreatedAtDesc(Long orderId, Pageable pageable);
+    String HISTORY_SELECT = "SELECT o.id, o.orderNumber, o.customerName, o.city, a, p.name FROM Order o " +
+            "LEFT JOIN OrderAuditLog a ON a.orderId = o.id ";
 
-    List<OrderAuditLog> findByOrderNumberOrderByCreatedAtDesc(String orderNumber);
+    String HISTORY_PARTNER_JOIN = "LEFT JOIN DeliveryPartner p ON p.id = a.partnerId ";
+
+    String HISTORY_ORDER_BY = "ORDER BY a.createdAt DESC, a.id DESC";
+
+    String HISTORY_AFTER_CURSOR = "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) ";
+
+    @Query(HISTORY_SELECT + HISTORY_PARTNER_JOIN + "WHERE o.id = :orderId " + HISTORY_ORDER_BY)
+    List<Object[]> findHistoryByOrderId(@Param("orderId") Long orderId, Pageable pageable);
+
+    @Query(HISTORY_SELECT + HISTORY_AFTER_CURSOR + HISTORY_PARTNER_JOIN + "WHERE o.id = :orderId " + HISTORY_ORDER_BY)
+    List<Object[]> findHistoryByOrderIdAfter(@Param("orderId") Long orderId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(HISTORY_SELECT + HISTORY_PARTNER_JOIN + "WHERE o.orderNumber = :orderNumber " + HISTORY_ORDER_BY)
+    List<Object[]> findHistoryByOrderNumber(@Param("orderNumber") String orderNumber, Pageable pageable);
+
+    @Query(HISTORY_SELECT + HISTORY_AFTER_CURSOR + HISTORY_PARTNER_JOIN + "WHERE o.orderNumber = :orderNumber " + HISTORY_ORDER_BY)
+    List<Object[]> findHistoryByOrderNumberAfter(@Param("orderNumber") String orderNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    boolean existsByOrderIdAndAction(Long orderId, AuditAction action);
+
+    @Query("SELECT MIN(a.createdAt) FROM OrderAuditLog a")
+    LocalDateTime findOldestCreatedAt();
+
+    /**
+     * Keyset-paged scan of one archive time range in history index order, so a month is
+     * archived grouped by order. The row-value cursor lets the scan resume inside the index.
+     */
+    @Query(value = "SELECT * FROM order_audit_events WHERE created_at >= :from AND created_at < :to " +
+            "AND (order_id, created_at, id) > (:afterOrderId, :afterCreatedAt, :afterId) " +
+            "ORDER BY order_id, created_at, id LIMIT :limit", nativeQuery = true)
+    List<OrderAuditLog> findArchiveBatchByOrder(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterOrderId") long afterOrderId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderAuditLog a WHERE a.createdAt >= :from AND a.createdAt < :to")
+    int deleteByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -2,13 +2,18 @@ package com.logistics.ordermanagement.repository;
 
 import com.logistics.ordermanagement.entity.Order;
 import com.logistics.ordermanagement.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,8 +30,40 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.deliveryPartner WHERE o.id = :id")
     Optional<Order> findByIdWithDeliveryPartner(@Param("id") Long id);
 
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.deliveryPartner WHERE o.id IN :ids")
+    List<Order> findAllByIdInWithDeliveryPartner(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.deliveryPartner WHERE o.city = :city")
     Page<Order> findByCityWithDeliveryPartner(@Param("city") String city, Pageable pageable);
 
     boolean existsByOrderNumber(String orderNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    // [id, status, updatedAt] of orders in the given statuses, for re-arming lifecycle timers
+    @Query("SELECT o.id, o.status, o.updatedAt FROM Order o WHERE o.status IN :statuses")
+    List<Object[]> findLifecycleStates(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // Search index rows, in id order for rebuilds
+    @Query("SELECT o.id, o.orderNumber, o.customerName, o.customerPhone, o.pickupAddress, o.deliveryAddress, "
+            + "o.city, o.status, o.createdAt, o.updatedAt FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // Search index rows changed after (updatedAt, id), in that order for incremental sync
+    @Query("SELECT o.id, o.orderNumber, o.customerName, o.customerPhone, o.pickupAddress, o.deliveryAddress, "
+            + "o.city, o.status, o.createdAt, o.updatedAt FROM Order o "
+            + "WHERE o.updatedAt > :since OR (o.updatedAt = :since AND o.id > :afterId) ORDER BY o.updatedAt, o.id")
+    List<Object[]> findSearchRowsChangedAfter(@Param("since") LocalDateTime since, @Param("afterId") long afterId,
+            Pageable pageable);
+
+    // Pickups each partner still has to make, in assignment order
+    @Query("SELECT o.deliveryPartner.id, o.pickupLatitude, o.pickupLongitude FROM Order o "
+            + "WHERE o.deliveryPartner.id IN :partnerIds AND o.status = :status ORDER BY o.id")
+    List<Object[]> findPickupsByPartnerIds(@Param("partnerIds") Collection<Long> partnerIds,
+            @Param("status") OrderStatus status);
+
+    @Query("SELECT o.status, COUNT(o) FROM Order o WHERE o.status IN :statuses GROUP BY o.status")
+    List<Object[]> countByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
 }
@@ -0,0 +1,115 @@
+package com.logistics.ordermanagement.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analysis for the order search index. Text is split into lower-cased, accent-folded words
+ * and each word is indexed with all of its prefixes, so "kor" finds "Koramangala". Phone
+ * numbers are reduced to digits and indexed with every substring, so any run of digits
+ * finds the number. Queries are only split into words, each looked up as a single term.
+ */
+final class OrderSearchAnalyzers {
+
+    static final int MIN_WORD_GRAM = 2;
+    static final int MAX_WORD_GRAM = 20;
+    static final int MIN_PHONE_GRAM = 3;
+    static final int MAX_PHONE_GRAM = 15;
+
+    private OrderSearchAnalyzers() {
+    }
+
+    static Analyzer indexAnalyzer() {
+        return new PerFieldAnalyzerWrapper(new WordPrefixAnalyzer(),
+                Map.of(OrderSearchIndex.PHONE, new DigitNGramAnalyzer()));
+    }
+
+    static Analyzer queryAnalyzer() {
+        return new WordAnalyzer();
+    }
+
+    /**
+     * Query words of at least {@link #MIN_WORD_GRAM} characters, cut to
+     * {@link #MAX_WORD_GRAM} so longer words still match their longest indexed prefix.
+     */
+    static List<String> words(Analyzer analyzer, String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(OrderSearchIndex.NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                if (term.length() >= MIN_WORD_GRAM) {
+                    words.add(term.length() > MAX_WORD_GRAM
+                            ? new String(term.buffer(), 0, MAX_WORD_GRAM)
+                            : term.toString());
+                }
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    static String digits(String text) {
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static TokenStream normalizedWords(Tokenizer tokenizer) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+    }
+
+    private static final class WordAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, normalizedWords(tokenizer));
+        }
+    }
+
+    private static final class WordPrefixAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, new EdgeNGramTokenFilter(normalizedWords(tokenizer),
+                    MIN_WORD_GRAM, MAX_WORD_GRAM, false));
+        }
+    }
+
+    /**
+     * Expects the digits-only phone number as its whole input.
+     */
+    private static final class DigitNGramAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new KeywordTokenizer();
+            return new TokenStreamComponents(tokenizer,
+                    new NGramTokenFilter(tokenizer, MIN_PHONE_GRAM, MAX_PHONE_GRAM, false));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.logistics.ordermanagement.search;
+
+import com.logistics.ordermanagement.dto.response.OrderSearchStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Order search index maintenance at /actuator/ordersearch (ADMIN only, see SecurityConfig).
+ * <ul>
+ *   <li>{@code GET /actuator/ordersearch} shows size, directory and sync point</li>
+ *   <li>{@code POST /actuator/ordersearch} starts a rebuild from the database in the background</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "ordersearch")
+@RequiredArgsConstructor
+public class OrderSearchEndpoint {
+
+    private final OrderSearchIndex orderSearchIndex;
+
+    @ReadOperation
+    public OrderSearchStatus status() {
+        return orderSearchIndex.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<OrderSearchStatus> rebuild() {
+        if (!orderSearchIndex.isEnabled()) {
+            return new WebEndpointResponse<>(orderSearchIndex.status(), WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        // Already running
+        if (!orderSearchIndex.rebuildInBackground()) {
+            return new WebEndpointResponse<>(orderSearchIndex.status(), WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        return new WebEndpointResponse<>(orderSearchIndex.status(), WebEndpointResponse.STATUS_OK);
+    }
+}
@@ -0,0 +1,613 @@
+package com.logistics.ordermanagement.search;
+
+import com.logistics.ordermanagement.config.OrderSearchProperties;
+import com.logistics.ordermanagement.dto.response.OrderSearchHit;
+import com.logistics.ordermanagement.dto.response.OrderSearchStatus;
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.exception.BadRequestException;
+import com.logistics.ordermanagement.repository.OrderRepository;
+import com.logistics.ordermanagement.service.TransactionCallbacks;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded full-text index of orders for support lookups by partial phone number, customer
+ * name, address or order number, kept on local disk under {@code search.orders.directory}.
+ * <p>
+ * Words are indexed with their prefixes and phone numbers with every digit substring (see
+ * {@link OrderSearchAnalyzers}), so a fragment is a handful of term lookups rather than a
+ * wildcard scan. Segments are memory-mapped and hits are served from stored fields, without
+ * touching the database.
+ * <p>
+ * Like the partner spatial index this is a view, not the source of truth. Orders saved
+ * through JPA are applied after commit and become searchable at the next refresh. A
+ * periodic sync reads orders changed since the last one, which covers writes from other
+ * nodes, plain JDBC and downtime, and a rebuild loads every order into a fresh directory
+ * and swaps it in while searches keep using the old one.
+ */
+@Slf4j
+@Component
+public class OrderSearchIndex {
+
+    // Indexed, analyzed
+    static final String NAME = "name";
+    static final String PHONE = "phone";
+    static final String ADDRESS = "address";
+    static final String NUMBER = "number";
+
+    // Stored or doc values only
+    private static final String ID = "id";
+    private static final String ORDER_NUMBER = "orderNumber";
+    private static final String CUSTOMER_NAME = "customerName";
+    private static final String CUSTOMER_PHONE = "customerPhone";
+    private static final String PICKUP_ADDRESS = "pickupAddress";
+    private static final String DELIVERY_ADDRESS = "deliveryAddress";
+    private static final String CITY = "city";
+    private static final String STATUS = "status";
+    private static final String CREATED_AT = "createdAt";
+
+    private static final String SYNCED_THROUGH = "syncedThrough";
+    private static final String INDEX_PREFIX = "index-";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final Pattern PHONE_LIKE = Pattern.compile("[0-9+()\\-\\s]+");
+    private static final Sort RELEVANCE_THEN_NEWEST = new Sort(SortField.FIELD_SCORE,
+            new SortField(CREATED_AT, SortField.Type.LONG, true));
+
+    private final OrderSearchProperties properties;
+    private final OrderRepository orderRepository;
+    private final ShardExecutor shardExecutor;
+    private final Analyzer queryAnalyzer = OrderSearchAnalyzers.queryAnalyzer();
+    private final Timer searchTimer;
+
+    // Readers hold the read lock while using the open index; a rebuild swaps it under the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile OpenIndex index;
+    private volatile LocalDateTime syncedThrough;
+
+    public OrderSearchIndex(OrderSearchProperties properties, OrderRepository orderRepository,
+            ShardExecutor shardExecutor, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.orderRepository = orderRepository;
+        this.shardExecutor = shardExecutor;
+        this.searchTimer = Timer.builder("orders.search")
+                .description("Order search latency, excluding HTTP")
+                .register(meterRegistry);
+        meterRegistry.gauge("orders.search.documents", this, idx -> idx.documentCount());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Opens the newest complete index under the directory, or an empty one, and removes
+     * leftovers of interrupted rebuilds.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Path root = Path.of(properties.getDirectory());
+        Files.createDirectories(root);
+        Path latest = null;
+        for (Path candidate : indexDirectories(root)) {
+            try (Directory directory = new MMapDirectory(candidate)) {
+                if (DirectoryReader.indexExists(directory)) {
+                    latest = candidate;
+                }
+            }
+        }
+        index = OpenIndex.open(latest != null ? latest : root.resolve(INDEX_PREFIX + System.currentTimeMillis()),
+                writerConfig(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        syncedThrough = index.syncedThrough();
+        deleteOtherIndexes(index.path());
+        log.info("Order search index opened at {} with {} order(s), synced through {}",
+                index.path(), documentCount(), syncedThrough);
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.close();
+                index = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first, newest first among equals. Digit-only queries of at least three
+     * digits also match inside phone numbers; every word must match the name, an address or
+     * the order number.
+     */
+    public List<OrderSearchHit> search(String text, int limit) {
+        if (!isEnabled()) {
+            throw new BadRequestException("Order search is disabled");
+        }
+        BooleanQuery query = parse(text == null ? "" : text);
+        if (query.clauses().isEmpty()) {
+            throw new BadRequestException("Search text needs a word of at least "
+                    + OrderSearchAnalyzers.MIN_WORD_GRAM + " characters or at least "
+                    + OrderSearchAnalyzers.MIN_PHONE_GRAM + " digits");
+        }
+        int size = Math.max(1, Math.min(limit, properties.getMaxResults()));
+        return searchTimer.record(() -> execute(query, size));
+    }
+
+    /**
+     * Applies the order's state after the surrounding transaction commits, or immediately
+     * when there is none. Values are captured now, after the flush that fired the callback.
+     */
+    public void update(Order order) {
+        if (!isEnabled() || order.getId() == null) {
+            return;
+        }
+        IndexedOrder indexed = IndexedOrder.of(order);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(indexed)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isEnabled() && syncedThrough == null && properties.isRebuildIfEmpty()) {
+            rebuildInBackground();
+        }
+    }
+
+    /**
+     * Starts a rebuild on its own thread; false if one is already running.
+     */
+    public boolean rebuildInBackground() {
+        if (!isEnabled() || rebuilding.get()) {
+            return false;
+        }
+        Thread thread = new Thread(this::rebuild, "order-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Loads every order into a new index directory, swaps it in and removes the old one.
+     * Changes made while it runs are picked up by the sync that follows.
+     */
+    public void rebuild() {
+        if (!isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Path target = Path.of(properties.getDirectory()).resolve(INDEX_PREFIX + System.currentTimeMillis());
+        OpenIndex fresh = null;
+        try {
+            fresh = OpenIndex.open(target, writerConfig(IndexWriterConfig.OpenMode.CREATE));
+            IndexWriter writer = fresh.writer();
+            AtomicLong loaded = new AtomicLong();
+            shardExecutor.forEachShard(shard -> loaded.addAndGet(loadShard(writer)));
+            writer.setLiveCommitData(Map.of(SYNCED_THROUGH, startedAt.toString()).entrySet());
+            writer.commit();
+            fresh.searchers().maybeRefreshBlocking();
+            swap(fresh, startedAt);
+            log.info("Order search index rebuilt: {} order(s) in {} ms", loaded.get(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Order search index rebuild failed; keeping the current index", e);
+            if (fresh != null) {
+                fresh.close();
+                deleteQuietly(target);
+            }
+            return;
+        } finally {
+            rebuilding.set(false);
+        }
+        sync();
+    }
+
+    private synchronized void swap(OpenIndex fresh, LocalDateTime startedAt) {
+        OpenIndex previous;
+        lock.writeLock().lock();
+        try {
+            previous = index;
+            index = fresh;
+            syncedThrough = startedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        deleteOtherIndexes(fresh.path());
+    }
+
+    /**
+     * Indexes orders changed since the last sync, less the overlap, in (updatedAt, id) order
+     * per shard, then commits with the new sync point so a restart resumes from it. Runs
+     * one at a time and never across a rebuild's swap.
+     */
+    @Scheduled(fixedDelayString = "${search.orders.sync-interval-ms:10000}",
+            initialDelayString = "${search.orders.sync-interval-ms:10000}")
+    public synchronized void sync() {
+        LocalDateTime from = syncedThrough;
+        if (!isEnabled() || from == null || rebuilding.get()) {
+            return;
+        }
+        LocalDateTime since = from.minus(properties.getSyncOverlap());
+        List<LocalDateTime> newest = new ArrayList<>();
+        AtomicLong applied = new AtomicLong();
+        try {
+            shardExecutor.forEachShard(shard -> newest.add(syncShard(since, applied)));
+        } catch (RuntimeException e) {
+            log.warn("Order search sync failed; retrying from {}", from, e);
+            return;
+        }
+        LocalDateTime through = newest.stream().filter(t -> t != null).max(Comparator.naturalOrder())
+                .filter(t -> t.isAfter(from))
+                .orElse(from);
+        lock.readLock().lock();
+        try {
+            OpenIndex current = index;
+            if (current != null) {
+                current.writer().setLiveCommitData(Map.of(SYNCED_THROUGH, through.toString()).entrySet());
+                current.writer().commit();
+                syncedThrough = through;
+            }
+        } catch (IOException e) {
+            log.warn("Could not commit the order search index", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (applied.get() > 0) {
+            log.debug("Order search sync indexed {} changed order(s) through {}", applied.get(), through);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.orders.refresh-interval-ms:250}")
+    public void refresh() {
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                index.searchers().maybeRefresh();
+            }
+        } catch (IOException e) {
+            log.warn("Could not refresh the order search index", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public OrderSearchStatus status() {
+        OpenIndex current = index;
+        return OrderSearchStatus.builder()
+                .enabled(isEnabled())
+                .directory(current != null ? current.path().toAbsolutePath().toString() : null)
+                .documents(documentCount())
+                .syncedThrough(syncedThrough)
+                .rebuilding(rebuilding.get())
+                .build();
+    }
+
+    long documentCount() {
+        OpenIndex current = index;
+        return current == null ? 0 : current.writer().getDocStats().numDocs;
+    }
+
+    /**
+     * Indexes without waiting for a commit; visible after the next {@link #refresh()}.
+     */
+    void put(long id, String orderNumber, String customerName, String customerPhone, String pickupAddress,
+            String deliveryAddress, String city, OrderStatus status, LocalDateTime createdAt) {
+        apply(List.of(new IndexedOrder(id, orderNumber, customerName, customerPhone, pickupAddress,
+                deliveryAddress, city, status, createdAt, createdAt)));
+    }
+
+    private List<OrderSearchHit> execute(BooleanQuery query, int size) {
+        lock.readLock().lock();
+        try {
+            OpenIndex current = index;
+            if (current == null) {
+                return List.of();
+            }
+            IndexSearcher searcher = current.searchers().acquire();
+            try {
+                TopDocs top = searcher.search(query, size, RELEVANCE_THEN_NEWEST);
+                StoredFields stored = searcher.storedFields();
+                List<OrderSearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    hits.add(toHit(stored.document(scoreDoc.doc)));
+                }
+                return hits;
+            } finally {
+                current.searchers().release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order search failed", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BooleanQuery parse(String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (PHONE_LIKE.matcher(text).matches()) {
+            String digits = OrderSearchAnalyzers.digits(text);
+            if (digits.length() >= OrderSearchAnalyzers.MIN_PHONE_GRAM
+                    && digits.length() <= OrderSearchAnalyzers.MAX_PHONE_GRAM) {
+                query.add(new BoostQuery(new TermQuery(new Term(PHONE, digits)), 4f), BooleanClause.Occur.SHOULD);
+            }
+        }
+        List<String> words = OrderSearchAnalyzers.words(queryAnalyzer, text);
+        if (!words.isEmpty()) {
+            BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+            for (String word : words) {
+                allWords.add(new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(NAME, word)), 2f), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(ADDRESS, word)), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(NUMBER, word)), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.MUST);
+            }
+            query.add(allWords.build(), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private void apply(Collection<IndexedOrder> orders) {
+        lock.readLock().lock();
+        try {
+            OpenIndex current = index;
+            if (current == null) {
+                return;
+            }
+            for (IndexedOrder order : orders) {
+                current.writer().updateDocument(new Term(ID, Long.toString(order.id())), toDocument(order));
+            }
+        } catch (IOException e) {
+            // The next sync re-reads these orders
+            log.warn("Could not index {} order(s)", orders.size(), e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long loadShard(IndexWriter writer) {
+        long loaded = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = orderRepository.findSearchRowsAfter(afterId,
+                    PageRequest.of(0, properties.getBatchSize()));
+            try {
+                for (Object[] row : rows) {
+                    IndexedOrder order = IndexedOrder.of(row);
+                    writer.addDocument(toDocument(order));
+                    afterId = order.id();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            loaded += rows.size();
+            if (rows.size() < properties.getBatchSize()) {
+                return loaded;
+            }
+        }
+    }
+
+    private LocalDateTime syncShard(LocalDateTime since, AtomicLong applied) {
+        LocalDateTime cursor = since;
+        long afterId = 0;
+        LocalDateTime newest = null;
+        while (true) {
+            List<Object[]> rows = orderRepository.findSearchRowsChangedAfter(cursor, afterId,
+                    PageRequest.of(0, properties.getBatchSize()));
+            if (!rows.isEmpty()) {
+                List<IndexedOrder> orders = rows.stream().map(IndexedOrder::of).toList();
+                apply(orders);
+                IndexedOrder last = orders.get(orders.size() - 1);
+                cursor = last.updatedAt();
+                afterId = last.id();
+                newest = cursor;
+                applied.addAndGet(orders.size());
+            }
+            if (rows.size() < properties.getBatchSize()) {
+                return newest;
+            }
+        }
+    }
+
+    private IndexWriterConfig writerConfig(IndexWriterConfig.OpenMode mode) {
+        return new IndexWriterConfig(OrderSearchAnalyzers.indexAnalyzer())
+                .setOpenMode(mode)
+                .setRAMBufferSizeMB(properties.getRamBuffer().toBytes() / (1024.0 * 1024.0));
+    }
+
+    private static Document toDocument(IndexedOrder order) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(order.id()), Field.Store.YES));
+        addText(document, NUMBER, order.orderNumber());
+        addText(document, NAME, order.customerName());
+        addText(document, ADDRESS, order.pickupAddress());
+        addText(document, ADDRESS, order.deliveryAddress());
+        if (order.customerPhone() != null) {
+            addText(document, PHONE, OrderSearchAnalyzers.digits(order.customerPhone()));
+        }
+        long createdAt = order.createdAt() == null ? 0 : order.createdAt().atZone(ZONE).toInstant().toEpochMilli();
+        document.add(new NumericDocValuesField(CREATED_AT, createdAt));
+        document.add(new StoredField(CREATED_AT, createdAt));
+        addStored(document, ORDER_NUMBER, order.orderNumber());
+        addStored(document, CUSTOMER_NAME, order.customerName());
+        addStored(document, CUSTOMER_PHONE, order.customerPhone());
+        addStored(document, PICKUP_ADDRESS, order.pickupAddress());
+        addStored(document, DELIVERY_ADDRESS, order.deliveryAddress());
+        addStored(document, CITY, order.city());
+        addStored(document, STATUS, order.status() == null ? null : order.status().name());
+        return document;
+    }
+
+    private static void addText(Document document, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            document.add(new TextField(name, value, Field.Store.NO));
+        }
+    }
+
+    private static void addStored(Document document, String name, String value) {
+        if (value != null) {
+            document.add(new StoredField(name, value));
+        }
+    }
+
+    private static OrderSearchHit toHit(Document document) {
+        IndexableField created = document.getField(CREATED_AT);
+        long createdMillis = created == null ? 0 : created.numericValue().longValue();
+        LocalDateTime createdAt = createdMillis == 0 ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(createdMillis), ZONE);
+        String status = document.get(STATUS);
+        return OrderSearchHit.builder()
+                .id(Long.parseLong(document.get(ID)))
+                .orderNumber(document.get(ORDER_NUMBER))
+                .customerName(document.get(CUSTOMER_NAME))
+                .customerPhone(document.get(CUSTOMER_PHONE))
+                .pickupAddress(document.get(PICKUP_ADDRESS))
+                .deliveryAddress(document.get(DELIVERY_ADDRESS))
+                .city(document.get(CITY))
+                .status(status == null ? null : OrderStatus.valueOf(status))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static List<Path> indexDirectories(Path root) throws IOException {
+        try (Stream<Path> children = Files.list(root)) {
+            return children
+                    .filter(path -> Files.isDirectory(path) && path.getFileName().toString().startsWith(INDEX_PREFIX))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList();
+        }
+    }
+
+    private void deleteOtherIndexes(Path keep) {
+        try {
+            for (Path path : indexDirectories(keep.getParent())) {
+                if (!path.equals(keep)) {
+                    deleteQuietly(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list old order search indexes under {}", keep.getParent(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            log.warn("Could not delete old order search index {}", path, e);
+        }
+    }
+
+    /**
+     * An index directory with its writer and near-real-time searchers.
+     */
+    private record OpenIndex(Path path, Directory directory, IndexWriter writer, SearcherManager searchers) {
+
+        static OpenIndex open(Path path, IndexWriterConfig config) throws IOException {
+            Directory directory = new MMapDirectory(path);
+            IndexWriter writer = new IndexWriter(directory, config);
+            return new OpenIndex(path, directory, writer, new SearcherManager(writer, null));
+        }
+
+        LocalDateTime syncedThrough() {
+            Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+            if (data != null) {
+                for (Map.Entry<String, String> entry : data) {
+                    if (SYNCED_THROUGH.equals(entry.getKey())) {
+                        return LocalDateTime.parse(entry.getValue());
+                    }
+                }
+            }
+            return null;
+        }
+
+        void close() {
+            try {
+                searchers.close();
+                writer.close();
+                directory.close();
+            } catch (IOException e) {
+                log.warn("Could not close order search index {}", path, e);
+            }
+        }
+    }
+
+    private record IndexedOrder(long id, String orderNumber, String customerName, String customerPhone,
+            String pickupAddress, String deliveryAddress, String city, OrderStatus status,
+            LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static IndexedOrder of(Order order) {
+            return new IndexedOrder(order.getId(), order.getOrderNumber(), order.getCustomerName(),
+                    order.getCustomerPhone(), order.getPickupAddress(), order.getDeliveryAddress(),
+                    order.getCity(), order.getStatus(), order.getCreatedAt(), order.getUpdatedAt());
+        }
+
+        // Row layout of OrderRepository.findSearchRowsAfter / findSearchRowsChangedAfter
+        static IndexedOrder of(Object[] row) {
+            return new IndexedOrder((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], (String) row[6], (OrderStatus) row[7],
+                    (LocalDateTime) row[8], (LocalDateTime) row[9]);
+        }
+    }
+}
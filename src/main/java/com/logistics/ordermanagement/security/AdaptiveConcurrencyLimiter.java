@@ -0,0 +1,107 @@
+package com.logistics.ordermanagement.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-based concurrency limit, in the spirit of Netflix's Gradient2.
+ * The allowed number of in-flight requests follows the ratio between the long-term
+ * (baseline) and short-term latency: when latency rises above baseline the limit
+ * shrinks, when it is at baseline the limit grows by roughly sqrt(limit) queue slack.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final int shortWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Written under the lock, read lock-free on every acquire
+    private volatile double limit;
+
+    // Guarded by this; only touched once per completed request
+    private double longRtt;
+    private double shortRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+            double tolerance, double smoothing, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.shortWindow = 10;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Claims an in-flight slot, or returns false if the group is at its current limit.
+     */
+    public boolean tryAcquire() {
+        int limitSnapshot = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limitSnapshot) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the request's latency into the limit.
+     */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion);
+    }
+
+    /**
+     * Releases a slot without sampling, for requests that failed before doing real work.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+            return;
+        }
+
+        shortRtt += (rtt - shortRtt) / shortWindow;
+        longRtt += (rtt - longRtt) / longWindow;
+
+        // After a sustained slowdown the baseline has drifted up; pull it back
+        // down so the limit can recover once latency improves
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // The app is not using the current limit, so latency says nothing about it
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
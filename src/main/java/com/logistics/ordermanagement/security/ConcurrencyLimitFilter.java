@@ -0,0 +1,116 @@
+package com.logistics.ordermanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.ordermanagement.config.ConcurrencyLimitProperties;
+import com.logistics.ordermanagement.dto.response.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds API load before it reaches the connection pool. Each route group has an
+ * {@link AdaptiveConcurrencyLimiter}; once a group is at its limit further requests
+ * are rejected immediately with 503 instead of queueing on Tomcat threads.
+ * Auth routes bypass the limiter, and non-API paths such as /actuator/health and
+ * /ws are never filtered, so probes and logins keep working under overload.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final Counter writeRejections;
+    private final Counter readRejections;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.writeLimiter = createLimiter(properties.getWrite());
+        this.readLimiter = createLimiter(properties.getRead());
+        this.writeRejections = registerMeters(meterRegistry, "write", writeLimiter);
+        this.readRejections = registerMeters(meterRegistry, "read", readLimiter);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isEnabled()
+                || !uri.startsWith("/api/")
+                || uri.startsWith("/api/v1/auth/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+
+        if (!limiter.tryAcquire()) {
+            (read ? readRejections : writeRejections).increment();
+            log.warn("Shedding {} {}: {} limit {} reached", request.getMethod(), request.getRequestURI(),
+                    read ? "read" : "write", limiter.getLimit());
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(
+                    "Service Unavailable",
+                    "Server is overloaded, please retry shortly",
+                    request.getRequestURI()));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            sampled = true;
+        } finally {
+            if (sampled) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(ConcurrencyLimitProperties.Group group) {
+        return new AdaptiveConcurrencyLimiter(group.getInitialLimit(), group.getMinLimit(), group.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing(), properties.getLongWindow());
+    }
+
+    private static Counter registerMeters(MeterRegistry meterRegistry, String group,
+            AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight")
+                .tag("group", group)
+                .register(meterRegistry);
+        return Counter.builder("http.server.requests.shed")
+                .description("Requests rejected by the adaptive concurrency limiter")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+}
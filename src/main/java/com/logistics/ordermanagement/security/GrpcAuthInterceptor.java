@@ -0,0 +1,103 @@
+package com.logistics.ordermanagement.security;
+
+import com.logistics.ordermanagement.jfr.JwtAuthenticationEvent;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.function.Supplier;
+
+/**
+ * Authenticates gRPC calls from {@code authorization: Bearer} metadata, with the same token
+ * checks as JwtAuthenticationFilter, and admits PARTNER and ADMIN users only. A stream is
+ * authenticated once when it opens, not per message.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GrpcAuthInterceptor implements ServerInterceptor {
+
+    private static final Context.Key<Authentication> AUTHENTICATION = Context.key("authentication");
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+            ServerCallHandler<Q, R> next) {
+        String authHeader = headers.get(AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Missing bearer token"));
+        }
+
+        Authentication authentication = authenticate(authHeader.substring(7));
+        if (authentication == null) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Invalid or expired token"));
+        }
+        if (authentication.getAuthorities().stream()
+                .noneMatch(a -> "ROLE_PARTNER".equals(a.getAuthority()) || "ROLE_ADMIN".equals(a.getAuthority()))) {
+            return reject(call, Status.PERMISSION_DENIED.withDescription("Requires PARTNER or ADMIN role"));
+        }
+        return Contexts.interceptCall(Context.current().withValue(AUTHENTICATION, authentication),
+                call, headers, next);
+    }
+
+    /**
+     * Runs the work with the caller of the current call in the Spring security context, so
+     * services see the same user as they would behind the REST filters (e.g. for auditing).
+     */
+    public static <T> T asCaller(Supplier<T> work) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(AUTHENTICATION.get());
+        SecurityContextHolder.setContext(context);
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private Authentication authenticate(String jwt) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        String outcome = "INVALID_TOKEN";
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+            if (jwtService.isTokenValid(jwt, userDetails)) {
+                outcome = "AUTHENTICATED";
+                return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            }
+            return null;
+        } catch (Exception e) {
+            outcome = "ERROR";
+            log.debug("Rejected gRPC token: {}", e.getMessage());
+            return null;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setOutcome(outcome);
+                event.commit();
+            }
+        }
+    }
+
+    private static <Q, R> ServerCall.Listener<Q> reject(ServerCall<Q, R> call, Status status) {
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,234 @@
+package com.logistics.ordermanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.ordermanagement.config.IdempotencyProperties;
+import com.logistics.ordermanagement.dto.response.ErrorResponse;
+import com.logistics.ordermanagement.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes write requests carrying an {@code Idempotency-Key} header safe to retry.
+ * The first request with a key runs normally and its response is stored; duplicates
+ * that arrive while it is running wait for it, and later duplicates get the stored
+ * response replayed without reaching the controller. Reusing a key with a different
+ * request is rejected with 422. 5xx responses release the key so the client can retry.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Requests currently executing on this node, so local duplicates can wait without polling
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyStore.StoredResponse>> inFlight =
+            new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        return !properties.isEnabled()
+                || request.getHeader(HEADER) == null
+                || !request.getRequestURI().startsWith("/api/")
+                || HttpMethod.GET.matches(method)
+                || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    String.format("%s must be 1 to %d characters", HEADER, MAX_KEY_LENGTH));
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        String key = scope() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (true) {
+            Optional<IdempotencyStore.IdempotencyRecord> existing =
+                    store.tryReserve(key, fingerprint, properties.getLockTimeout());
+            if (existing.isEmpty()) {
+                execute(key, cachedRequest, response, filterChain);
+                return;
+            }
+
+            IdempotencyStore.IdempotencyRecord record = existing.get();
+            if (!record.fingerprint().equals(fingerprint)) {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used for a different request");
+                return;
+            }
+            if (record.status() == IdempotencyStore.Status.COMPLETED) {
+                replay(record.response(), response);
+                return;
+            }
+
+            IdempotencyStore.StoredResponse completed = awaitCompletion(key, deadline);
+            if (completed != null) {
+                replay(completed, response);
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                response.setHeader("Retry-After", "1");
+                writeError(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + HEADER + " is still being processed");
+                return;
+            }
+            // The first attempt was released (failed); loop and try to claim the key ourselves
+        }
+    }
+
+    private void execute(String key, CachedBodyHttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        CompletableFuture<IdempotencyStore.StoredResponse> completion = new CompletableFuture<>();
+        inFlight.put(key, completion);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            int status = wrapper.getStatus();
+            byte[] body = wrapper.getContentAsByteArray();
+            if (isStorable(status) && body.length <= properties.getMaxBodyBytes()) {
+                stored = new IdempotencyStore.StoredResponse(status, wrapper.getContentType(), body);
+                store.complete(key, stored, properties.getTtl());
+            } else {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.release(key);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+            completion.complete(stored);
+        }
+    }
+
+    /**
+     * Waits for the in-progress holder of {@code key}. Returns its response once
+     * completed, or null if it was released or the deadline passed.
+     */
+    private IdempotencyStore.StoredResponse awaitCompletion(String key, long deadline) throws IOException {
+        try {
+            CompletableFuture<IdempotencyStore.StoredResponse> local = inFlight.get(key);
+            if (local != null) {
+                long remaining = deadline - System.nanoTime();
+                return remaining > 0 ? local.get(remaining, TimeUnit.NANOSECONDS) : null;
+            }
+
+            // Held by another node (shared store): poll until it completes or disappears
+            while (System.nanoTime() < deadline) {
+                Optional<IdempotencyStore.IdempotencyRecord> record = store.find(key);
+                if (record.isEmpty()) {
+                    return null;
+                }
+                if (record.get().status() == IdempotencyStore.Status.COMPLETED) {
+                    return record.get().response();
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+            return null;
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for idempotent request", e);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.getOutputStream().write(stored.body());
+    }
+
+    private boolean isStorable(int status) {
+        // Auth and throttling rejections say nothing about the operation, so they are not replayed
+        return status < 500
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "anonymous";
+    }
+
+    private String fingerprint(CachedBodyHttpServletRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            // The stored response is in the negotiated format, so a replay must ask for the same one
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            digest.update((byte) '\n');
+            digest.update((accept != null ? accept : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(
+                status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+}
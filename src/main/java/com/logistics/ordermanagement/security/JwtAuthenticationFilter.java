@@ -1,5 +1,6 @@
 package com.logistics.ordermanagement.security;
 
+import com.logistics.ordermanagement.jfr.JwtAuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,12 +41,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        String outcome = "SKIPPED";
         try {
             userEmail = jwtService.extractUsername(jwt);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
+                outcome = "INVALID_TOKEN";
                 if (jwtService.isTokenValid(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -54,10 +59,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     log.debug("Authenticated user: {}", userEmail);
+                    outcome = "AUTHENTICATED";
                 }
             }
         } catch (Exception e) {
+            outcome = "ERROR";
             log.error("Cannot set user authentication: {}", e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setOutcome(outcome);
+                event.commit();
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,108 @@
+package com.logistics.ordermanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.ordermanagement.config.RateLimitProperties;
+import com.logistics.ordermanagement.dto.response.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies per-client token buckets to API requests. Runs right after
+ * {@link JwtAuthenticationFilter} so callers are keyed by JWT subject, falling back
+ * to the remote address for unauthenticated requests (e.g. login).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        RateLimitProperties.Rule rule = resolveRule(request, authenticated ? authentication : null);
+        String clientKey = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(rule, clientKey);
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (!decision.allowed()) {
+            long retryAfter = RateLimiter.toRetryAfterSeconds(decision.retryAfterNanos());
+            log.warn("Rate limit '{}' exceeded by {} on {} {}", rule.getName(), clientKey,
+                    request.getMethod(), request.getRequestURI());
+
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(
+                    "Too Many Requests",
+                    String.format("Rate limit exceeded, retry after %d second(s)", retryAfter),
+                    request.getRequestURI()));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Rule resolveRule(HttpServletRequest request, Authentication authentication) {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (rule.getMethod() != null && !rule.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (rule.getPath() != null && !PATH_MATCHER.match(rule.getPath(), request.getRequestURI())) {
+                continue;
+            }
+            if (!rule.getRoles().isEmpty() && !hasAnyRole(authentication, rule)) {
+                continue;
+            }
+            return rule;
+        }
+        return properties.getDefaultRule();
+    }
+
+    private boolean hasAnyRole(Authentication authentication, RateLimitProperties.Rule rule) {
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            for (String role : rule.getRoles()) {
+                if (authority.getAuthority().equals("ROLE_" + role)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
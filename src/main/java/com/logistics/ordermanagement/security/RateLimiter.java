@@ -0,0 +1,90 @@
+package com.logistics.ordermanagement.security;
+
+import com.logistics.ordermanagement.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets keyed by rule and client.
+ * Each bucket is a single AtomicLong holding the GCRA "theoretical arrival time",
+ * so acquiring a token is one CAS with no locks and no refill thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public record Decision(boolean allowed, int limit, int remaining, long retryAfterNanos) {
+    }
+
+    public Decision tryAcquire(RateLimitProperties.Rule rule, String clientKey) {
+        long now = System.nanoTime();
+        long interval = rule.getPeriod().toNanos() / Math.max(rule.getLimit(), 1);
+        long window = interval * rule.getCapacity();
+
+        Bucket bucket = buckets.computeIfAbsent(rule.getName() + '|' + clientKey, key -> new Bucket(now));
+        bucket.lastAccess = now;
+
+        while (true) {
+            long tat = bucket.tat.get();
+            long newTat = Math.max(tat, now) + interval;
+            long backlog = newTat - now;
+            if (backlog > window) {
+                rejections.computeIfAbsent(rule.getName(), name -> Counter.builder("http.server.requests.rate_limited")
+                        .description("Requests rejected by the rate limiter")
+                        .tag("rule", name)
+                        .register(meterRegistry)).increment();
+                return new Decision(false, rule.getCapacity(), 0, backlog - window);
+            }
+            if (bucket.tat.compareAndSet(tat, newTat)) {
+                return new Decision(true, rule.getCapacity(), (int) ((window - backlog) / interval), 0);
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have been idle long enough to be full again, so one-off
+     * clients (and IP fallback keys) do not accumulate.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idle = properties.getIdleEviction().toNanos();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > idle
+                && entry.getValue().tat.get() <= now);
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit bucket(s), {} remaining", evicted, buckets.size());
+        }
+    }
+
+    public static long toRetryAfterSeconds(long retryAfterNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static final class Bucket {
+        private final AtomicLong tat;
+        private volatile long lastAccess;
+
+        Bucket(long now) {
+            this.tat = new AtomicLong(now);
+            this.lastAccess = now;
+        }
+    }
+}
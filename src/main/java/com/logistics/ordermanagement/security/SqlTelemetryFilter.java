@@ -0,0 +1,90 @@
+package com.logistics.ordermanagement.security;
+
+import com.logistics.ordermanagement.config.SqlRequestStats;
+import com.logistics.ordermanagement.config.SqlTelemetryProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts JDBC statements and database time per API request. Publishes them per
+ * endpoint as {@code http.server.requests.sql.statements} and
+ * {@code http.server.requests.sql.time}, and warns when a request runs more
+ * statements than its configured budget, which usually means an N+1 query.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlTelemetryFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final SqlTelemetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        // Route template rather than raw URI, so ids do not become tag values
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("JDBC statements executed per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent in JDBC executions per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = resolveBudget(request);
+        if (budget > 0 && stats.getStatements() > budget) {
+            meterRegistry.counter("http.server.requests.sql.budget_exceeded", "method", method, "uri", uri)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements (budget {}), {} ms in database",
+                    method, request.getRequestURI(), stats.getStatements(), budget, stats.getMillis());
+        }
+    }
+
+    private int resolveBudget(HttpServletRequest request) {
+        for (SqlTelemetryProperties.Budget budget : properties.getBudgets()) {
+            if (budget.getMethod() != null && !budget.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (budget.getPath() != null && !PATH_MATCHER.match(budget.getPath(), request.getRequestURI())) {
+                continue;
+            }
+            return budget.getMaxStatements();
+        }
+        return properties.getDefaultMaxStatements();
+    }
+}
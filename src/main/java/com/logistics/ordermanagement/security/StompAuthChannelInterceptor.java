@@ -0,0 +1,72 @@
+package com.logistics.ordermanagement.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.security.Principal;
+
+/**
+ * Authenticates STOMP sessions from an {@code Authorization: Bearer} header on CONNECT
+ * and restricts client-to-server partner destinations to PARTNER and ADMIN users.
+ * Connecting without a token is still allowed, so anonymous clients can subscribe
+ * to broadcast topics.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String PARTNER_DESTINATIONS = "/app/partners/";
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authHeader = accessor.getFirstNativeHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                accessor.setUser(authenticate(authHeader.substring(7)));
+            }
+        } else if (StompCommand.SEND.equals(accessor.getCommand())
+                && accessor.getDestination() != null
+                && accessor.getDestination().startsWith(PARTNER_DESTINATIONS)
+                && !hasPartnerAccess(accessor.getUser())) {
+            throw new AccessDeniedException("Sending to " + accessor.getDestination() + " requires PARTNER or ADMIN role");
+        }
+        return message;
+    }
+
+    private Authentication authenticate(String jwt) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+            if (jwtService.isTokenValid(jwt, userDetails)) {
+                return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            }
+        } catch (Exception e) {
+            log.debug("Rejected STOMP CONNECT token: {}", e.getMessage());
+        }
+        throw new BadCredentialsException("Invalid or expired token");
+    }
+
+    private boolean hasPartnerAccess(Principal user) {
+        return user instanceof Authentication authentication
+                && authentication.getAuthorities().stream()
+                        .anyMatch(a -> "ROLE_PARTNER".equals(a.getAuthority()) || "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+}
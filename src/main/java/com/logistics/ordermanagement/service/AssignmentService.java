@@ -3,16 +3,28 @@ package com.logistics.ordermanagement.service;
 import com.logistics.ordermanagement.entity.DeliveryPartner;
 import com.logistics.ordermanagement.entity.Order;
 import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.event.OrderAssignedEvent;
 import com.logistics.ordermanagement.enums.PartnerStatus;
 import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
 import com.logistics.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for intelligent partner assignment using various algorithms
@@ -25,70 +37,257 @@ public class AssignmentService {
     private final DeliveryPartnerRepository deliveryPartnerRepository;
     private final OrderRepository orderRepository;
     private final AuditService auditService;
+    private final MeterRegistry meterRegistry;
+    private final CityTagLimiter cityTagLimiter;
+    private final PartnerSpatialIndex spatialIndex;
+    private final PartnerCapacityService partnerCapacityService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Nearest partners fetched from the index per assignment; extras cover stale entries
+    @Value("${assignment.spatial.candidates:5}")
+    private int spatialCandidates;
+
+    // Longest extra distance a new pickup may add to a partner who already carries orders
+    @Value("${assignment.bundling.max-detour-km:2.0}")
+    private double maxDetourKm;
 
     /**
      * Automatically assigns the best available partner to an order.
      * Uses a combination of factors:
      * 1. Same city as order
-     * 2. AVAILABLE status
-     * 3. Least number of completed orders (load balancing)
-     * 
+     * 2. AVAILABLE status, i.e. carrying fewer orders than their capacity
+     * 3. With pickup coordinates, the least extra distance: an idle partner's distance to
+     *    the pickup, or the detour of adding it to a loaded partner's pending pickups
+     *    (see {@link #rankPartners}); otherwise the partner who has been registered longest
+     *
      * @param order The order to assign
      * @return Optional containing the assigned partner, or empty if none available
      */
     @Transactional
+    @Timed(value = "orders.assignment.duration", description = "Auto-assignment latency")
     public Optional<DeliveryPartner> autoAssignPartner(Order order) {
         log.info("Auto-assigning partner for order: {}", order.getOrderNumber());
 
-        // Find available partners in the same city
-        List<DeliveryPartner> availablePartners = deliveryPartnerRepository
-                .findByCityAndStatus(order.getCity(), PartnerStatus.AVAILABLE);
+        DeliveryPartner selectedPartner = reserveBest(rankPartners(order, findIndexedCandidates(order)));
+        if (selectedPartner == null) {
+            // No coordinates, or no indexed partner could take the order: fall back to the city-wide query
+            selectedPartner = reserveBest(rankPartners(order,
+                    deliveryPartnerRepository.findByCityAndStatus(order.getCity(), PartnerStatus.AVAILABLE)));
+        }
 
-        if (availablePartners.isEmpty()) {
+        if (selectedPartner == null) {
             log.warn("No available partners found for order {} in city {}",
                     order.getOrderNumber(), order.getCity());
+            countAssignment(order, "no_partner");
             return Optional.empty();
         }
 
-        // Load balancing: find partner with fewest active orders
-        // For simplicity, we pick the first available one (can be enhanced with more
-        // complex logic)
-        DeliveryPartner selectedPartner = selectBestPartner(availablePartners);
-
         // Assign partner to order
         order.setDeliveryPartner(selectedPartner);
         order.setStatus(OrderStatus.ASSIGNED);
-        selectedPartner.setStatus(PartnerStatus.BUSY);
 
         deliveryPartnerRepository.save(selectedPartner);
         Order updatedOrder = orderRepository.save(order);
 
         // Log audit
         auditService.logPartnerAssigned(updatedOrder, selectedPartner.getName(), selectedPartner.getId());
-        auditService.logStatusChange(updatedOrder, OrderStatus.PLACED.name(), OrderStatus.ASSIGNED.name());
+        auditService.logStatusChange(updatedOrder, OrderStatus.PLACED, OrderStatus.ASSIGNED);
+        eventPublisher.publishEvent(new OrderAssignedEvent(updatedOrder, selectedPartner.getId()));
 
-        log.info("Auto-assigned partner {} to order {}",
-                selectedPartner.getName(), order.getOrderNumber());
+        log.info("Auto-assigned partner {} to order {} ({} active order(s))",
+                selectedPartner.getName(), order.getOrderNumber(), selectedPartner.getActiveOrders());
+        countAssignment(order, selectedPartner.getActiveOrders() > 1 ? "bundled" : "assigned");
 
         return Optional.of(selectedPartner);
     }
 
     /**
-     * Selects the best partner from a list of available partners.
-     * Currently uses a simple first-available strategy, but can be enhanced with:
+     * Reserves capacity on the best-ranked partner that has room. Capacity is checked on the
+     * loaded rows first, so normally only the chosen partner is locked. If a concurrent
+     * assignment filled it in the meantime, the remaining candidates are locked in id order
+     * (as {@link PartnerCapacityService} requires) and the best one still with room is taken.
+     */
+    private DeliveryPartner reserveBest(List<DeliveryPartner> ranked) {
+        List<DeliveryPartner> candidates = ranked.stream().filter(partnerCapacityService::hasSpareCapacity).toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (partnerCapacityService.tryReserve(candidates.get(0))) {
+            return candidates.get(0);
+        }
+
+        List<DeliveryPartner> remaining = candidates.subList(1, candidates.size());
+        partnerCapacityService.lockInIdOrder(remaining);
+        for (DeliveryPartner partner : remaining) {
+            if (partnerCapacityService.tryReserve(partner)) {
+                return partner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the nearest available partners in the spatial index and returns those the
+     * database still reports as AVAILABLE, nearest first. Empty when the order has no
+     * pickup coordinates or no indexed candidate is usable.
+     */
+    private List<DeliveryPartner> findIndexedCandidates(Order order) {
+        if (!spatialIndex.isEnabled() || !hasPickupLocation(order)) {
+            return List.of();
+        }
+
+        List<PartnerSpatialIndex.Candidate> candidates = spatialIndex.nearest(
+                order.getCity(), order.getPickupLatitude(), order.getPickupLongitude(), spatialCandidates);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, DeliveryPartner> partners = deliveryPartnerRepository
+                .findAllById(candidates.stream().map(PartnerSpatialIndex.Candidate::partnerId).toList())
+                .stream()
+                .collect(Collectors.toMap(DeliveryPartner::getId, Function.identity()));
+
+        List<DeliveryPartner> available = new ArrayList<>(candidates.size());
+        for (PartnerSpatialIndex.Candidate candidate : candidates) {
+            DeliveryPartner partner = partners.get(candidate.partnerId());
+            if (partner != null && partner.getStatus() == PartnerStatus.AVAILABLE) {
+                available.add(partner);
+            } else {
+                // Stale entry (status changed without reaching the index yet)
+                spatialIndex.remove(candidate.partnerId());
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Shortlists the partners nearest to the pickup (so only their pending pickups are
+     * loaded) and ranks them. Idle partners beyond the shortlist follow by distance, so
+     * the order is still assigned when every shortlisted partner is full or their bundle
+     * detour is too long.
+     */
+    private List<DeliveryPartner> rankPartners(Order order, List<DeliveryPartner> partners) {
+        if (partners.isEmpty() || !hasPickupLocation(order)) {
+            return rankPartners(order, partners, Map.of());
+        }
+        List<DeliveryPartner> byDistance = partners.stream().sorted(byDistanceTo(order)).toList();
+        List<DeliveryPartner> shortlist = byDistance.subList(0, Math.min(byDistance.size(), spatialCandidates));
+
+        List<Long> loaded = shortlist.stream()
+                .filter(p -> p.getActiveOrders() > 0)
+                .map(DeliveryPartner::getId)
+                .toList();
+        Map<Long, PendingRoute> routes = new HashMap<>();
+        if (!loaded.isEmpty()) {
+            for (Object[] row : orderRepository.findPickupsByPartnerIds(loaded, OrderStatus.ASSIGNED)) {
+                if (row[1] != null && row[2] != null) {
+                    routes.computeIfAbsent((Long) row[0], id -> new PendingRoute())
+                            .add((Double) row[1], (Double) row[2]);
+                }
+            }
+        }
+        List<DeliveryPartner> ranked = rankPartners(order, shortlist, routes);
+        if (shortlist.size() == byDistance.size()) {
+            return ranked;
+        }
+
+        // An idle partner's cost is its distance, which byDistance is already sorted by
+        List<DeliveryPartner> extended = new ArrayList<>(ranked);
+        byDistance.subList(shortlist.size(), byDistance.size()).stream()
+                .filter(p -> p.getActiveOrders() == 0)
+                .forEach(extended::add);
+        return extended;
+    }
+
+    /**
+     * Orders partners for assignment, best first. With pickup coordinates each partner is
+     * scored by how much the new pickup lengthens their route (current position, then
+     * pending pickups in assignment order): an idle partner costs the distance to the
+     * pickup, a loaded one the detour of the cheapest insertion. Bundles whose detour
+     * exceeds max-detour-km do not fit and are left out; partners with no known position
+     * and no pending pickups come last. Without coordinates, the longest-registered
+     * (lowest id) partner comes first.
+     * Can be enhanced with:
      * - Least orders today
      * - Rating/performance score
-     * - Distance-based selection (if coordinates available)
      * - Partner preferences
      */
-    private DeliveryPartner selectBestPartner(List<DeliveryPartner> partners) {
-        // Currently using simple first-available strategy
-        // Can be enhanced with more sophisticated algorithms
-
-        // Sort by ID (oldest partner first - they've been waiting longest)
-        return partners.stream()
-                .min((p1, p2) -> p1.getId().compareTo(p2.getId()))
-                .orElse(partners.get(0));
+    List<DeliveryPartner> rankPartners(Order order, List<DeliveryPartner> partners, Map<Long, PendingRoute> routes) {
+        if (!hasPickupLocation(order)) {
+            return partners.stream().sorted(Comparator.comparing(DeliveryPartner::getId)).toList();
+        }
+
+        double latitude = order.getPickupLatitude();
+        double longitude = order.getPickupLongitude();
+        List<ScoredPartner> scored = new ArrayList<>(partners.size());
+        for (DeliveryPartner partner : partners) {
+            double cost = insertionCost(partner, routes.get(partner.getId()), latitude, longitude);
+            if (!Double.isNaN(cost)) {
+                scored.add(new ScoredPartner(partner, cost));
+            }
+        }
+        scored.sort(Comparator.comparingDouble(ScoredPartner::costKm)
+                .thenComparing(s -> s.partner().getId()));
+        return scored.stream().map(ScoredPartner::partner).toList();
+    }
+
+    /**
+     * Extra route length for serving the pickup, {@code Double.MAX_VALUE} when it cannot be
+     * estimated, or NaN when the partner has a bundle and the detour is too long.
+     */
+    private double insertionCost(DeliveryPartner partner, PendingRoute route, double latitude, double longitude) {
+        boolean located = partner.getLatitude() != null && partner.getLongitude() != null;
+        if (route == null || route.size == 0) {
+            return located
+                    ? PartnerSpatialIndex.distanceKm(partner.getLatitude(), partner.getLongitude(), latitude, longitude)
+                    : Double.MAX_VALUE;
+        }
+        double startLat = located ? partner.getLatitude() : route.lats[0];
+        double startLng = located ? partner.getLongitude() : route.lngs[0];
+        double detour = RouteInsertion.cheapest(startLat, startLng, route.lats, route.lngs, route.size, 0,
+                latitude, longitude).detourKm();
+        return detour <= maxDetourKm ? detour : Double.NaN;
+    }
+
+    private Comparator<DeliveryPartner> byDistanceTo(Order order) {
+        return Comparator.comparingDouble((DeliveryPartner p) -> p.getLatitude() == null || p.getLongitude() == null
+                        ? Double.MAX_VALUE
+                        : PartnerSpatialIndex.distanceKm(order.getPickupLatitude(), order.getPickupLongitude(),
+                                p.getLatitude(), p.getLongitude()))
+                .thenComparing(DeliveryPartner::getId);
+    }
+
+    private boolean hasPickupLocation(Order order) {
+        return order.getPickupLatitude() != null && order.getPickupLongitude() != null;
+    }
+
+    private record ScoredPartner(DeliveryPartner partner, double costKm) {
+    }
+
+    /**
+     * Pickup points a partner has been assigned but not yet collected.
+     */
+    static final class PendingRoute {
+
+        double[] lats = new double[4];
+        double[] lngs = new double[4];
+        int size;
+
+        void add(double latitude, double longitude) {
+            if (size == lats.length) {
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            lats[size] = latitude;
+            lngs[size] = longitude;
+            size++;
+        }
+    }
+
+    private void countAssignment(Order order, String outcome) {
+        meterRegistry.counter("orders.assignment",
+                "outcome", outcome,
+                "city", cityTagLimiter.tag(order.getCity())).increment();
     }
 
     /**
@@ -0,0 +1,624 @@
+package com.logistics.ordermanagement.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.logistics.ordermanagement.entity.OrderAuditLog;
+import com.logistics.ordermanagement.enums.AuditAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.repository.OrderAuditLogRepository;
+import com.logistics.ordermanagement.shard.ShardDirectory;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier for order audit logs.
+ * The hot order_audit_events table is treated as monthly partitions on created_at.
+ * Months older than the retention window are moved into one gzip-compressed
+ * JSON-lines file per month, grouped by order and cut into gzip members of whole orders,
+ * with a sidecar index of the order ids it contains and where each member starts. A lookup
+ * decompresses only the member holding the order. Month files written before the member
+ * offsets were indexed are read whole.
+ * Sharded, each shard other than the default is archived into a subdirectory named after it.
+ * Files archived from the old free-text order_audit_logs table keep their name and format;
+ * they are still read whole, converted into compact entries.
+ * <p>
+ * Archived months exist only in the archive directory, so every node must see the same one.
+ * Startup fails on a node whose directory does not carry the marker of the store registered
+ * in the shard's database (audit_archive_store), e.g. a node-local disk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditArchiveService {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String FILE_PREFIX = "order_audit_events-";
+    private static final String LEGACY_FILE_PREFIX = "order_audit_logs-";
+    private static final String DATA_SUFFIX = ".jsonl.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String STORE_MARKER = ".archive-store";
+
+    // Uncompressed size after which the next order starts a new gzip member
+    private static final int BLOCK_CHARS = 16 * 1024;
+
+    // Order of the history index, which archived months are written in
+    private static final Comparator<OrderAuditLog> ARCHIVE_ORDER = Comparator
+            .comparing(OrderAuditLog::getOrderId)
+            .thenComparing(OrderAuditLog::getCreatedAt)
+            .thenComparing(OrderAuditLog::getId);
+
+    private final OrderAuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final ShardDirectory shardDirectory;
+    private final ShardExecutor shardExecutor;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.archive.directory:./data/audit-archive}")
+    private String directory;
+
+    @Value("${audit.archive.retention-months:6}")
+    private int retentionMonths;
+
+    @Value("${audit.archive.batch-size:1000}")
+    private int batchSize;
+
+    // Shard -> archived month -> index of that month's file
+    private final Map<String, Map<YearMonth, MonthIndex>> monthIndexes = new ConcurrentHashMap<>();
+    // Same, for the read-only files archived from order_audit_logs
+    private final Map<String, Map<YearMonth, MonthIndex>> legacyMonthIndexes = new ConcurrentHashMap<>();
+
+    private ObjectReader entryReader;
+    private ObjectReader legacyEntryReader;
+    private ObjectWriter entryWriter;
+
+    @PostConstruct
+    void init() throws IOException {
+        entryReader = objectMapper.readerFor(OrderAuditLog.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        entryWriter = objectMapper.writerFor(OrderAuditLog.class);
+        legacyEntryReader = objectMapper.readerFor(LegacyAuditEntry.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        for (String shard : shardDirectory.getShardNames()) {
+            Path dir = archiveDir(shard);
+            Files.createDirectories(dir);
+            verifyArchiveStore(shard, dir);
+            Map<YearMonth, MonthIndex> monthIndex = loadMonthIndex(dir, FILE_PREFIX);
+            Map<YearMonth, MonthIndex> legacyMonthIndex = loadMonthIndex(dir, LEGACY_FILE_PREFIX);
+            monthIndexes.put(shard, monthIndex);
+            legacyMonthIndexes.put(shard, legacyMonthIndex);
+            log.info("Loaded audit archive index for {} month(s) ({} from order_audit_logs) from {}",
+                    monthIndex.size() + legacyMonthIndex.size(), legacyMonthIndex.size(), dir.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Checks that the directory is the archive store of the shard's database. The first node
+     * to start registers the marker found in (or written to) its directory; every node after
+     * it must find the same marker, or it would miss months archived by the others.
+     */
+    private void verifyArchiveStore(String shard, Path dir) throws IOException {
+        Path markerFile = dir.resolve(STORE_MARKER);
+        String registered = shardExecutor.inTransaction(shard, true, this::findRegisteredStore);
+        String marker;
+        if (registered == null) {
+            marker = readOrCreateMarker(markerFile);
+            try {
+                shardExecutor.inTransaction(shard, false, () -> jdbcTemplate.update(
+                        "INSERT INTO audit_archive_store (id, store_id, created_at) VALUES (1, ?, ?)",
+                        marker, Timestamp.valueOf(LocalDateTime.now())));
+                registered = marker;
+            } catch (DataIntegrityViolationException e) {
+                // Another node registered its store first
+                registered = shardExecutor.inTransaction(shard, true, this::findRegisteredStore);
+            }
+        } else {
+            marker = Files.exists(markerFile) ? Files.readString(markerFile).trim() : null;
+        }
+        if (!registered.equals(marker)) {
+            throw new IllegalStateException(String.format("Audit archive directory %s is not the archive store of "
+                    + "shard %s: the database expects store %s, the directory has %s. Every node must mount the "
+                    + "same audit.archive.directory; if the archived months are really lost, delete the "
+                    + "audit_archive_store row to start a new store", dir.toAbsolutePath(), shard, registered,
+                    marker != null ? marker : "no " + STORE_MARKER + " file"));
+        }
+    }
+
+    private String findRegisteredStore() {
+        List<String> stores = jdbcTemplate.queryForList(
+                "SELECT store_id FROM audit_archive_store WHERE id = 1", String.class);
+        return stores.isEmpty() ? null : stores.get(0);
+    }
+
+    private static String readOrCreateMarker(Path markerFile) throws IOException {
+        try {
+            Files.writeString(markerFile, UUID.randomUUID().toString(), StandardOpenOption.CREATE_NEW);
+        } catch (FileAlreadyExistsException e) {
+            // Written by an earlier start or by another node sharing the directory
+        }
+        return Files.readString(markerFile).trim();
+    }
+
+    private Map<YearMonth, MonthIndex> loadMonthIndex(Path dir, String prefix) throws IOException {
+        Map<YearMonth, MonthIndex> monthIndex = new ConcurrentSkipListMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*" + INDEX_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                YearMonth month = YearMonth.parse(
+                        name.substring(prefix.length(), name.length() - INDEX_SUFFIX.length()), MONTH_FORMAT);
+                monthIndex.put(month, readIndex(file));
+            }
+        }
+        return monthIndex;
+    }
+
+    /**
+     * Moves every month older than the retention window out of the hot table.
+     */
+    @Scheduled(cron = "${audit.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredMonths() {
+        if (!enabled) {
+            return;
+        }
+        shardExecutor.forEachShard(this::archiveExpiredMonths);
+    }
+
+    private void archiveExpiredMonths(String shard) {
+        LocalDateTime oldest = auditLogRepository.findOldestCreatedAt();
+        if (oldest == null) {
+            return;
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            try {
+                archiveMonth(shard, month);
+            } catch (IOException e) {
+                log.error("Failed to archive audit logs of shard {} for {}: {}", shard, month, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns archived audit entries for an order, or an empty list if none of the
+     * archived months reference it.
+     */
+    public List<OrderAuditLog> findArchivedEntries(Long orderId) {
+        List<OrderAuditLog> entries = new ArrayList<>();
+        String shard = shardDirectory.shardForId(orderId);
+        for (Map.Entry<YearMonth, MonthIndex> month : legacyMonthIndexes.get(shard).entrySet()) {
+            if (month.getValue().contains(orderId)) {
+                readEntries(dataFile(shard, LEGACY_FILE_PREFIX, month.getKey()), orderId, entries,
+                        line -> legacyEntryReader.<LegacyAuditEntry>readValue(line).toEntry());
+            }
+        }
+        for (Map.Entry<YearMonth, MonthIndex> month : monthIndexes.get(shard).entrySet()) {
+            MonthIndex index = month.getValue();
+            if (index.contains(orderId)) {
+                long offset = index.blockOffset(orderId);
+                Path file = dataFile(shard, month.getKey());
+                if (offset >= 0) {
+                    readBlock(file, offset, orderId, entries);
+                } else {
+                    readEntries(file, orderId, entries, entryReader::readValue);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the order's entries from the gzip member starting at {@code offset}; entries are
+     * grouped by ascending order id, so reading stops at the first entry past the order.
+     */
+    private void readBlock(Path file, long offset, long orderId, List<OrderAuditLog> entries) {
+        try (FileChannel channel = FileChannel.open(file);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Channels.newInputStream(channel.position(offset))),
+                        StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                OrderAuditLog entry = entryReader.readValue(line);
+                if (entry.getOrderId() > orderId) {
+                    break;
+                }
+                if (entry.getOrderId() == orderId) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive " + file.getFileName(), e);
+        }
+    }
+
+    private void readEntries(Path file, Long orderId, List<OrderAuditLog> entries, LineParser parser) {
+        try (BufferedReader reader = openReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                OrderAuditLog entry = parser.parse(line);
+                if (orderId.equals(entry.getOrderId())) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Writes the month's hot rows in history index order, as gzip members of whole orders,
+     * then deletes them from the hot table. A file left by an earlier run that stopped before
+     * its delete is merged in; entries re-read from the hot table replace their copies.
+     */
+    private void archiveMonth(String shard, YearMonth month) throws IOException {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path dataFile = dataFile(shard, month);
+        Path tmpFile = dataFile.resolveSibling(dataFile.getFileName() + TMP_SUFFIX);
+
+        // Usually empty, since that run's entries are all still in the hot table
+        List<OrderAuditLog> carriedOver = Files.exists(dataFile) ? readAll(dataFile) : new ArrayList<>();
+        carriedOver.sort(ARCHIVE_ORDER);
+        int carried = 0;
+        int archived = 0;
+
+        BlockWriter writer = new BlockWriter(tmpFile);
+        try (writer) {
+            long afterOrderId = -1;
+            LocalDateTime afterCreatedAt = from;
+            long afterId = -1;
+            List<OrderAuditLog> batch;
+            do {
+                batch = auditLogRepository.findArchiveBatchByOrder(from, to, afterOrderId, afterCreatedAt, afterId,
+                        batchSize);
+                for (OrderAuditLog entry : batch) {
+                    while (carried < carriedOver.size()) {
+                        int order = ARCHIVE_ORDER.compare(carriedOver.get(carried), entry);
+                        if (order > 0) {
+                            break;
+                        }
+                        if (order < 0) {
+                            writer.write(carriedOver.get(carried));
+                        }
+                        carried++;
+                    }
+                    writer.write(entry);
+                    archived++;
+                    afterOrderId = entry.getOrderId();
+                    afterCreatedAt = entry.getCreatedAt();
+                    afterId = entry.getId();
+                }
+            } while (batch.size() == batchSize);
+            while (carried < carriedOver.size()) {
+                writer.write(carriedOver.get(carried++));
+            }
+        }
+
+        if (archived == 0) {
+            Files.deleteIfExists(tmpFile);
+            return;
+        }
+
+        // The previous index of this month, if any, points into the file being replaced; its
+        // entries are still in the hot table until the delete below
+        monthIndexes.get(shard).remove(month);
+        MonthIndex index = writer.index();
+        Files.move(tmpFile, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeIndex(indexFile(shard, month), index);
+        monthIndexes.get(shard).put(month, index);
+
+        int deleted = auditLogRepository.deleteByCreatedAtRange(from, to);
+        log.info("Archived {} audit log(s) for {} into {} ({} block(s))", deleted, month, dataFile.getFileName(),
+                index.blockOffsets().length);
+    }
+
+    private List<OrderAuditLog> readAll(Path file) throws IOException {
+        List<OrderAuditLog> entries = new ArrayList<>();
+        try (BufferedReader reader = openReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                entries.add(entryReader.readValue(line));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Index file: the order ids, then the first order id and byte offset of each gzip member.
+     * Files written before member offsets were recorded end after the order ids.
+     */
+    private MonthIndex readIndex(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long[] orderIds = readLongs(in, in.readInt());
+            int blocks;
+            try {
+                blocks = in.readInt();
+            } catch (EOFException e) {
+                return new MonthIndex(orderIds, new long[0], new long[0]);
+            }
+            return new MonthIndex(orderIds, readLongs(in, blocks), readLongs(in, blocks));
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private void writeIndex(Path file, MonthIndex index) throws IOException {
+        Path tmpFile = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(index.orderIds().length);
+            writeLongs(out, index.orderIds());
+            out.writeInt(index.blockOffsets().length);
+            writeLongs(out, index.blockOrderIds());
+            writeLongs(out, index.blockOffsets());
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private BufferedReader openReader(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8));
+    }
+
+    private Path archiveDir(String shard) {
+        Path base = Paths.get(directory);
+        return shard.equals(shardDirectory.getDefaultShard()) ? base : base.resolve(shard);
+    }
+
+    private Path dataFile(String shard, YearMonth month) {
+        return dataFile(shard, FILE_PREFIX, month);
+    }
+
+    private Path dataFile(String shard, String prefix, YearMonth month) {
+        return archiveDir(shard).resolve(prefix + month.format(MONTH_FORMAT) + DATA_SUFFIX);
+    }
+
+    private Path indexFile(String shard, YearMonth month) {
+        return archiveDir(shard).resolve(FILE_PREFIX + month.format(MONTH_FORMAT) + INDEX_SUFFIX);
+    }
+
+    private interface LineParser {
+        OrderAuditLog parse(String line) throws IOException;
+    }
+
+    /**
+     * An entry archived from the free-text order_audit_logs table, mapped back to the
+     * codes, names and texts its messages were written from.
+     */
+    record LegacyAuditEntry(Long id, Long orderId, String action, String oldValue, String newValue,
+            String performedBy, String notes, LocalDateTime createdAt) {
+
+        private static final Pattern CREATED_FOR = Pattern.compile("^Order created for (.*)$");
+        private static final Pattern DELIVERY_TO = Pattern.compile("for delivery to (.*)$");
+        private static final Pattern PARTNER_NAME = Pattern.compile("^Delivery partner '(.*)' assigned to order$");
+        private static final Pattern REASON = Pattern.compile("Reason: (.*)$");
+
+        OrderAuditLog toEntry() {
+            AuditAction auditAction = AuditAction.valueOf(action);
+            OrderAuditLog.OrderAuditLogBuilder entry = OrderAuditLog.builder()
+                    .id(id)
+                    .orderId(orderId)
+                    .action(auditAction)
+                    .performedBy(performedBy)
+                    .createdAt(createdAt);
+            switch (auditAction) {
+                case CREATED -> entry
+                        .newStatus(OrderStatus.PLACED)
+                        .subject(group(CREATED_FOR, newValue))
+                        .payload(group(DELIVERY_TO, notes));
+                case PARTNER_ASSIGNED -> entry
+                        .partnerId(newValue != null ? Long.valueOf(newValue) : null)
+                        .subject(group(PARTNER_NAME, notes));
+                case STATUS_CHANGED, CANCELLED -> entry
+                        .oldStatus(status(oldValue))
+                        .newStatus(status(newValue))
+                        .payload(auditAction == AuditAction.CANCELLED ? group(REASON, notes) : null);
+                case SLA_BREACHED -> entry.payload(notes);
+            }
+            return entry.build();
+        }
+
+        private static OrderStatus status(String value) {
+            return value != null ? OrderStatus.valueOf(value) : null;
+        }
+
+        private static String group(Pattern pattern, String text) {
+            if (text == null) {
+                return null;
+            }
+            Matcher matcher = pattern.matcher(text);
+            return matcher.find() ? matcher.group(1) : null;
+        }
+    }
+
+    /**
+     * One month file's index: the sorted distinct order ids it holds and, for files written
+     * as gzip members, the first order id and byte offset of each member (empty otherwise).
+     */
+    private record MonthIndex(long[] orderIds, long[] blockOrderIds, long[] blockOffsets) {
+
+        boolean contains(long orderId) {
+            return Arrays.binarySearch(orderIds, orderId) >= 0;
+        }
+
+        /**
+         * Offset of the member holding the order, or -1 if the file must be read whole.
+         */
+        long blockOffset(long orderId) {
+            if (blockOffsets.length == 0) {
+                return -1;
+            }
+            int block = Arrays.binarySearch(blockOrderIds, orderId);
+            return blockOffsets[block >= 0 ? block : Math.max(0, -block - 2)];
+        }
+    }
+
+    /**
+     * Writes entries arriving in {@link #ARCHIVE_ORDER} as consecutive gzip members, starting
+     * a new member at the first order boundary past {@link #BLOCK_CHARS}.
+     */
+    private final class BlockWriter implements Closeable {
+
+        private final CountingOutputStream out;
+        private final LongList orderIds = new LongList();
+        private final LongList blockOrderIds = new LongList();
+        private final LongList blockOffsets = new LongList();
+        private GZIPOutputStream gzip;
+        private Writer writer;
+        private long blockChars;
+        private long lastOrderId = -1;
+
+        BlockWriter(Path file) throws IOException {
+            out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        void write(OrderAuditLog entry) throws IOException {
+            long orderId = entry.getOrderId();
+            if (orderId != lastOrderId) {
+                if (writer == null || blockChars >= BLOCK_CHARS) {
+                    finishBlock();
+                    blockOrderIds.add(orderId);
+                    blockOffsets.add(out.count);
+                    gzip = new GZIPOutputStream(out);
+                    writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                    blockChars = 0;
+                }
+                orderIds.add(orderId);
+                lastOrderId = orderId;
+            }
+            String line = entryWriter.writeValueAsString(entry);
+            writer.write(line);
+            writer.write('\n');
+            blockChars += line.length() + 1;
+        }
+
+        MonthIndex index() {
+            return new MonthIndex(orderIds.toArray(), blockOrderIds.toArray(), blockOffsets.toArray());
+        }
+
+        // Ends the member without closing the file underneath it
+        private void finishBlock() throws IOException {
+            if (writer != null) {
+                writer.flush();
+                gzip.finish();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finishBlock();
+            out.close();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Growable primitive long buffer, avoids boxing a month's worth of ids.
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
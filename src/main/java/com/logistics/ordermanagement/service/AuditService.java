@@ -1,72 +1,115 @@
 package com.logistics.ordermanagement.service;
 
+import com.logistics.ordermanagement.dto.response.CursorPagedResponse;
 import com.logistics.ordermanagement.dto.response.OrderAuditLogResponse;
 import com.logistics.ordermanagement.entity.Order;
 import com.logistics.ordermanagement.entity.OrderAuditLog;
+import com.logistics.ordermanagement.enums.AuditAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.exception.BadRequestException;
+import com.logistics.ordermanagement.exception.ResourceNotFoundException;
+import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
 import com.logistics.ordermanagement.repository.OrderAuditLogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
+    private static final Comparator<OrderAuditLog> HISTORY_ORDER = Comparator
+            .comparing(OrderAuditLog::getCreatedAt)
+            .thenComparing(OrderAuditLog::getId)
+            .reversed();
+
     private final OrderAuditLogRepository auditLogRepository;
+    private final AuditArchiveService auditArchiveService;
+    private final DeliveryPartnerRepository deliveryPartnerRepository;
+    private final MeterRegistry meterRegistry;
 
     @Transactional
     public void logOrderCreated(Order order) {
         OrderAuditLog auditLog = OrderAuditLog.builder()
                 .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .action("CREATED")
-                .fieldName("order")
-                .newValue("Order created for " + order.getCustomerName())
+                .action(AuditAction.CREATED)
+                .newStatus(order.getStatus())
+                .subject(order.getCustomerName())
+                .payload(order.getCity())
                 .performedBy(getCurrentUser())
-                .notes("New order placed for delivery to " + order.getCity())
                 .build();
 
         auditLogRepository.save(auditLog);
+        countWrites(auditLog.getAction(), 1);
         log.info("Audit log created for order: {}", order.getOrderNumber());
     }
 
     @Transactional
-    public void logStatusChange(Order order, String oldStatus, String newStatus) {
+    public void logStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
         OrderAuditLog auditLog = OrderAuditLog.builder()
                 .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .action("STATUS_CHANGED")
-                .fieldName("status")
-                .oldValue(oldStatus)
-                .newValue(newStatus)
+                .action(AuditAction.STATUS_CHANGED)
+                .oldStatus(oldStatus)
+                .newStatus(newStatus)
                 .performedBy(getCurrentUser())
-                .notes("Order status changed from " + oldStatus + " to " + newStatus)
                 .build();
 
         auditLogRepository.save(auditLog);
+        countWrites(auditLog.getAction(), 1);
         log.info("Status change logged for order: {} ({} -> {})", order.getOrderNumber(), oldStatus, newStatus);
     }
 
+    /**
+     * Logs a batch of status changes with a single saveAll, flushed as JDBC batches.
+     */
+    @Transactional
+    public void logStatusChanges(List<OrderStatusChange> changes) {
+        String performedBy = getCurrentUser();
+        List<OrderAuditLog> auditLogs = changes.stream()
+                .map(change -> OrderAuditLog.builder()
+                        .orderId(change.order().getId())
+                        .action(AuditAction.STATUS_CHANGED)
+                        .oldStatus(change.oldStatus())
+                        .newStatus(change.newStatus())
+                        .performedBy(performedBy)
+                        .build())
+                .toList();
+
+        auditLogRepository.saveAll(auditLogs);
+        countWrites(AuditAction.STATUS_CHANGED, auditLogs.size());
+        log.info("Logged {} status change(s) in bulk", auditLogs.size());
+    }
+
     @Transactional
     public void logPartnerAssigned(Order order, String partnerName, Long partnerId) {
         OrderAuditLog auditLog = OrderAuditLog.builder()
                 .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .action("PARTNER_ASSIGNED")
-                .fieldName("deliveryPartnerId")
-                .oldValue(null)
-                .newValue(partnerId.toString())
+                .action(AuditAction.PARTNER_ASSIGNED)
+                .partnerId(partnerId)
+                .subject(partnerName)
                 .performedBy(getCurrentUser())
-                .notes("Delivery partner '" + partnerName + "' assigned to order")
                 .build();
 
         auditLogRepository.save(auditLog);
+        countWrites(auditLog.getAction(), 1);
         log.info("Partner assignment logged for order: {} (Partner: {})", order.getOrderNumber(), partnerName);
     }
 
@@ -74,39 +117,213 @@ public class AuditService {
     public void logOrderCancelled(Order order, String reason) {
         OrderAuditLog auditLog = OrderAuditLog.builder()
                 .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .action("CANCELLED")
-                .fieldName("status")
-                .oldValue(order.getStatus().name())
-                .newValue("CANCELLED")
+                .action(AuditAction.CANCELLED)
+                .oldStatus(order.getStatus())
+                .newStatus(OrderStatus.CANCELLED)
                 .performedBy(getCurrentUser())
-                .notes("Order cancelled. Reason: " + reason)
+                .payload(reason)
                 .build();
 
         auditLogRepository.save(auditLog);
+        countWrites(auditLog.getAction(), 1);
         log.info("Cancellation logged for order: {} (Reason: {})", order.getOrderNumber(), reason);
     }
 
-    public List<OrderAuditLogResponse> getOrderHistory(Long orderId) {
-        List<OrderAuditLog> logs = auditLogRepository.findByOrderIdOrderByCreatedAtDesc(orderId);
-        return logs.stream()
-                .map(this::mapToResponse)
-                .toList();
+    @Transactional
+    public void logSlaBreached(Order order, String reason) {
+        OrderAuditLog auditLog = OrderAuditLog.builder()
+                .orderId(order.getId())
+                .action(AuditAction.SLA_BREACHED)
+                .oldStatus(order.getStatus())
+                .performedBy(getCurrentUser())
+                .payload(reason)
+                .build();
+
+        auditLogRepository.save(auditLog);
+        countWrites(auditLog.getAction(), 1);
+        log.info("SLA breach logged for order: {} ({})", order.getOrderNumber(), reason);
     }
 
-    private OrderAuditLogResponse mapToResponse(OrderAuditLog log) {
-        return OrderAuditLogResponse.builder()
+    /**
+     * Returns one page of an order's audit trail, newest first. The order lookup and
+     * the page are answered by a single query; the archive is only consulted once the
+     * hot table has no further entries for the page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderAuditLogResponse> getOrderHistory(Long orderId, String cursor, int size) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Object[]> rows = after == null
+                ? auditLogRepository.findHistoryByOrderId(orderId, limit)
+                : auditLogRepository.findHistoryByOrderIdAfter(orderId, after.createdAt(), after.id(), limit);
+
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Order", "id", orderId);
+        }
+        return toHistoryPage(rows, after, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderAuditLogResponse> getOrderHistoryByOrderNumber(String orderNumber,
+            String cursor, int size) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Object[]> rows = after == null
+                ? auditLogRepository.findHistoryByOrderNumber(orderNumber, limit)
+                : auditLogRepository.findHistoryByOrderNumberAfter(
+                        orderNumber, after.createdAt(), after.id(), limit);
+
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Order", "orderNumber", orderNumber);
+        }
+        return toHistoryPage(rows, after, size);
+    }
+
+    private CursorPagedResponse<OrderAuditLogResponse> toHistoryPage(List<Object[]> rows, HistoryCursor after,
+            int size) {
+        Object[] first = rows.get(0);
+        OrderContext order = new OrderContext((Long) first[0], (String) first[1], (String) first[2],
+                (String) first[3]);
+
+        List<OrderAuditLog> entries = new ArrayList<>(size + 1);
+        Map<Long, String> partnerNames = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[4] instanceof OrderAuditLog entry) {
+                entries.add(entry);
+                if (entry.getPartnerId() != null && row[5] != null) {
+                    partnerNames.put(entry.getPartnerId(), (String) row[5]);
+                }
+            }
+        }
+
+        // Hot table ran out before filling the page: continue into the archive
+        if (entries.size() <= size) {
+            Set<Long> hotIds = entries.stream().map(OrderAuditLog::getId).collect(Collectors.toSet());
+            List<OrderAuditLog> archived = auditArchiveService.findArchivedEntries(order.id()).stream()
+                    .filter(entry -> !hotIds.contains(entry.getId()))
+                    .filter(entry -> after == null || after.isAfter(entry))
+                    .toList();
+            if (!archived.isEmpty()) {
+                entries.addAll(archived);
+                entries.sort(HISTORY_ORDER);
+                resolvePartnerNames(archived, partnerNames);
+            }
+        }
+
+        boolean hasMore = entries.size() > size;
+        List<OrderAuditLog> page = hasMore ? entries.subList(0, size) : entries;
+        String nextCursor = hasMore ? HistoryCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return CursorPagedResponse.<OrderAuditLogResponse>builder()
+                .content(page.stream()
+                        .map(entry -> mapToResponse(entry, order, partnerNames.get(entry.getPartnerId())))
+                        .toList())
+                .size(page.size())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void resolvePartnerNames(List<OrderAuditLog> entries, Map<Long, String> partnerNames) {
+        Set<Long> missing = entries.stream()
+                .filter(entry -> entry.getSubject() == null)
+                .map(OrderAuditLog::getPartnerId)
+                .filter(partnerId -> partnerId != null && !partnerNames.containsKey(partnerId))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            deliveryPartnerRepository.findAllById(missing)
+                    .forEach(partner -> partnerNames.put(partner.getId(), partner.getName()));
+        }
+    }
+
+    /**
+     * Renders the stored codes back into the field/value/notes form clients see. Names and
+     * the city come from the event; events written before they were stored fall back to the
+     * current order and partner.
+     */
+    private OrderAuditLogResponse mapToResponse(OrderAuditLog log, OrderContext order, String partnerName) {
+        OrderAuditLogResponse.OrderAuditLogResponseBuilder response = OrderAuditLogResponse.builder()
                 .id(log.getId())
                 .orderId(log.getOrderId())
-                .orderNumber(log.getOrderNumber())
-                .action(log.getAction())
-                .fieldName(log.getFieldName())
-                .oldValue(log.getOldValue())
-                .newValue(log.getNewValue())
+                .orderNumber(order.orderNumber())
+                .action(log.getAction().name())
+                .fieldName(log.getAction().getFieldName())
                 .performedBy(log.getPerformedBy())
-                .notes(log.getNotes())
-                .createdAt(log.getCreatedAt())
-                .build();
+                .createdAt(log.getCreatedAt());
+
+        String oldStatus = log.getOldStatus() != null ? log.getOldStatus().name() : null;
+        String newStatus = log.getNewStatus() != null ? log.getNewStatus().name() : null;
+
+        switch (log.getAction()) {
+            case CREATED -> response
+                    .newValue("Order created for " + orElse(log.getSubject(), order.customerName()))
+                    .notes("New order placed for delivery to " + orElse(log.getPayload(), order.city()));
+            case STATUS_CHANGED -> response
+                    .oldValue(oldStatus)
+                    .newValue(newStatus)
+                    .notes("Order status changed from " + oldStatus + " to " + newStatus);
+            case PARTNER_ASSIGNED -> response
+                    .newValue(String.valueOf(log.getPartnerId()))
+                    .notes("Delivery partner '"
+                            + orElse(log.getSubject(), orElse(partnerName, "#" + log.getPartnerId()))
+                            + "' assigned to order");
+            case CANCELLED -> response
+                    .oldValue(oldStatus)
+                    .newValue(newStatus)
+                    .notes("Order cancelled. Reason: " + log.getPayload());
+            case SLA_BREACHED -> response
+                    .oldValue(oldStatus)
+                    .notes("SLA breached: " + log.getPayload());
+        }
+
+        return response.build();
+    }
+
+    private static String orElse(String stored, String fallback) {
+        return stored != null ? stored : fallback;
+    }
+
+    /**
+     * Order columns the audit messages are rendered from, read alongside the history page.
+     */
+    private record OrderContext(Long id, String orderNumber, String customerName, String city) {
+    }
+
+    /**
+     * Position of the last entry of a history page: (createdAt, id), descending.
+     */
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+
+        static HistoryCursor of(OrderAuditLog entry) {
+            return new HistoryCursor(entry.getCreatedAt(), entry.getId());
+        }
+
+        static HistoryCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 2);
+                return new HistoryCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid history cursor");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        boolean isAfter(OrderAuditLog entry) {
+            int cmp = entry.getCreatedAt().compareTo(createdAt);
+            return cmp < 0 || (cmp == 0 && entry.getId() < id);
+        }
+    }
+
+    private void countWrites(AuditAction action, int count) {
+        meterRegistry.counter("audit.writes", "action", action.name()).increment(count);
     }
 
     private String getCurrentUser() {
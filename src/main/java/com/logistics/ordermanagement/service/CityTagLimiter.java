@@ -0,0 +1,41 @@
+package com.logistics.ordermanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the number of distinct city tag values across domain metrics.
+ * The first {@code metrics.city-tag-limit} cities seen keep their own series;
+ * any city after that is reported as OTHER, so a bad import or free-text city
+ * cannot grow meter memory without limit.
+ */
+@Component
+public class CityTagLimiter {
+
+    public static final String OTHER = "OTHER";
+
+    private final int limit;
+    private final Set<String> cities = ConcurrentHashMap.newKeySet();
+
+    public CityTagLimiter(@Value("${metrics.city-tag-limit:50}") int limit) {
+        this.limit = limit;
+    }
+
+    public String tag(String city) {
+        if (city == null) {
+            return OTHER;
+        }
+        if (cities.contains(city)) {
+            return city;
+        }
+        // Benign race: the set may overshoot the limit by the number of concurrent callers
+        if (cities.size() < limit) {
+            cities.add(city);
+            return city;
+        }
+        return OTHER;
+    }
+}
@@ -1,17 +1,24 @@
 package com.logistics.ordermanagement.service;
 
 import com.logistics.ordermanagement.dto.request.CreateDeliveryPartnerRequest;
+import com.logistics.ordermanagement.dto.request.UpdatePartnerCapacityRequest;
 import com.logistics.ordermanagement.dto.request.UpdatePartnerStatusRequest;
 import com.logistics.ordermanagement.dto.response.DeliveryPartnerResponse;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
+import com.logistics.ordermanagement.dto.response.PartnerImportResponse;
+import com.logistics.ordermanagement.enums.PartnerImportFormat;
 import com.logistics.ordermanagement.enums.PartnerStatus;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface DeliveryPartnerService {
 
     DeliveryPartnerResponse createDeliveryPartner(CreateDeliveryPartnerRequest request);
 
+    PartnerImportResponse importDeliveryPartners(InputStream input, PartnerImportFormat format);
+
     DeliveryPartnerResponse getDeliveryPartnerById(Long id);
 
     PagedResponse<DeliveryPartnerResponse> getAllDeliveryPartners(int page, int size);
@@ -20,7 +27,15 @@ public interface DeliveryPartnerService {
 
     PagedResponse<DeliveryPartnerResponse> getDeliveryPartnersByStatus(PartnerStatus status, int page, int size);
 
+    PagedResponse<Map<String, Object>> getDeliveryPartnerFields(String fields, PartnerStatus status, int page,
+            int size);
+
+    PagedResponse<Map<String, Object>> getDeliveryPartnerFieldsByCity(String city, String fields, PartnerStatus status,
+            int page, int size);
+
     List<DeliveryPartnerResponse> getAvailablePartnersByCity(String city);
 
     DeliveryPartnerResponse updatePartnerStatus(Long id, UpdatePartnerStatusRequest request);
+
+    DeliveryPartnerResponse updatePartnerCapacity(Long id, UpdatePartnerCapacityRequest request);
 }
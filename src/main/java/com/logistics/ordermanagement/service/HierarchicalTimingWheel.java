@@ -0,0 +1,227 @@
+package com.logistics.ordermanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding timers at a fixed tick resolution.
+ * <p>
+ * Level 0 has one bucket per tick and each higher level has buckets {@code wheelSize}
+ * times wider. A timer is filed in the lowest level whose current revolution contains its
+ * deadline and moves down a level each time the clock enters its bucket, so scheduling
+ * and cancelling are O(1) and a tick only touches the buckets that come due. Deadlines
+ * beyond the top level's range wait in its buckets and are re-filed until they are in range.
+ * <p>
+ * The wheel does not read the clock: its owner calls {@link #advance} with the current
+ * time. Deadlines are rounded up to a whole tick, so a timer never fires early. All methods
+ * are thread-safe; expired payloads are returned rather than run, so no callback ever
+ * executes under the wheel's lock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final Bucket<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startMillis) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two, at least 2");
+        }
+        int bitsPerLevel = Integer.numberOfTrailingZeros(wheelSize);
+        if (levelCount < 1 || bitsPerLevel * levelCount > 62) {
+            throw new IllegalArgumentException("levelCount must be between 1 and " + 62 / bitsPerLevel);
+        }
+        this.tickMs = tickMs;
+        this.bits = bitsPerLevel;
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket<T>[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMillis / tickMs;
+    }
+
+    /**
+     * Schedules a payload to expire at the given epoch millis. Deadlines already passed
+     * expire on the next tick.
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMs), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineTick);
+        file(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock forward to the given epoch millis and returns the payloads that
+     * expired on the way, tick by tick. Time never moves backwards.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMs;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+
+            // Every level whose lower digits all wrapped to zero has just entered a new
+            // bucket; cascade those from the top down before expiring level 0
+            int top = 0;
+            while (top < levels.length - 1 && digit(currentTick, top) == 0) {
+                top++;
+            }
+            for (int level = top; level >= 1; level--) {
+                refile(levels[level][digit(currentTick, level)], expired);
+            }
+            refile(levels[0][digit(currentTick, 0)], expired);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void refile(Bucket<T> bucket, List<T> expired) {
+        Timeout<T> timeout = bucket.drain();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            if (timeout.deadlineTick <= currentTick) {
+                timeout.expired = true;
+                size--;
+                expired.add(timeout.payload);
+            } else {
+                file(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void file(Timeout<T> timeout) {
+        long deadline = timeout.deadlineTick;
+        int level = 0;
+        while (level < levels.length - 1
+                && (deadline >>> (bits * (level + 1))) != (currentTick >>> (bits * (level + 1)))) {
+            level++;
+        }
+        levels[level][digit(deadline, level)].add(timeout);
+    }
+
+    private int digit(long tick, int level) {
+        return (int) (tick >>> (bits * level)) & mask;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Handle to a scheduled payload.
+     */
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+
+        // Guarded by the wheel's lock
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean expired;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Removes the timer from the wheel. Returns false if it already expired or was
+         * cancelled before.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return expired;
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timers around a sentinel, so removal needs no search.
+     */
+    private static final class Bucket<T> {
+
+        private final Timeout<T> head = new Timeout<>(null, null, 0);
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Empties the bucket and returns its timers as a null-terminated chain.
+         */
+        Timeout<T> drain() {
+            if (head.next == head) {
+                return null;
+            }
+            Timeout<T> first = head.next;
+            head.prev.next = null;
+            for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.prev = null;
+            }
+            head.prev = head;
+            head.next = head;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.logistics.ordermanagement.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Records Idempotency-Key usage so retried write requests can be answered from the
+ * first attempt's response instead of being executed again.
+ */
+public interface IdempotencyStore {
+
+    enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    record IdempotencyRecord(String key, String fingerprint, Status status, StoredResponse response,
+            Instant expiresAt) {
+    }
+
+    /**
+     * Atomically claims {@code key} as IN_PROGRESS for {@code lockTimeout}.
+     * Returns empty if the caller now owns the key, or the live record that already holds it.
+     */
+    Optional<IdempotencyRecord> tryReserve(String key, String fingerprint, Duration lockTimeout);
+
+    /**
+     * Stores the final response for a reserved key and keeps it for {@code ttl}.
+     */
+    void complete(String key, StoredResponse response, Duration ttl);
+
+    /**
+     * Drops a reservation so the request can be retried (used for 5xx and failures).
+     */
+    void release(String key);
+
+    Optional<IdempotencyRecord> find(String key);
+}
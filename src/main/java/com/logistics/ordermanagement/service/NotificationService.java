@@ -1,23 +1,27 @@
 package com.logistics.ordermanagement.service;
 
+import com.logistics.ordermanagement.cluster.ClusterNotificationFanout;
 import com.logistics.ordermanagement.dto.response.OrderNotification;
 import com.logistics.ordermanagement.entity.Order;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * Service for sending real-time WebSocket notifications about order updates
+ * Service for sending real-time WebSocket notifications about order updates.
+ * Sends go through the cluster fan-out, which reaches sessions on every node.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterNotificationFanout fanout;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Broadcasts an order creation notification
@@ -55,6 +59,30 @@ public class NotificationService {
                 order.getOrderNumber(), oldStatus, newStatus);
     }
 
+    /**
+     * Broadcasts one coalesced notification for a batch of status changes
+     */
+    public void notifyBulkStatusChange(List<OrderStatusChange> changes) {
+        List<OrderNotification> updates = changes.stream()
+                .map(change -> OrderNotification.builder()
+                        .orderId(change.order().getId())
+                        .orderNumber(change.order().getOrderNumber())
+                        .oldStatus(change.oldStatus().name())
+                        .newStatus(change.newStatus().name())
+                        .build())
+                .toList();
+
+        OrderNotification notification = OrderNotification.builder()
+                .type("BULK_STATUS_CHANGED")
+                .message(updates.size() + " order(s) changed status")
+                .updates(updates)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        sendNotification(notification);
+        log.info("Sent BULK_STATUS_CHANGED notification for {} order(s)", updates.size());
+    }
+
     /**
      * Broadcasts a partner assignment notification
      */
@@ -95,7 +123,7 @@ public class NotificationService {
      * Sends a notification to the /topic/orders channel
      */
     private void sendNotification(OrderNotification notification) {
-        messagingTemplate.convertAndSend("/topic/orders", notification);
+        send(notification.getType(), () -> fanout.sendToTopic("/topic/orders", notification));
 
         // Also send to city-specific channel
         // messagingTemplate.convertAndSend("/topic/orders/" +
@@ -106,7 +134,23 @@ public class NotificationService {
      * Sends a notification to a specific user
      */
     public void sendToUser(String username, OrderNotification notification) {
-        messagingTemplate.convertAndSendToUser(username, "/queue/orders", notification);
+        send(notification.getType(),
+                () -> fanout.sendToUser(username, "/queue/orders", notification));
         log.info("Sent notification to user: {}", username);
     }
+
+    /**
+     * Counts the send by notification type; failures are counted and rethrown
+     * so callers see the same exception as before.
+     */
+    private void send(String type, Runnable sender) {
+        String tag = type != null ? type : "UNKNOWN";
+        try {
+            sender.run();
+            meterRegistry.counter("notifications.sent", "type", tag).increment();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("notifications.failed", "type", tag).increment();
+            throw e;
+        }
+    }
 }
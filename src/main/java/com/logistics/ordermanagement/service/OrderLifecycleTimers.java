@@ -0,0 +1,235 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.config.OrderLifecycleProperties;
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.enums.LifecycleAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.repository.OrderRepository;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timed rules on the order state machine ({@code order-lifecycle.rules}): auto-cancel
+ * orders left PLACED, retry their assignment, flag SLA breaches on PICKED.
+ * <p>
+ * Timers live in a {@link HierarchicalTimingWheel}. They are armed after each commit that
+ * moves an order into a status with rules, cancelled when it leaves the status, and rebuilt
+ * from the orders table at startup, taking updated_at as the time the order entered its
+ * status. Timers are per node: an order's timers live on the node that last changed it, and
+ * a restarted node re-arms every active order. Actions re-check the order under a row lock,
+ * so a timer firing on two nodes is harmless.
+ */
+@Slf4j
+@Component
+public class OrderLifecycleTimers {
+
+    private record Firing(long orderId, OrderStatus status, int ruleIndex) {
+    }
+
+    /**
+     * Timers of one order, one per rule of its status. Only replaced inside
+     * {@code armed.compute}, so per-order changes are serialized.
+     */
+    private record Armed(OrderStatus status, HierarchicalTimingWheel.Timeout<Firing>[] timeouts) {
+
+        void cancel() {
+            for (HierarchicalTimingWheel.Timeout<Firing> timeout : timeouts) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    private final OrderTimeoutService timeoutService;
+    private final OrderRepository orderRepository;
+    private final ShardExecutor shardExecutor;
+    private final boolean enabled;
+    private final long failureRetryMs;
+    private final Map<OrderStatus, List<OrderLifecycleProperties.Rule>> rulesByStatus =
+            new EnumMap<>(OrderStatus.class);
+    private final HierarchicalTimingWheel<Firing> wheel;
+    private final ConcurrentHashMap<Long, Armed> armed = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public OrderLifecycleTimers(OrderTimeoutService timeoutService,
+            OrderRepository orderRepository,
+            ShardExecutor shardExecutor,
+            OrderLifecycleProperties properties,
+            MeterRegistry meterRegistry) {
+        this.timeoutService = timeoutService;
+        this.orderRepository = orderRepository;
+        this.shardExecutor = shardExecutor;
+        this.meterRegistry = meterRegistry;
+
+        List<OrderLifecycleProperties.Rule> rules = properties.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            OrderLifecycleProperties.Rule rule = rules.get(i);
+            if (rule.getStatus() == null || rule.getAction() == null
+                    || rule.getAfter() == null || rule.getAfter().isNegative() || rule.getAfter().isZero()) {
+                throw new IllegalStateException("order-lifecycle.rules[" + i + "] needs a status, an action and a positive 'after'");
+            }
+            if (!rule.getAction().appliesTo(rule.getStatus())) {
+                throw new IllegalStateException("order-lifecycle.rules[" + i + "]: " + rule.getAction()
+                        + " is not a valid transition from " + rule.getStatus());
+            }
+            rulesByStatus.computeIfAbsent(rule.getStatus(), status -> new ArrayList<>()).add(rule);
+        }
+        this.enabled = properties.isEnabled() && !rulesByStatus.isEmpty();
+        this.failureRetryMs = properties.getFailureRetry().toMillis();
+
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTickMs(), properties.getWheelSize(),
+                properties.getLevels(), System.currentTimeMillis());
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getActionThreads());
+        executor.setThreadNamePrefix("order-lifecycle-");
+        executor.initialize();
+
+        Gauge.builder("orders.lifecycle.timers", wheel, HierarchicalTimingWheel::size)
+                .description("Lifecycle timers pending in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called for every JPA save of an order. Re-arms timers after commit, but only when
+     * the status differs from the one the order's timers were armed for.
+     */
+    public void onOrderSaved(Order order) {
+        if (!enabled || order.getId() == null) {
+            return;
+        }
+        long orderId = order.getId();
+        OrderStatus status = order.getStatus();
+        Armed current = armed.get(orderId);
+        if (current == null ? !rulesByStatus.containsKey(status) : current.status() == status) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> rearm(orderId, status, System.currentTimeMillis()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int count = 0;
+        List<Object[]> rows = new ArrayList<>();
+        shardExecutor.onAllShards(() -> orderRepository.findLifecycleStates(rulesByStatus.keySet()))
+                .forEach(rows::addAll);
+        for (Object[] row : rows) {
+            long orderId = (Long) row[0];
+            OrderStatus status = (OrderStatus) row[1];
+            LocalDateTime updatedAt = (LocalDateTime) row[2];
+            long enteredAt = updatedAt == null
+                    ? started
+                    : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            // Transitions committed since the query are newer than its rows
+            armed.computeIfAbsent(orderId, id -> arm(id, status, enteredAt));
+            count++;
+        }
+        log.info("Armed lifecycle timers for {} active order(s) in {} ms", count, System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedRateString = "${order-lifecycle.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        for (Firing firing : wheel.advance(System.currentTimeMillis())) {
+            executor.execute(() -> fire(firing));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void rearm(long orderId, OrderStatus status, long enteredAt) {
+        armed.compute(orderId, (id, current) -> {
+            if (current != null) {
+                if (current.status() == status) {
+                    return current;
+                }
+                current.cancel();
+            }
+            return rulesByStatus.containsKey(status) ? arm(id, status, enteredAt) : null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Armed arm(long orderId, OrderStatus status, long enteredAt) {
+        List<OrderLifecycleProperties.Rule> rules = rulesByStatus.get(status);
+        HierarchicalTimingWheel.Timeout<Firing>[] timeouts = new HierarchicalTimingWheel.Timeout[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            timeouts[i] = wheel.schedule(new Firing(orderId, status, i), enteredAt + rules.get(i).getAfter().toMillis());
+        }
+        return new Armed(status, timeouts);
+    }
+
+    private void fire(Firing firing) {
+        OrderLifecycleProperties.Rule rule = rulesByStatus.get(firing.status()).get(firing.ruleIndex());
+        OrderTimeoutService.Outcome outcome;
+        try {
+            outcome = timeoutService.apply(firing.orderId(), firing.status(), rule);
+        } catch (RuntimeException e) {
+            log.warn("Lifecycle action {} failed for order {}: {}", rule.getAction(), firing.orderId(), e.getMessage());
+            count(rule.getAction(), "failed");
+            // Retried whether or not the rule repeats, so e.g. a failed AUTO_CANCEL is not dropped
+            reschedule(firing, Math.min(rule.getAfter().toMillis(), failureRetryMs));
+            return;
+        }
+        count(rule.getAction(), outcome.name().toLowerCase());
+
+        if (outcome == OrderTimeoutService.Outcome.STALE) {
+            // Missed the transition (e.g. made on another node); stop tracking the order here
+            armed.computeIfPresent(firing.orderId(), (id, current) -> {
+                if (current.status() != firing.status()) {
+                    return current;
+                }
+                current.cancel();
+                return null;
+            });
+        } else if (outcome != OrderTimeoutService.Outcome.SKIPPED && rule.isRepeat()) {
+            reschedule(firing, rule.getAfter().toMillis());
+        }
+    }
+
+    /**
+     * Schedules the firing again after {@code delayMs}, unless the order left the status meanwhile.
+     */
+    private void reschedule(Firing firing, long delayMs) {
+        armed.computeIfPresent(firing.orderId(), (id, current) -> {
+            if (current.status() == firing.status()) {
+                current.timeouts()[firing.ruleIndex()] = wheel.schedule(firing, System.currentTimeMillis() + delayMs);
+            }
+            return current;
+        });
+    }
+
+    private void count(LifecycleAction action, String outcome) {
+        Counter.builder("orders.lifecycle.actions")
+                .description("Fired lifecycle timers, by action and outcome")
+                .tag("action", action.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,85 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
+import com.logistics.ordermanagement.repository.OrderRepository;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes point-in-time domain gauges: active orders by status and available
+ * partners by city. Each refresh runs one GROUP BY query per gauge instead of
+ * evaluating counts on every scrape.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderMetricsService {
+
+    private static final List<OrderStatus> ACTIVE_STATUSES =
+            List.of(OrderStatus.PLACED, OrderStatus.ASSIGNED, OrderStatus.PICKED);
+
+    private final OrderRepository orderRepository;
+    private final DeliveryPartnerRepository deliveryPartnerRepository;
+    private final ShardExecutor shardExecutor;
+    private final CityTagLimiter cityTagLimiter;
+    private final MeterRegistry meterRegistry;
+
+    private MultiGauge activeOrders;
+    private MultiGauge availablePartners;
+
+    @PostConstruct
+    void registerGauges() {
+        activeOrders = MultiGauge.builder("orders.active")
+                .description("Orders not yet delivered or cancelled, by status")
+                .register(meterRegistry);
+        availablePartners = MultiGauge.builder("partners.available")
+                .description("Delivery partners with AVAILABLE status, by city")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.domain.refresh-interval-ms:30000}", initialDelay = 5000)
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        ACTIVE_STATUSES.forEach(status -> byStatus.put(status, 0L));
+        for (List<Object[]> rows : shardExecutor.onAllShards(() -> orderRepository.countByStatusIn(ACTIVE_STATUSES))) {
+            for (Object[] row : rows) {
+                byStatus.merge((OrderStatus) row[0], (Long) row[1], Long::sum);
+            }
+        }
+
+        Map<String, Long> byCity = new HashMap<>();
+        for (List<Object[]> rows : shardExecutor.onAllShards(
+                () -> deliveryPartnerRepository.countByStatusGroupByCity(PartnerStatus.AVAILABLE))) {
+            for (Object[] row : rows) {
+                byCity.merge(cityTagLimiter.tag((String) row[0]), (Long) row[1], Long::sum);
+            }
+        }
+
+        List<MultiGauge.Row<?>> statusRows = new ArrayList<>();
+        byStatus.forEach((status, count) -> statusRows.add(MultiGauge.Row.of(Tags.of("status", status.name()), count)));
+        activeOrders.register(statusRows, true);
+
+        List<MultiGauge.Row<?>> cityRows = new ArrayList<>();
+        byCity.forEach((city, count) -> cityRows.add(MultiGauge.Row.of(Tags.of("city", city), count)));
+        availablePartners.register(cityRows, true);
+
+        log.debug("Refreshed domain gauges: {} active status(es), {} city(ies)", byStatus.size(), byCity.size());
+    }
+}
@@ -1,15 +1,20 @@
 package com.logistics.ordermanagement.service;
 
 import com.logistics.ordermanagement.dto.request.AssignPartnerRequest;
+import com.logistics.ordermanagement.dto.request.BulkUpdateOrderStatusRequest;
 import com.logistics.ordermanagement.dto.request.CancelOrderRequest;
 import com.logistics.ordermanagement.dto.request.CreateOrderRequest;
 import com.logistics.ordermanagement.dto.request.UpdateOrderStatusRequest;
+import com.logistics.ordermanagement.dto.response.BulkStatusUpdateResponse;
+import com.logistics.ordermanagement.dto.response.CursorPagedResponse;
 import com.logistics.ordermanagement.dto.response.OrderAuditLogResponse;
 import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.dto.response.OrderSearchHit;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
 import com.logistics.ordermanagement.enums.OrderStatus;
 
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
 
@@ -21,17 +26,29 @@ public interface OrderService {
 
     PagedResponse<OrderResponse> getAllOrders(int page, int size);
 
+    List<OrderSearchHit> searchOrders(String query, Integer limit);
+
     PagedResponse<OrderResponse> getOrdersByCity(String city, int page, int size);
 
     PagedResponse<OrderResponse> getOrdersByStatus(OrderStatus status, int page, int size);
 
+    PagedResponse<Map<String, Object>> getOrderFields(String fields, OrderStatus status, int page, int size);
+
+    PagedResponse<Map<String, Object>> getOrderFieldsByCity(String city, String fields, OrderStatus status, int page,
+            int size);
+
     PagedResponse<OrderResponse> getOrdersByCityAndStatus(String city, OrderStatus status, int page, int size);
 
     OrderResponse updateOrderStatus(Long id, UpdateOrderStatusRequest request);
 
+    BulkStatusUpdateResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request);
+
     OrderResponse assignDeliveryPartner(Long id, AssignPartnerRequest request);
 
     OrderResponse cancelOrder(Long id, CancelOrderRequest request);
 
-    List<OrderAuditLogResponse> getOrderHistory(Long id);
+    CursorPagedResponse<OrderAuditLogResponse> getOrderHistory(Long id, String cursor, int size);
+
+    CursorPagedResponse<OrderAuditLogResponse> getOrderHistoryByOrderNumber(String orderNumber, String cursor,
+            int size);
 }
@@ -0,0 +1,10 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.enums.OrderStatus;
+
+/**
+ * A single applied status transition, used to batch audit and notification work.
+ */
+public record OrderStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+}
@@ -0,0 +1,81 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.config.OrderLifecycleProperties;
+import com.logistics.ordermanagement.dto.request.CancelOrderRequest;
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.entity.Order;
+import com.logistics.ordermanagement.enums.AuditAction;
+import com.logistics.ordermanagement.enums.OrderStatus;
+import com.logistics.ordermanagement.repository.OrderAuditLogRepository;
+import com.logistics.ordermanagement.repository.OrderRepository;
+import com.logistics.ordermanagement.shard.ShardKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Runs the action of a fired lifecycle timer. The order row is locked and its status
+ * re-checked first, so a timer that lost a race with a user action, or fired on two
+ * nodes, does nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTimeoutService {
+
+    public enum Outcome {
+        APPLIED,
+        // Still in the status, but there was nothing to do this time (e.g. no partner free)
+        NO_CHANGE,
+        // The order is gone or has left the status the timer was armed for
+        STALE,
+        // The rule does not apply to this order (e.g. it never asked for auto-assignment)
+        SKIPPED
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderAuditLogRepository auditLogRepository;
+    private final OrderService orderService;
+    private final AssignmentService assignmentService;
+    private final AuditService auditService;
+    private final NotificationService notificationService;
+
+    @Transactional
+    public Outcome apply(@ShardKey long orderId, OrderStatus armedStatus, OrderLifecycleProperties.Rule rule) {
+        Optional<Order> locked = orderRepository.findByIdForUpdate(orderId);
+        if (locked.isEmpty() || locked.get().getStatus() != armedStatus) {
+            return Outcome.STALE;
+        }
+        Order order = locked.get();
+        String elapsed = DurationStyle.SIMPLE.print(rule.getAfter());
+
+        return switch (rule.getAction()) {
+            case AUTO_CANCEL -> {
+                String reason = "Automatically cancelled after " + elapsed + " in " + armedStatus;
+                orderService.cancelOrder(orderId, CancelOrderRequest.builder().reason(reason).build());
+                yield Outcome.APPLIED;
+            }
+            case RETRY_ASSIGNMENT -> {
+                if (!order.isAutoAssign()) {
+                    yield Outcome.SKIPPED;
+                }
+                Optional<DeliveryPartner> partner = assignmentService.autoAssignPartner(order);
+                partner.ifPresent(p -> notificationService.notifyPartnerAssigned(order, p.getName()));
+                yield partner.isPresent() ? Outcome.APPLIED : Outcome.NO_CHANGE;
+            }
+            case FLAG_SLA_BREACH -> {
+                // Another node, or this one before a restart, may have flagged it already
+                if (auditLogRepository.existsByOrderIdAndAction(orderId, AuditAction.SLA_BREACHED)) {
+                    yield Outcome.NO_CHANGE;
+                }
+                auditService.logSlaBreached(order, "in " + armedStatus + " for over " + elapsed);
+                log.warn("Order {} breached its SLA: in {} for over {}", order.getOrderNumber(), armedStatus, elapsed);
+                yield Outcome.APPLIED;
+            }
+        };
+    }
+}
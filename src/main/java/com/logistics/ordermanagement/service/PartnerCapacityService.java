@@ -0,0 +1,122 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.config.PartnerCapacityProperties;
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.enums.PartnerStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Keeps a partner's load and status consistent: a partner is AVAILABLE while it
+ * carries fewer orders than its capacity, BUSY when full, and OFFLINE is never
+ * changed here. Every change re-reads the partner row under a pessimistic write
+ * lock (once per transaction), so concurrent assignments cannot overfill a partner.
+ * Callers that lock several partners should do so in id order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class PartnerCapacityService {
+
+    private final PartnerCapacityProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Explicit capacity if set, otherwise the configured capacity for the vehicle type.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int capacityOf(DeliveryPartner partner) {
+        return partner.getCapacity() != null
+                ? partner.getCapacity()
+                : properties.capacityFor(partner.getVehicleType());
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasSpareCapacity(DeliveryPartner partner) {
+        return partner.getStatus() == PartnerStatus.AVAILABLE && partner.getActiveOrders() < capacityOf(partner);
+    }
+
+    /**
+     * Takes one unit of the partner's capacity. Returns false, changing nothing, if the
+     * partner is no longer AVAILABLE or already full once its row is locked.
+     */
+    public boolean tryReserve(DeliveryPartner partner) {
+        lock(partner);
+        if (!hasSpareCapacity(partner)) {
+            return false;
+        }
+        partner.setActiveOrders(partner.getActiveOrders() + 1);
+        partner.setStatus(statusFor(partner, PartnerStatus.AVAILABLE));
+        return true;
+    }
+
+    /**
+     * Gives back {@code orders} units of capacity, e.g. when orders are delivered or cancelled.
+     */
+    public void release(DeliveryPartner partner, int orders) {
+        lock(partner);
+        if (partner.getActiveOrders() < orders) {
+            log.warn("Delivery partner {} releasing {} order(s) but only {} active", partner.getId(), orders,
+                    partner.getActiveOrders());
+        }
+        partner.setActiveOrders(Math.max(0, partner.getActiveOrders() - orders));
+        partner.setStatus(statusFor(partner, partner.getStatus() == PartnerStatus.BUSY
+                ? PartnerStatus.AVAILABLE
+                : partner.getStatus()));
+    }
+
+    /**
+     * Applies a status or capacity change made by hand. A requested AVAILABLE becomes
+     * BUSY while the partner is full.
+     */
+    public void applyStatus(DeliveryPartner partner, PartnerStatus requested) {
+        lock(partner);
+        partner.setStatus(statusFor(partner, requested));
+    }
+
+    /**
+     * Sets an explicit capacity (null reverts to the vehicle type's) and re-derives
+     * AVAILABLE/BUSY from the new limit.
+     */
+    public void updateCapacity(DeliveryPartner partner, Integer capacity) {
+        lock(partner);
+        partner.setCapacity(capacity);
+        if (partner.getStatus() != PartnerStatus.OFFLINE) {
+            partner.setStatus(statusFor(partner, PartnerStatus.AVAILABLE));
+        }
+    }
+
+    /**
+     * Locks the partners' rows in id order, for callers that then work through several of them.
+     */
+    public void lockInIdOrder(Collection<DeliveryPartner> partners) {
+        partners.stream()
+                .sorted(Comparator.comparing(DeliveryPartner::getId))
+                .forEach(this::lock);
+    }
+
+    private PartnerStatus statusFor(DeliveryPartner partner, PartnerStatus requested) {
+        if (requested == PartnerStatus.AVAILABLE && partner.getActiveOrders() >= capacityOf(partner)) {
+            return PartnerStatus.BUSY;
+        }
+        return requested;
+    }
+
+    private void lock(DeliveryPartner partner) {
+        if (entityManager.getLockMode(partner) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(partner, LockModeType.PESSIMISTIC_WRITE);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.config.PartnerLocationProperties;
+import com.logistics.ordermanagement.dto.request.PartnerLocationBatchRequest;
+import com.logistics.ordermanagement.dto.request.PartnerLocationRequest;
+import com.logistics.ordermanagement.dto.response.PartnerLocationBatchResponse;
+import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
+import com.logistics.ordermanagement.shard.ShardDirectory;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ingests high-frequency partner location pings. Pings only update the in-memory
+ * {@link PartnerLocationStore}; a write-behind flusher then moves changed partners in
+ * the spatial index every flush interval and persists at most one position per partner
+ * per persist interval, in JDBC batches. A position that has not been persisted yet is
+ * lost if the node dies, which is acceptable because partners keep reporting. Sharded,
+ * positions are batched per shard of the partner.
+ * <p>
+ * A PARTNER may only report for the delivery partner registered under its own email; ADMIN
+ * may report for anyone. The partner's email is looked up once and kept with its slot, and
+ * ids that do not exist are remembered for a while, so neither repeats a query per ping.
+ */
+@Slf4j
+@Service
+public class PartnerLocationService {
+
+    public enum PingResult {
+        ACCEPTED,
+        STALE,
+        UNKNOWN_PARTNER,
+        // Caller is not the partner it reported for
+        FORBIDDEN,
+        CAPACITY_EXCEEDED
+    }
+
+    private static final String UPDATE_LOCATION_SQL = """
+            UPDATE delivery_partners SET latitude = ?, longitude = ?, location_updated_at = ?
+            WHERE id = ?
+            """;
+
+    // Bounds the unknown-id cache against clients cycling through made-up ids
+    private static final int MAX_UNKNOWN_PARTNERS = 10_000;
+
+    private final PartnerLocationStore store;
+    private final DeliveryPartnerRepository deliveryPartnerRepository;
+    private final PartnerSpatialIndex spatialIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardDirectory shardDirectory;
+    private final ShardExecutor shardExecutor;
+    private final PartnerLocationProperties properties;
+
+    private final Counter[] pingCounters;
+    private final Counter persistedCounter;
+    private final Timer flushTimer;
+
+    // Flusher bookkeeping by slot; only touched under the flush lock
+    private final long[] indexedVersions;
+    private final long[] persistedVersions;
+    private final long[] persistedAt;
+    private final PartnerLocationStore.Position position = new PartnerLocationStore.Position();
+    private final List<String> shards;
+    private final Map<String, Integer> batchIndexes = new HashMap<>();
+    private final PendingBatch[] batches;
+
+    // Owner of the partner in each slot, refreshed after the lookup TTL
+    private final AtomicReferenceArray<Owner> owners;
+    // Partner id -> when it was last found not to exist
+    private final Map<Long, Long> unknownPartners = new ConcurrentHashMap<>();
+
+    private volatile boolean capacityWarned;
+
+    public PartnerLocationService(DeliveryPartnerRepository deliveryPartnerRepository,
+            PartnerSpatialIndex spatialIndex,
+            JdbcTemplate jdbcTemplate,
+            ShardDirectory shardDirectory,
+            ShardExecutor shardExecutor,
+            PartnerLocationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.store = new PartnerLocationStore(properties.getCapacity());
+        this.deliveryPartnerRepository = deliveryPartnerRepository;
+        this.spatialIndex = spatialIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardDirectory = shardDirectory;
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+
+        this.pingCounters = new Counter[PingResult.values().length];
+        for (PingResult result : PingResult.values()) {
+            pingCounters[result.ordinal()] = Counter.builder("partner.location.pings")
+                    .description("Partner location pings received, by result")
+                    .tag("result", result.name())
+                    .register(meterRegistry);
+        }
+        this.persistedCounter = Counter.builder("partner.location.persisted")
+                .description("Partner positions written to the database")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("partner.location.flush")
+                .description("Time to push changed positions to the index and database")
+                .register(meterRegistry);
+        Gauge.builder("partner.location.tracked", store, PartnerLocationStore::size)
+                .description("Partners with a slot in the in-memory location store")
+                .register(meterRegistry);
+
+        this.indexedVersions = new long[store.capacity()];
+        this.persistedVersions = new long[store.capacity()];
+        this.persistedAt = new long[store.capacity()];
+        this.owners = new AtomicReferenceArray<>(store.capacity());
+        this.shards = shardDirectory.getShardNames();
+        this.batches = new PendingBatch[shards.size()];
+        for (int i = 0; i < batches.length; i++) {
+            batchIndexes.put(shards.get(i), i);
+            batches[i] = new PendingBatch(properties.getBatchSize());
+        }
+    }
+
+    public PingResult recordLocation(PartnerLocationRequest request, Authentication caller) {
+        return recordLocation(request.getPartnerId(), request.getLatitude(), request.getLongitude(),
+                request.getRecordedAt(), caller);
+    }
+
+    public PartnerLocationBatchResponse recordLocations(PartnerLocationBatchRequest request, Authentication caller) {
+        int accepted = 0;
+        int stale = 0;
+        for (PartnerLocationRequest location : request.getLocations()) {
+            switch (recordLocation(location, caller)) {
+                case ACCEPTED -> accepted++;
+                case STALE -> stale++;
+                default -> {
+                }
+            }
+        }
+        int received = request.getLocations().size();
+        return PartnerLocationBatchResponse.builder()
+                .received(received)
+                .accepted(accepted)
+                .stale(stale)
+                .rejected(received - accepted - stale)
+                .build();
+    }
+
+    /**
+     * Records a ping from {@code caller}. The database is only asked who owns a partner on its
+     * first ping on this node and once per lookup TTL after that; ADMIN pings for a tracked
+     * partner skip the lookup.
+     */
+    public PingResult recordLocation(long partnerId, double latitude, double longitude, Long recordedAt,
+            Authentication caller) {
+        long now = System.currentTimeMillis();
+        long time = recordedAt == null || recordedAt > now + properties.getMaxClockSkew().toMillis()
+                ? now
+                : recordedAt;
+
+        boolean admin = hasRole(caller, "ROLE_ADMIN");
+        int slot = store.slotOf(partnerId);
+        Owner owner = null;
+        if (slot < 0 || !admin) {
+            owner = ownerOf(partnerId, slot, now);
+            if (owner == null) {
+                return count(PingResult.UNKNOWN_PARTNER);
+            }
+            if (!admin && !owner.isCaller(caller)) {
+                return count(PingResult.FORBIDDEN);
+            }
+        }
+        if (slot < 0) {
+            slot = store.register(partnerId);
+            if (slot < 0) {
+                if (!capacityWarned) {
+                    capacityWarned = true;
+                    log.warn("Partner location store is full ({} partners); raise partner.location.capacity",
+                            store.capacity());
+                }
+                return count(PingResult.CAPACITY_EXCEEDED);
+            }
+            owners.compareAndSet(slot, null, owner);
+        }
+        return store.record(slot, latitude, longitude, time) == PartnerLocationStore.Outcome.ACCEPTED
+                ? count(PingResult.ACCEPTED)
+                : count(PingResult.STALE);
+    }
+
+    @Scheduled(fixedDelayString = "${partner.location.flush-interval-ms:2000}",
+            initialDelayString = "${partner.location.flush-interval-ms:2000}")
+    public void flush() {
+        flushTimer.record(() -> flush(false));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+
+    /**
+     * Moves every partner whose position changed in the spatial index, and persists those
+     * not written within the persist interval (or all changed ones when forced). Slots whose
+     * batch fails stay dirty and are retried on the next flush.
+     */
+    private synchronized void flush(boolean force) {
+        long now = System.currentTimeMillis();
+        long persistIntervalMs = properties.getPersistInterval().toMillis();
+        int size = store.size();
+        int persisted = 0;
+        for (int slot = 0; slot < size; slot++) {
+            long version = store.read(slot, position);
+            if (version == 0) {
+                continue;
+            }
+            if (version != indexedVersions[slot]) {
+                spatialIndex.relocate(position.getPartnerId(), position.getLatitude(), position.getLongitude());
+                indexedVersions[slot] = version;
+            }
+            if (version != persistedVersions[slot] && (force || now - persistedAt[slot] >= persistIntervalMs)) {
+                int batchIndex = batches.length == 1
+                        ? 0
+                        : batchIndexes.get(shardDirectory.shardForId(position.getPartnerId()));
+                batches[batchIndex].add(slot, version, position);
+                if (batches[batchIndex].isFull()) {
+                    persisted += persist(batchIndex, now);
+                }
+            }
+        }
+        for (int batchIndex = 0; batchIndex < batches.length; batchIndex++) {
+            persisted += persist(batchIndex, now);
+        }
+        if (persisted > 0) {
+            log.debug("Persisted {} partner location(s)", persisted);
+        }
+    }
+
+    private int persist(int batchIndex, long now) {
+        PendingBatch batch = batches[batchIndex];
+        int count = batch.size;
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            shardExecutor.inTransaction(shards.get(batchIndex), false,
+                    () -> jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, batch));
+            for (int i = 0; i < count; i++) {
+                persistedVersions[batch.slots[i]] = batch.versions[i];
+                persistedAt[batch.slots[i]] = now;
+            }
+            persistedCounter.increment(count);
+            return count;
+        } catch (DataAccessException e) {
+            log.warn("Failed to persist {} partner location(s), will retry: {}", count, e.getMessage());
+            return 0;
+        } finally {
+            batch.size = 0;
+        }
+    }
+
+    private PingResult count(PingResult result) {
+        pingCounters[result.ordinal()].increment();
+        return result;
+    }
+
+    /**
+     * Owner of the partner, or null if it does not exist. Answers from the slot's cached owner
+     * or the unknown-id cache while they are younger than the lookup TTL.
+     */
+    private Owner ownerOf(long partnerId, int slot, long now) {
+        long ttlMs = properties.getLookupTtl().toMillis();
+        if (slot >= 0) {
+            Owner owner = owners.get(slot);
+            if (owner != null && now - owner.checkedAt() < ttlMs) {
+                return owner;
+            }
+        } else {
+            Long checkedAt = unknownPartners.get(partnerId);
+            if (checkedAt != null && now - checkedAt < ttlMs) {
+                return null;
+            }
+        }
+
+        List<Object[]> rows = shardExecutor.inTransaction(shardDirectory.shardForId(partnerId), true,
+                () -> deliveryPartnerRepository.findIdAndEmailById(partnerId));
+        if (rows.isEmpty()) {
+            if (unknownPartners.size() >= MAX_UNKNOWN_PARTNERS) {
+                unknownPartners.clear();
+            }
+            unknownPartners.put(partnerId, now);
+            return null;
+        }
+        unknownPartners.remove(partnerId);
+        Owner owner = new Owner((String) rows.get(0)[1], now);
+        if (slot >= 0) {
+            owners.set(slot, owner);
+        }
+        return owner;
+    }
+
+    private static boolean hasRole(Authentication caller, String role) {
+        return caller != null && caller.getAuthorities().stream().anyMatch(a -> role.equals(a.getAuthority()));
+    }
+
+    /**
+     * A partner's email as of {@code checkedAt}; PARTNER users sign in with that email.
+     */
+    private record Owner(String email, long checkedAt) {
+
+        boolean isCaller(Authentication caller) {
+            return caller != null && email != null && hasRole(caller, "ROLE_PARTNER")
+                    && email.equalsIgnoreCase(caller.getName());
+        }
+    }
+
+    /**
+     * Reusable parallel arrays for one JDBC batch, bound straight into the statement.
+     */
+    private static final class PendingBatch implements BatchPreparedStatementSetter {
+
+        final int[] slots;
+        final long[] versions;
+        final long[] partnerIds;
+        final double[] latitudes;
+        final double[] longitudes;
+        final long[] recordedAt;
+        int size;
+
+        PendingBatch(int capacity) {
+            slots = new int[capacity];
+            versions = new long[capacity];
+            partnerIds = new long[capacity];
+            latitudes = new double[capacity];
+            longitudes = new double[capacity];
+            recordedAt = new long[capacity];
+        }
+
+        void add(int slot, long version, PartnerLocationStore.Position position) {
+            slots[size] = slot;
+            versions[size] = version;
+            partnerIds[size] = position.getPartnerId();
+            latitudes[size] = position.getLatitude();
+            longitudes[size] = position.getLongitude();
+            recordedAt[size] = position.getRecordedAt();
+            size++;
+        }
+
+        boolean isFull() {
+            return size == slots.length;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setDouble(1, latitudes[i]);
+            ps.setDouble(2, longitudes[i]);
+            ps.setTimestamp(3, new Timestamp(recordedAt[i]));
+            ps.setLong(4, partnerIds[i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.logistics.ordermanagement.service;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latest reported position per delivery partner, held in fixed-size primitive arrays.
+ * <p>
+ * Each partner gets a slot the first time it reports; slots are never freed, so the
+ * capacity bounds the number of partners tracked by this node. The partner id to slot
+ * table uses open addressing and is read without locking. Each slot is guarded by a
+ * sequence lock: writers claim it by making the version odd, readers retry if the
+ * version was odd or changed while they read. Recording a ping allocates nothing.
+ */
+public class PartnerLocationStore {
+
+    public enum Outcome {
+        ACCEPTED,
+        // Older than the position already held; out-of-order delivery
+        STALE
+    }
+
+    private static final long EMPTY = 0;
+
+    private final int capacity;
+    private final int mask;
+
+    // id -> slot table; a key is published only after its slot value is written
+    private final AtomicLongArray tableKeys;
+    private final int[] tableSlots;
+
+    // Per-slot state, guarded by versions
+    private final long[] partnerIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAt;
+    private final AtomicLongArray versions;
+
+    private volatile int size;
+
+    public PartnerLocationStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.mask = tableSize - 1;
+        this.tableKeys = new AtomicLongArray(tableSize);
+        this.tableSlots = new int[tableSize];
+        this.partnerIds = new long[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAt = new long[capacity];
+        this.versions = new AtomicLongArray(capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of slots in use; slots {@code 0..size()-1} are valid.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the partner's slot, or -1 if it has never reported.
+     */
+    public int slotOf(long partnerId) {
+        for (int i = hash(partnerId) & mask; ; i = (i + 1) & mask) {
+            long key = tableKeys.get(i);
+            if (key == partnerId) {
+                return tableSlots[i];
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the partner's slot, assigning one if needed, or -1 when the store is full.
+     */
+    public synchronized int register(long partnerId) {
+        if (partnerId <= 0) {
+            throw new IllegalArgumentException("partnerId must be positive");
+        }
+        int i = hash(partnerId) & mask;
+        for (long key; (key = tableKeys.get(i)) != EMPTY; i = (i + 1) & mask) {
+            if (key == partnerId) {
+                return tableSlots[i];
+            }
+        }
+        int slot = size;
+        if (slot == capacity) {
+            return -1;
+        }
+        partnerIds[slot] = partnerId;
+        recordedAt[slot] = Long.MIN_VALUE;
+        tableSlots[i] = slot;
+        // Volatile writes: the slot and its id are visible to anyone who sees the key or the size
+        tableKeys.set(i, partnerId);
+        size = slot + 1;
+        return slot;
+    }
+
+    /**
+     * Stores a position unless one with a later timestamp is already held.
+     */
+    public Outcome record(int slot, double latitude, double longitude, long recordedAtMillis) {
+        long version;
+        do {
+            version = versions.get(slot);
+        } while ((version & 1) != 0 || !versions.compareAndSet(slot, version, version + 1));
+
+        if (recordedAtMillis < recordedAt[slot]) {
+            // Nothing was written, so readers that overlapped still saw a consistent slot
+            versions.set(slot, version);
+            return Outcome.STALE;
+        }
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        recordedAt[slot] = recordedAtMillis;
+        versions.set(slot, version + 2);
+        return Outcome.ACCEPTED;
+    }
+
+    /**
+     * Copies the slot's position into {@code target} and returns its version, which changes
+     * whenever a newer position is recorded. Version 0 means nothing was recorded yet.
+     */
+    public long read(int slot, Position target) {
+        while (true) {
+            long version = versions.get(slot);
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            double latitude = latitudes[slot];
+            double longitude = longitudes[slot];
+            long time = recordedAt[slot];
+            // Keep the plain reads above from moving past the version re-check
+            VarHandle.loadLoadFence();
+            if (versions.get(slot) == version) {
+                target.partnerId = partnerIds[slot];
+                target.latitude = latitude;
+                target.longitude = longitude;
+                target.recordedAt = time;
+                return version;
+            }
+        }
+    }
+
+    private static int hash(long partnerId) {
+        long h = partnerId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Reusable holder for {@link #read}, so readers scanning every slot allocate nothing.
+     */
+    public static final class Position {
+
+        long partnerId;
+        double latitude;
+        double longitude;
+        long recordedAt;
+
+        public long getPartnerId() {
+            return partnerId;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public long getRecordedAt() {
+            return recordedAt;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.event.DeliveryPartnersImportedEvent;
+import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of AVAILABLE delivery partners for nearest-partner assignment.
+ * <p>
+ * Each city is a uniform grid of {@code assignment.spatial.cell-size-km} squares over
+ * an equirectangular projection (accurate to well under 1% at city scale). A k-nearest
+ * query scans rings of cells outward from the pickup point and stops once no closer
+ * partner can exist, so its cost depends on local density rather than city size.
+ * Partners without a known location are kept per city so they can still be assigned
+ * when nobody located is available.
+ * <p>
+ * The index is a hint, not the source of truth: it is kept current after each commit
+ * that changes a partner, rebuilt from the database at startup and periodically, and
+ * callers re-check partner status in the database before assigning.
+ */
+@Slf4j
+@Component
+public class PartnerSpatialIndex {
+
+    public record Candidate(long partnerId, double distanceKm) {
+    }
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final DeliveryPartnerRepository deliveryPartnerRepository;
+    private final ShardExecutor shardExecutor;
+    private final boolean enabled;
+    private final double cellSizeKm;
+    private final double maxRadiusKm;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    public PartnerSpatialIndex(DeliveryPartnerRepository deliveryPartnerRepository,
+            ShardExecutor shardExecutor,
+            @Value("${assignment.spatial.enabled:true}") boolean enabled,
+            @Value("${assignment.spatial.cell-size-km:1.0}") double cellSizeKm,
+            @Value("${assignment.spatial.max-radius-km:0}") double maxRadiusKm) {
+        this.deliveryPartnerRepository = deliveryPartnerRepository;
+        this.shardExecutor = shardExecutor;
+        this.enabled = enabled;
+        this.cellSizeKm = cellSizeKm;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns up to {@code k} located partners nearest to the point, closest first.
+     * Empty when the city has no located partner within max-radius-km (0 = unlimited).
+     */
+    public List<Candidate> nearest(String city, double latitude, double longitude, int k) {
+        CityGrid grid = snapshot.cities.get(normalize(city));
+        return grid == null ? List.of() : grid.nearest(latitude, longitude, k);
+    }
+
+    /**
+     * Returns the longest-registered (lowest id) partners of the city that have no location.
+     */
+    public List<Long> unlocated(String city, int limit) {
+        CityGrid grid = snapshot.cities.get(normalize(city));
+        return grid == null ? List.of() : grid.unlocated(limit);
+    }
+
+    public int size() {
+        return snapshot.partnerCities.size();
+    }
+
+    /**
+     * Applies a partner's current state after the surrounding transaction commits,
+     * or immediately when there is none. Values are captured now, not at commit.
+     */
+    public void update(DeliveryPartner partner) {
+        if (!enabled || partner.getId() == null) {
+            return;
+        }
+        long id = partner.getId();
+        String city = partner.getCity();
+        boolean available = partner.getStatus() == PartnerStatus.AVAILABLE;
+        Double latitude = partner.getLatitude();
+        Double longitude = partner.getLongitude();
+        TransactionCallbacks.afterCommit(() -> {
+            if (available) {
+                put(id, city, latitude, longitude);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    public void remove(long partnerId) {
+        Snapshot current = snapshot;
+        String city = current.partnerCities.remove(partnerId);
+        if (city != null) {
+            CityGrid grid = current.cities.get(city);
+            if (grid != null) {
+                grid.remove(partnerId);
+            }
+        }
+    }
+
+    /**
+     * Moves a partner that is already indexed (i.e. available) to a new position;
+     * partners not in the index are ignored, so a ping never makes anyone available.
+     */
+    public void relocate(long partnerId, double latitude, double longitude) {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = snapshot;
+        String city = current.partnerCities.get(partnerId);
+        if (city != null) {
+            CityGrid grid = current.cities.get(city);
+            if (grid != null) {
+                grid.move(partnerId, latitude, longitude);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartnersImported(DeliveryPartnersImportedEvent event) {
+        if (enabled) {
+            event.partners().forEach(p -> put(p.getId(), p.getCity(), p.getLatitude(), p.getLongitude()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database, replacing it in one step. Catches any
+     * update lost to a rollback or a race with a previous rebuild.
+     */
+    @Scheduled(fixedDelayString = "${assignment.spatial.rebuild-interval-ms:600000}",
+            initialDelayString = "${assignment.spatial.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Snapshot fresh = new Snapshot();
+        for (List<Object[]> rows : shardExecutor.onAllShards(
+                () -> deliveryPartnerRepository.findLocationsByStatus(PartnerStatus.AVAILABLE))) {
+            for (Object[] row : rows) {
+                fresh.put((Long) row[0], (String) row[1], (Double) row[2], (Double) row[3], cellSizeKm, maxRadiusKm);
+            }
+        }
+        snapshot = fresh;
+        log.info("Partner spatial index rebuilt: {} available partner(s) in {} city(ies) in {} ms",
+                fresh.partnerCities.size(), fresh.cities.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void put(long partnerId, String city, Double latitude, Double longitude) {
+        snapshot.put(partnerId, city, latitude, longitude, cellSizeKm, maxRadiusKm);
+    }
+
+    /**
+     * Approximate ground distance between two points, good at city scale.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double x = (lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = lat2 - lat1;
+        return Math.sqrt(x * x + y * y) * KM_PER_DEGREE;
+    }
+
+    private static String normalize(String city) {
+        return city == null ? "" : city.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+
+        final ConcurrentHashMap<String, CityGrid> cities = new ConcurrentHashMap<>();
+        // Which city each indexed partner is filed under, so moves and removals are O(1)
+        final ConcurrentHashMap<Long, String> partnerCities = new ConcurrentHashMap<>();
+
+        void put(long partnerId, String city, Double latitude, Double longitude,
+                double cellSizeKm, double maxRadiusKm) {
+            String key = normalize(city);
+            String previous = partnerCities.put(partnerId, key);
+            if (previous != null && !previous.equals(key)) {
+                CityGrid old = cities.get(previous);
+                if (old != null) {
+                    old.remove(partnerId);
+                }
+            }
+            cities.computeIfAbsent(key, k -> new CityGrid(cellSizeKm, maxRadiusKm))
+                    .put(partnerId, latitude, longitude);
+        }
+    }
+
+    /**
+     * Grid for one city. Cells hold parallel primitive arrays so a scan touches no
+     * per-partner objects; removal swaps the last entry into the freed slot.
+     */
+    static final class CityGrid {
+
+        private static final long UNLOCATED = Long.MIN_VALUE;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final double cellSizeKm;
+        private final double maxRadiusKm;
+        private final Map<Long, Cell> cells = new HashMap<>();
+        private final Map<Long, Long> partnerCells = new HashMap<>();
+        private final TreeSet<Long> unlocated = new TreeSet<>();
+
+        // Projection is fixed by the first located partner; longitude degrees shrink with latitude
+        private double kmPerDegreeLng = Double.NaN;
+        private int minCx = Integer.MAX_VALUE;
+        private int maxCx = Integer.MIN_VALUE;
+        private int minCy = Integer.MAX_VALUE;
+        private int maxCy = Integer.MIN_VALUE;
+
+        CityGrid(double cellSizeKm, double maxRadiusKm) {
+            this.cellSizeKm = cellSizeKm;
+            this.maxRadiusKm = maxRadiusKm;
+        }
+
+        void put(long partnerId, Double latitude, Double longitude) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(partnerId);
+                if (latitude == null || longitude == null) {
+                    unlocated.add(partnerId);
+                    partnerCells.put(partnerId, UNLOCATED);
+                    return;
+                }
+                if (Double.isNaN(kmPerDegreeLng)) {
+                    kmPerDegreeLng = KM_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+                }
+                double x = longitude * kmPerDegreeLng;
+                double y = latitude * KM_PER_DEGREE;
+                int cx = cellOf(x);
+                int cy = cellOf(y);
+                long key = cellKey(cx, cy);
+                cells.computeIfAbsent(key, k -> new Cell()).add(partnerId, x, y);
+                partnerCells.put(partnerId, key);
+                minCx = Math.min(minCx, cx);
+                maxCx = Math.max(maxCx, cx);
+                minCy = Math.min(minCy, cy);
+                maxCy = Math.max(maxCy, cy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Re-files the partner only if it is still present, so a move racing with a
+         * removal cannot bring it back.
+         */
+        void move(long partnerId, double latitude, double longitude) {
+            lock.writeLock().lock();
+            try {
+                if (partnerCells.containsKey(partnerId)) {
+                    put(partnerId, latitude, longitude);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long partnerId) {
+            lock.writeLock().lock();
+            try {
+                removeInternal(partnerId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> unlocated(int limit) {
+            lock.readLock().lock();
+            try {
+                return unlocated.stream().limit(limit).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Candidate> nearest(double latitude, double longitude, int k) {
+            lock.readLock().lock();
+            try {
+                if (cells.isEmpty() || k <= 0) {
+                    return List.of();
+                }
+                double x = longitude * kmPerDegreeLng;
+                double y = latitude * KM_PER_DEGREE;
+                int cx = cellOf(x);
+                int cy = cellOf(y);
+                double maxDistanceSquared = maxRadiusKm > 0 ? maxRadiusKm * maxRadiusKm : Double.MAX_VALUE;
+
+                // Rings beyond the occupied extent (or the radius limit) cannot contain anyone
+                int maxRing = Math.max(Math.max(Math.abs(cx - minCx), Math.abs(maxCx - cx)),
+                        Math.max(Math.abs(cy - minCy), Math.abs(maxCy - cy)));
+                if (maxRadiusKm > 0) {
+                    maxRing = Math.min(maxRing, (int) Math.ceil(maxRadiusKm / cellSizeKm) + 1);
+                }
+
+                Best best = new Best(k);
+                for (int ring = 0; ring <= maxRing; ring++) {
+                    // Every point in ring r is at least (r - 1) cells away from the query point
+                    double ringMin = Math.max(0, ring - 1) * cellSizeKm;
+                    if (best.isFull() && best.worst() <= ringMin * ringMin) {
+                        break;
+                    }
+                    if (ring == 0) {
+                        scan(cx, cy, x, y, maxDistanceSquared, best);
+                        continue;
+                    }
+                    for (int dx = -ring; dx <= ring; dx++) {
+                        scan(cx + dx, cy - ring, x, y, maxDistanceSquared, best);
+                        scan(cx + dx, cy + ring, x, y, maxDistanceSquared, best);
+                    }
+                    for (int dy = -ring + 1; dy < ring; dy++) {
+                        scan(cx - ring, cy + dy, x, y, maxDistanceSquared, best);
+                        scan(cx + ring, cy + dy, x, y, maxDistanceSquared, best);
+                    }
+                }
+                return best.toCandidates();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void scan(int cx, int cy, double x, double y, double maxDistanceSquared, Best best) {
+            Cell cell = cells.get(cellKey(cx, cy));
+            if (cell == null) {
+                return;
+            }
+            for (int i = 0; i < cell.size; i++) {
+                double dx = cell.xs[i] - x;
+                double dy = cell.ys[i] - y;
+                double distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared <= maxDistanceSquared) {
+                    best.offer(cell.ids[i], distanceSquared);
+                }
+            }
+        }
+
+        private void removeInternal(long partnerId) {
+            Long key = partnerCells.remove(partnerId);
+            if (key == null) {
+                return;
+            }
+            if (key == UNLOCATED) {
+                unlocated.remove(partnerId);
+                return;
+            }
+            Cell cell = cells.get(key);
+            if (cell != null && cell.remove(partnerId) && cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+
+        private int cellOf(double km) {
+            return (int) Math.floor(km / cellSizeKm);
+        }
+
+        private static long cellKey(int cx, int cy) {
+            return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+        }
+    }
+
+    private static final class Cell {
+
+        long[] ids = new long[8];
+        double[] xs = new double[8];
+        double[] ys = new double[8];
+        int size;
+
+        void add(long id, double x, double y) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            ids[size] = id;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    xs[i] = xs[size];
+                    ys[i] = ys[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Bounded sorted buffer of the k closest points seen so far; k is small,
+     * so insertion sort beats a heap.
+     */
+    private static final class Best {
+
+        private final long[] ids;
+        private final double[] distancesSquared;
+        private int size;
+
+        Best(int k) {
+            ids = new long[k];
+            distancesSquared = new double[k];
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        double worst() {
+            return distancesSquared[size - 1];
+        }
+
+        void offer(long id, double distanceSquared) {
+            if (isFull() && distanceSquared >= worst()) {
+                return;
+            }
+            int i = isFull() ? size - 1 : size++;
+            while (i > 0 && distancesSquared[i - 1] > distanceSquared) {
+                ids[i] = ids[i - 1];
+                distancesSquared[i] = distancesSquared[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            distancesSquared[i] = distanceSquared;
+        }
+
+        List<Candidate> toCandidates() {
+            List<Candidate> candidates = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                candidates.add(new Candidate(ids[i], Math.sqrt(distancesSquared[i])));
+            }
+            return candidates;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.logistics.ordermanagement.service;
+
+/**
+ * Cheapest-insertion arithmetic for a partner's route: a start point followed by
+ * stops visited in order. Distances use {@link PartnerSpatialIndex#distanceKm}.
+ */
+public final class RouteInsertion {
+
+    /**
+     * Where to insert a stop (before {@code index}; {@code index == count} appends) and
+     * how much longer the route becomes.
+     */
+    public record Insertion(int index, double detourKm) {
+    }
+
+    private RouteInsertion() {
+    }
+
+    /**
+     * Finds the position among the first {@code count} stops (from {@code fromIndex} on)
+     * where visiting the new point adds the least distance.
+     */
+    public static Insertion cheapest(double startLat, double startLng, double[] lats, double[] lngs, int count,
+            int fromIndex, double lat, double lng) {
+        int bestIndex = count;
+        double bestDetour = Double.MAX_VALUE;
+        for (int i = fromIndex; i <= count; i++) {
+            double prevLat = i == 0 ? startLat : lats[i - 1];
+            double prevLng = i == 0 ? startLng : lngs[i - 1];
+            double detour = PartnerSpatialIndex.distanceKm(prevLat, prevLng, lat, lng);
+            if (i < count) {
+                detour += PartnerSpatialIndex.distanceKm(lat, lng, lats[i], lngs[i])
+                        - PartnerSpatialIndex.distanceKm(prevLat, prevLng, lats[i], lngs[i]);
+            }
+            if (detour < bestDetour) {
+                bestDetour = detour;
+                bestIndex = i;
+            }
+        }
+        return new Insertion(bestIndex, bestDetour);
+    }
+}
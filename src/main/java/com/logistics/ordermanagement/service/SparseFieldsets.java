@@ -0,0 +1,313 @@
+package com.logistics.ordermanagement.service;
+
+import com.logistics.ordermanagement.config.PartnerCapacityProperties;
+import com.logistics.ordermanagement.dto.response.PagedResponse;
+import com.logistics.ordermanagement.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for the order and partner listings ({@code fields=} on the list endpoints).
+ * A field list is checked against the resource's allow-list and compiled into a JPQL query
+ * that selects only those columns, joining the partner only when partner fields are asked
+ * for. Compiled queries are cached per field set and filters, so repeated calls reuse both
+ * the compiled shape and Hibernate's plan for the same query string.
+ * <p>
+ * id and createdAt are always selected because cross-shard listings merge on them, but are
+ * only written out when requested.
+ */
+@Component
+public class SparseFieldsets {
+
+    private static final String PARTNER = "deliveryPartner";
+
+    // Field sets are a bitmask over at most 64 fields, so this only guards against filter churn
+    private static final int MAX_CACHED_QUERIES = 512;
+
+    private final Resource orders;
+    private final Resource partners;
+    private final Map<String, FieldQuery> queries = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SparseFieldsets(PartnerCapacityProperties capacityProperties) {
+        List<Field> partnerFields = List.of(
+                Field.column("id"),
+                Field.column("name"),
+                Field.column("phone"),
+                Field.column("email"),
+                Field.column("city"),
+                Field.column("status"),
+                Field.column("vehicleType"),
+                // Effective capacity, as in DeliveryPartnerResponse
+                new Field("capacity", List.of("capacity", "vehicleType"), (row, i) -> row[i] != null
+                        ? row[i]
+                        : capacityProperties.capacityFor((String) row[i + 1])),
+                Field.column("activeOrders"),
+                Field.column("latitude"),
+                Field.column("longitude"),
+                Field.column("locationUpdatedAt"),
+                Field.column("createdAt"));
+        List<Field> orderFields = List.of(
+                Field.column("id"),
+                Field.column("orderNumber"),
+                Field.column("customerName"),
+                Field.column("customerPhone"),
+                Field.column("pickupAddress"),
+                Field.column("deliveryAddress"),
+                Field.column("city"),
+                Field.column("pickupLatitude"),
+                Field.column("pickupLongitude"),
+                Field.column("status"),
+                Field.column("cancellationReason"),
+                Field.column("cancelledAt"),
+                Field.column("createdAt"),
+                Field.column("updatedAt"));
+        this.orders = new Resource("orders", "Order", "o", orderFields, partnerFields);
+        this.partners = new Resource("delivery partners", "DeliveryPartner", "p", partnerFields, List.of());
+    }
+
+    /**
+     * Query for an order listing; {@code deliveryPartner} selects the nested partner and
+     * {@code deliveryPartner.<field>} a single partner field.
+     */
+    public FieldQuery orders(String fields, boolean byCity, boolean byStatus) {
+        return query(orders, fields, byCity, byStatus);
+    }
+
+    public FieldQuery partners(String fields, boolean byCity, boolean byStatus) {
+        return query(partners, fields, byCity, byStatus);
+    }
+
+    /**
+     * Runs one page of the query, newest first, on the current shard and transaction. The
+     * count is skipped when the page shows it is not needed.
+     */
+    public Page<Row> fetch(FieldQuery query, String city, Object status, Pageable pageable) {
+        TypedQuery<Object[]> select = entityManager.createQuery(query.select, Object[].class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        bind(query, select, city, status);
+        List<Row> rows = select.getResultList().stream().map(query::read).toList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(query.count, Long.class);
+            bind(query, count, city, status);
+            return count.getSingleResult();
+        });
+    }
+
+    public static PagedResponse<Map<String, Object>> toPagedResponse(Page<Row> rows) {
+        return PagedResponse.<Map<String, Object>>builder()
+                .content(rows.getContent().stream().map(Row::fields).toList())
+                .page(rows.getNumber())
+                .size(rows.getSize())
+                .totalElements(rows.getTotalElements())
+                .totalPages(rows.getTotalPages())
+                .last(rows.isLast())
+                .build();
+    }
+
+    private FieldQuery query(Resource resource, String fields, boolean byCity, boolean byStatus) {
+        long mask = resource.parse(fields);
+        String key = resource.entity() + ':' + Long.toHexString(mask) + ':' + byCity + ':' + byStatus;
+        FieldQuery query = queries.get(key);
+        if (query == null) {
+            query = resource.compile(mask, byCity, byStatus);
+            if (queries.size() < MAX_CACHED_QUERIES) {
+                queries.putIfAbsent(key, query);
+            }
+        }
+        return query;
+    }
+
+    private static void bind(FieldQuery query, TypedQuery<?> target, String city, Object status) {
+        if (query.byCity) {
+            target.setParameter("city", city);
+        }
+        if (query.byStatus) {
+            target.setParameter("status", status);
+        }
+    }
+
+    /**
+     * One listed row: the merge keys plus the requested fields, in allow-list order.
+     */
+    public record Row(Long id, LocalDateTime createdAt, Map<String, Object> fields) {
+
+        public static final Comparator<Row> NEWEST_FIRST = Comparator
+                .comparing(Row::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Row::id, Comparator.reverseOrder());
+    }
+
+    /**
+     * A compiled field set: select and count JPQL plus the writers that turn a result row into
+     * the output map.
+     */
+    public static final class FieldQuery {
+
+        private final String select;
+        private final String count;
+        private final boolean byCity;
+        private final boolean byStatus;
+        private final List<BiConsumer<Object[], Map<String, Object>>> writers;
+
+        private FieldQuery(String select, String count, boolean byCity, boolean byStatus,
+                List<BiConsumer<Object[], Map<String, Object>>> writers) {
+            this.select = select;
+            this.count = count;
+            this.byCity = byCity;
+            this.byStatus = byStatus;
+            this.writers = writers;
+        }
+
+        private Row read(Object[] row) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            writers.forEach(writer -> writer.accept(row, fields));
+            return new Row((Long) row[0], (LocalDateTime) row[1], fields);
+        }
+    }
+
+    private interface Reader {
+        Object read(Object[] row, int offset);
+    }
+
+    private record Field(String name, List<String> properties, Reader reader) {
+
+        static Field column(String property) {
+            return new Field(property, List.of(property), (row, i) -> row[i]);
+        }
+    }
+
+    private record Resource(String name, String entity, String alias, List<Field> fields, List<Field> nested) {
+
+        long parse(String requested) {
+            long mask = 0;
+            for (String part : requested.split(",")) {
+                String field = part.trim();
+                if (!field.isEmpty()) {
+                    mask |= bitsOf(field);
+                }
+            }
+            if (mask == 0) {
+                throw new BadRequestException("fields must name at least one field");
+            }
+            return mask;
+        }
+
+        private long bitsOf(String field) {
+            int index = indexOf(fields, field);
+            if (index >= 0) {
+                return 1L << index;
+            }
+            if (!nested.isEmpty()) {
+                if (field.equals(PARTNER)) {
+                    return ((1L << nested.size()) - 1) << fields.size();
+                }
+                if (field.startsWith(PARTNER + ".")) {
+                    int nestedIndex = indexOf(nested, field.substring(PARTNER.length() + 1));
+                    if (nestedIndex >= 0) {
+                        return 1L << (fields.size() + nestedIndex);
+                    }
+                }
+            }
+            throw new BadRequestException(String.format("Unknown field '%s' for %s; allowed: %s",
+                    field, name, allowed()));
+        }
+
+        private String allowed() {
+            String own = fields.stream().map(Field::name).collect(Collectors.joining(", "));
+            return nested.isEmpty() ? own : own + ", " + PARTNER + ", " + PARTNER + ".<field>";
+        }
+
+        FieldQuery compile(long mask, boolean byCity, boolean byStatus) {
+            StringBuilder select = new StringBuilder("SELECT ")
+                    .append(alias).append(".id, ").append(alias).append(".createdAt");
+            List<BiConsumer<Object[], Map<String, Object>>> writers = new ArrayList<>();
+            int column = 2;
+            for (int i = 0; i < fields.size(); i++) {
+                if ((mask & (1L << i)) != 0) {
+                    column = addField(select, writers, alias, fields.get(i), column);
+                }
+            }
+
+            boolean join = (mask >>> fields.size()) != 0;
+            if (join) {
+                // The partner id tells a missing partner apart from one whose fields are null
+                int present = column++;
+                select.append(", pa.id");
+                List<BiConsumer<Object[], Map<String, Object>>> partnerWriters = new ArrayList<>();
+                for (int i = 0; i < nested.size(); i++) {
+                    if ((mask & (1L << (fields.size() + i))) != 0) {
+                        column = addField(select, partnerWriters, "pa", nested.get(i), column);
+                    }
+                }
+                writers.add((row, out) -> {
+                    if (row[present] == null) {
+                        out.put(PARTNER, null);
+                        return;
+                    }
+                    Map<String, Object> partner = new LinkedHashMap<>();
+                    partnerWriters.forEach(writer -> writer.accept(row, partner));
+                    out.put(PARTNER, partner);
+                });
+            }
+
+            String from = " FROM " + entity + " " + alias;
+            String where = where(byCity, byStatus);
+            select.append(from);
+            if (join) {
+                select.append(" LEFT JOIN ").append(alias).append('.').append(PARTNER).append(" pa");
+            }
+            select.append(where)
+                    .append(" ORDER BY ").append(alias).append(".createdAt DESC, ").append(alias).append(".id DESC");
+            String count = "SELECT COUNT(" + alias + ")" + from + where;
+            return new FieldQuery(select.toString(), count, byCity, byStatus, List.copyOf(writers));
+        }
+
+        private String where(boolean byCity, boolean byStatus) {
+            List<String> conditions = new ArrayList<>(2);
+            if (byCity) {
+                conditions.add(alias + ".city = :city");
+            }
+            if (byStatus) {
+                conditions.add(alias + ".status = :status");
+            }
+            return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        }
+
+        private static int addField(StringBuilder select, List<BiConsumer<Object[], Map<String, Object>>> writers,
+                String alias, Field field, int column) {
+            for (String property : field.properties()) {
+                select.append(", ").append(alias).append('.').append(property);
+            }
+            int offset = column;
+            writers.add((row, out) -> out.put(field.name(), field.reader().read(row, offset)));
+            return column + field.properties().size();
+        }
+
+        private static int indexOf(List<Field> fields, String name) {
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i).name().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
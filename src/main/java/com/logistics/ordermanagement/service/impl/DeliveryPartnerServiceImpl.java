@@ -1,41 +1,99 @@
 package com.logistics.ordermanagement.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logistics.ordermanagement.dto.request.CreateDeliveryPartnerRequest;
+import com.logistics.ordermanagement.dto.request.UpdatePartnerCapacityRequest;
 import com.logistics.ordermanagement.dto.request.UpdatePartnerStatusRequest;
 import com.logistics.ordermanagement.dto.response.DeliveryPartnerResponse;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
+import com.logistics.ordermanagement.dto.response.PartnerImportResponse;
+import com.logistics.ordermanagement.dto.response.PartnerImportRowResult;
 import com.logistics.ordermanagement.entity.DeliveryPartner;
+import com.logistics.ordermanagement.enums.PartnerImportFormat;
+import com.logistics.ordermanagement.enums.PartnerImportOutcome;
 import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.event.DeliveryPartnersImportedEvent;
 import com.logistics.ordermanagement.exception.BadRequestException;
 import com.logistics.ordermanagement.exception.ResourceNotFoundException;
 import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
 import com.logistics.ordermanagement.service.DeliveryPartnerService;
+import com.logistics.ordermanagement.service.PartnerCapacityService;
+import com.logistics.ordermanagement.service.SparseFieldsets;
+import com.logistics.ordermanagement.shard.ShardDirectory;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import com.logistics.ordermanagement.shard.ShardKey;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
 
+    // Listings that span shards are merged on this order, so it needs a unique tie-breaker
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Comparator<DeliveryPartnerResponse> NEWEST_FIRST_ORDER = Comparator
+            .comparing(DeliveryPartnerResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(DeliveryPartnerResponse::getId, Comparator.reverseOrder());
+
+    private static final String INSERT_PARTNER_SQL =
+            "INSERT INTO delivery_partners (name, phone, email, city, status, vehicle_type, latitude, longitude, "
+                    + "location_updated_at, created_at, capacity, active_orders) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
     private final DeliveryPartnerRepository deliveryPartnerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PartnerCapacityService partnerCapacityService;
+    private final ShardDirectory shardDirectory;
+    private final ShardExecutor shardExecutor;
+    private final SparseFieldsets sparseFieldsets;
+
+    @Value("${partner.import.chunk-size:500}")
+    private int importChunkSize;
+
+    @Value("${partner.import.max-rows:10000}")
+    private int importMaxRows;
 
     @Override
     @Transactional
-    public DeliveryPartnerResponse createDeliveryPartner(CreateDeliveryPartnerRequest request) {
+    public DeliveryPartnerResponse createDeliveryPartner(@ShardKey("city") CreateDeliveryPartnerRequest request) {
         log.info("Creating new delivery partner: {}", request.getName());
 
-        if (deliveryPartnerRepository.existsByPhone(request.getPhone())) {
+        // Phones are unique across shards, not just within the partner's own
+        if (shardExecutor.locate(() -> deliveryPartnerRepository.existsByPhone(request.getPhone())).isPresent()) {
             throw new BadRequestException("A delivery partner with this phone number already exists");
         }
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BadRequestException("latitude and longitude must be provided together");
+        }
 
         DeliveryPartner partner = DeliveryPartner.builder()
                 .name(request.getName())
@@ -44,6 +102,10 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
                 .city(request.getCity().toUpperCase())
                 .status(PartnerStatus.AVAILABLE)
                 .vehicleType(request.getVehicleType())
+                .capacity(request.getCapacity())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .locationUpdatedAt(request.getLatitude() != null ? LocalDateTime.now() : null)
                 .build();
 
         DeliveryPartner savedPartner = deliveryPartnerRepository.save(partner);
@@ -52,9 +114,71 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
         return mapToDeliveryPartnerResponse(savedPartner);
     }
 
+    @Override
+    @Transactional
+    public PartnerImportResponse importDeliveryPartners(InputStream input, PartnerImportFormat format) {
+        log.info("Importing delivery partners from {} stream", format);
+
+        List<PartnerImportRowResult> results = new ArrayList<>();
+        Set<String> seenPhones = new HashSet<>();
+        Map<String, PendingPartner> chunk = new LinkedHashMap<>();
+
+        try (PartnerImportReader reader = PartnerImportReader.open(input, format, objectMapper)) {
+            PartnerImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.number() > importMaxRows) {
+                    throw new BadRequestException(
+                            String.format("Import is limited to %d rows per request", importMaxRows));
+                }
+
+                PartnerImportRowResult result = PartnerImportRowResult.builder().row(row.number()).build();
+                results.add(result);
+
+                CreateDeliveryPartnerRequest request = row.request();
+                if (request != null) {
+                    result.setPhone(request.getPhone());
+                }
+
+                String error = row.error() != null ? row.error() : validate(request);
+                if (error != null) {
+                    result.setOutcome(PartnerImportOutcome.INVALID);
+                    result.setError(error);
+                    continue;
+                }
+
+                if (!seenPhones.add(request.getPhone())) {
+                    result.setOutcome(PartnerImportOutcome.DUPLICATE_IN_FILE);
+                    result.setError("Phone number appears earlier in the file");
+                    continue;
+                }
+
+                chunk.put(request.getPhone(), new PendingPartner(request, result));
+                if (chunk.size() >= importChunkSize) {
+                    importChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read import file: " + e.getMessage());
+        }
+
+        int imported = (int) results.stream()
+                .filter(result -> result.getOutcome() == PartnerImportOutcome.IMPORTED)
+                .count();
+        log.info("Delivery partner import finished: {} row(s), {} imported", results.size(), imported);
+
+        return PartnerImportResponse.builder()
+                .total(results.size())
+                .imported(imported)
+                .rejected(results.size() - imported)
+                .results(results)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public DeliveryPartnerResponse getDeliveryPartnerById(Long id) {
+    public DeliveryPartnerResponse getDeliveryPartnerById(@ShardKey Long id) {
         log.debug("Fetching delivery partner by id: {}", id);
         DeliveryPartner partner = deliveryPartnerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DeliveryPartner", "id", id));
@@ -65,14 +189,14 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
     @Transactional(readOnly = true)
     public PagedResponse<DeliveryPartnerResponse> getAllDeliveryPartners(int page, int size) {
         log.debug("Fetching all delivery partners - page: {}, size: {}", page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<DeliveryPartner> partners = deliveryPartnerRepository.findAll(pageable);
-        return mapToPagedResponse(partners);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        return toPagedResponse(shardExecutor.mergePages(pageable, NEWEST_FIRST_ORDER,
+                p -> deliveryPartnerRepository.findAll(p).map(this::mapToDeliveryPartnerResponse)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PagedResponse<DeliveryPartnerResponse> getDeliveryPartnersByCity(String city, int page, int size) {
+    public PagedResponse<DeliveryPartnerResponse> getDeliveryPartnersByCity(@ShardKey String city, int page, int size) {
         log.debug("Fetching delivery partners by city: {} - page: {}, size: {}", city, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<DeliveryPartner> partners = deliveryPartnerRepository.findByCity(city.toUpperCase(), pageable);
@@ -84,14 +208,35 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
     public PagedResponse<DeliveryPartnerResponse> getDeliveryPartnersByStatus(PartnerStatus status, int page,
             int size) {
         log.debug("Fetching delivery partners by status: {} - page: {}, size: {}", status, page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<DeliveryPartner> partners = deliveryPartnerRepository.findByStatus(status, pageable);
-        return mapToPagedResponse(partners);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        return toPagedResponse(shardExecutor.mergePages(pageable, NEWEST_FIRST_ORDER,
+                p -> deliveryPartnerRepository.findByStatus(status, p).map(this::mapToDeliveryPartnerResponse)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<Map<String, Object>> getDeliveryPartnerFields(String fields, PartnerStatus status, int page,
+            int size) {
+        log.debug("Fetching delivery partner fields [{}] - status: {}, page: {}, size: {}", fields, status, page, size);
+        SparseFieldsets.FieldQuery query = sparseFieldsets.partners(fields, false, status != null);
+        return SparseFieldsets.toPagedResponse(shardExecutor.mergePages(PageRequest.of(page, size, NEWEST_FIRST),
+                SparseFieldsets.Row.NEWEST_FIRST, p -> sparseFieldsets.fetch(query, null, status, p)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<Map<String, Object>> getDeliveryPartnerFieldsByCity(@ShardKey String city, String fields,
+            PartnerStatus status, int page, int size) {
+        log.debug("Fetching delivery partner fields [{}] by city: {} - status: {}, page: {}, size: {}",
+                fields, city, status, page, size);
+        SparseFieldsets.FieldQuery query = sparseFieldsets.partners(fields, true, status != null);
+        return SparseFieldsets.toPagedResponse(
+                sparseFieldsets.fetch(query, city.toUpperCase(), status, PageRequest.of(page, size, NEWEST_FIRST)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<DeliveryPartnerResponse> getAvailablePartnersByCity(String city) {
+    public List<DeliveryPartnerResponse> getAvailablePartnersByCity(@ShardKey String city) {
         log.debug("Fetching available delivery partners by city: {}", city);
         List<DeliveryPartner> partners = deliveryPartnerRepository
                 .findByCityAndStatus(city.toUpperCase(), PartnerStatus.AVAILABLE);
@@ -100,19 +245,119 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
 
     @Override
     @Transactional
-    public DeliveryPartnerResponse updatePartnerStatus(Long id, UpdatePartnerStatusRequest request) {
+    public DeliveryPartnerResponse updatePartnerStatus(@ShardKey Long id, UpdatePartnerStatusRequest request) {
         log.info("Updating delivery partner status for id: {} to status: {}", id, request.getStatus());
 
         DeliveryPartner partner = deliveryPartnerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DeliveryPartner", "id", id));
 
-        partner.setStatus(request.getStatus());
+        // AVAILABLE is only kept while the partner has spare capacity
+        partnerCapacityService.applyStatus(partner, request.getStatus());
         DeliveryPartner updatedPartner = deliveryPartnerRepository.save(partner);
 
         log.info("Delivery partner status updated successfully for id: {}", id);
         return mapToDeliveryPartnerResponse(updatedPartner);
     }
 
+    @Override
+    @Transactional
+    public DeliveryPartnerResponse updatePartnerCapacity(@ShardKey Long id, UpdatePartnerCapacityRequest request) {
+        log.info("Updating delivery partner capacity for id: {} to: {}", id, request.getCapacity());
+
+        DeliveryPartner partner = deliveryPartnerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("DeliveryPartner", "id", id));
+
+        partnerCapacityService.updateCapacity(partner, request.getCapacity());
+        DeliveryPartner updatedPartner = deliveryPartnerRepository.save(partner);
+
+        log.info("Delivery partner capacity updated for id: {} ({} of {} in use)", id,
+                updatedPartner.getActiveOrders(), partnerCapacityService.capacityOf(updatedPartner));
+        return mapToDeliveryPartnerResponse(updatedPartner);
+    }
+
+    /**
+     * One IN query to find phones already registered, one JDBC batch insert for the
+     * rest, then one read-back to resolve the generated ids. Sharded, the phone check
+     * covers every shard and each shard's rows are inserted in a transaction of their own.
+     */
+    private void importChunk(Map<String, PendingPartner> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        for (List<String> existingPhones : shardExecutor.onAllShards(
+                () -> deliveryPartnerRepository.findExistingPhones(chunk.keySet()))) {
+            for (String phone : existingPhones) {
+                PendingPartner existing = chunk.remove(phone);
+                if (existing != null) {
+                    existing.result().setOutcome(PartnerImportOutcome.ALREADY_EXISTS);
+                    existing.result().setError("A delivery partner with this phone number already exists");
+                }
+            }
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        if (!shardExecutor.isSharded()) {
+            insertChunk(chunk);
+            return;
+        }
+        Map<String, Map<String, PendingPartner>> chunkByShard = new LinkedHashMap<>();
+        chunk.forEach((phone, pending) -> {
+            String shard = shardDirectory.shardForCity(pending.request().getCity());
+            chunkByShard.computeIfAbsent(shard, s -> new LinkedHashMap<>()).put(phone, pending);
+        });
+        chunkByShard.forEach((shard, shardChunk) -> shardExecutor.inTransaction(shard, false, () -> {
+            insertChunk(shardChunk);
+            return null;
+        }));
+    }
+
+    private void insertChunk(Map<String, PendingPartner> chunk) {
+        List<CreateDeliveryPartnerRequest> requests = chunk.values().stream().map(PendingPartner::request).toList();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PARTNER_SQL, requests, requests.size(), (ps, request) -> {
+            ps.setString(1, request.getName());
+            ps.setString(2, request.getPhone());
+            ps.setString(3, request.getEmail());
+            ps.setString(4, request.getCity().toUpperCase());
+            ps.setString(5, PartnerStatus.AVAILABLE.name());
+            ps.setString(6, request.getVehicleType());
+            ps.setObject(7, request.getLatitude(), Types.DOUBLE);
+            ps.setObject(8, request.getLongitude(), Types.DOUBLE);
+            ps.setTimestamp(9, request.getLatitude() != null ? createdAt : null);
+            ps.setTimestamp(10, createdAt);
+            ps.setObject(11, request.getCapacity(), Types.INTEGER);
+        });
+
+        List<DeliveryPartner> inserted = deliveryPartnerRepository.findByPhoneIn(chunk.keySet());
+        for (DeliveryPartner partner : inserted) {
+            PartnerImportRowResult result = chunk.get(partner.getPhone()).result();
+            result.setOutcome(PartnerImportOutcome.IMPORTED);
+            result.setPartnerId(partner.getId());
+        }
+
+        eventPublisher.publishEvent(new DeliveryPartnersImportedEvent(inserted));
+        log.info("Imported chunk of {} delivery partner(s)", inserted.size());
+    }
+
+    private String validate(CreateDeliveryPartnerRequest request) {
+        Set<ConstraintViolation<CreateDeliveryPartnerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return (request.getLatitude() == null) != (request.getLongitude() == null)
+                    ? "latitude and longitude must be provided together"
+                    : null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record PendingPartner(CreateDeliveryPartnerRequest request, PartnerImportRowResult result) {
+    }
+
     private DeliveryPartnerResponse mapToDeliveryPartnerResponse(DeliveryPartner partner) {
         return DeliveryPartnerResponse.builder()
                 .id(partner.getId())
@@ -122,13 +367,22 @@ public class DeliveryPartnerServiceImpl implements DeliveryPartnerService {
                 .city(partner.getCity())
                 .status(partner.getStatus())
                 .vehicleType(partner.getVehicleType())
+                .capacity(partnerCapacityService.capacityOf(partner))
+                .activeOrders(partner.getActiveOrders())
+                .latitude(partner.getLatitude())
+                .longitude(partner.getLongitude())
+                .locationUpdatedAt(partner.getLocationUpdatedAt())
                 .createdAt(partner.getCreatedAt())
                 .build();
     }
 
     private PagedResponse<DeliveryPartnerResponse> mapToPagedResponse(Page<DeliveryPartner> partners) {
+        return toPagedResponse(partners.map(this::mapToDeliveryPartnerResponse));
+    }
+
+    private PagedResponse<DeliveryPartnerResponse> toPagedResponse(Page<DeliveryPartnerResponse> partners) {
         return PagedResponse.<DeliveryPartnerResponse>builder()
-                .content(partners.getContent().stream().map(this::mapToDeliveryPartnerResponse).toList())
+                .content(partners.getContent())
                 .page(partners.getNumber())
                 .size(partners.getSize())
                 .totalElements(partners.getTotalElements())
@@ -0,0 +1,87 @@
+package com.logistics.ordermanagement.service.impl;
+
+import com.logistics.ordermanagement.config.IdempotencyProperties;
+import com.logistics.ordermanagement.service.IdempotencyStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Single-node idempotency store: an access-ordered LRU map bounded to
+ * {@code idempotency.max-entries}, with per-entry expiry checked on access and
+ * purged periodically.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        int maxEntries = properties.getMaxEntries();
+        this.records = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> tryReserve(String key, String fingerprint, Duration lockTimeout) {
+        IdempotencyRecord existing = live(key);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        records.put(key, new IdempotencyRecord(key, fingerprint, Status.IN_PROGRESS, null,
+                Instant.now().plus(lockTimeout)));
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response, Duration ttl) {
+        IdempotencyRecord reserved = records.get(key);
+        if (reserved == null) {
+            return;
+        }
+        records.put(key, new IdempotencyRecord(key, reserved.fingerprint(), Status.COMPLETED, response,
+                Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        records.remove(key);
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(live(key));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        int before = records.size();
+        records.values().removeIf(record -> record.expiresAt().isBefore(now));
+        if (before != records.size()) {
+            log.debug("Purged {} expired idempotency key(s)", before - records.size());
+        }
+    }
+
+    private IdempotencyRecord live(String key) {
+        IdempotencyRecord record = records.get(key);
+        if (record != null && record.expiresAt().isBefore(Instant.now())) {
+            records.remove(key);
+            return null;
+        }
+        return record;
+    }
+}
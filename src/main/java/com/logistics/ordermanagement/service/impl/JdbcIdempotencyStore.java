@@ -0,0 +1,91 @@
+package com.logistics.ordermanagement.service.impl;
+
+import com.logistics.ordermanagement.service.IdempotencyStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency store shared by all nodes through the idempotency_keys table.
+ * The primary key makes reservation a race-free INSERT; expired rows are treated
+ * as absent and purged on a schedule. Response bodies are kept as raw bytes, since
+ * negotiated CBOR and Smile responses are not text.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final RowMapper<IdempotencyRecord> ROW_MAPPER = (rs, rowNum) -> {
+        Status status = Status.valueOf(rs.getString("status"));
+        byte[] body = rs.getBytes("response_body");
+        StoredResponse response = status == Status.COMPLETED
+                ? new StoredResponse(rs.getInt("response_status"), rs.getString("content_type"),
+                        body == null ? new byte[0] : body)
+                : null;
+        return new IdempotencyRecord(rs.getString("idempotency_key"), rs.getString("fingerprint"), status,
+                response, rs.getTimestamp("expires_at").toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<IdempotencyRecord> tryReserve(String key, String fingerprint, Duration lockTimeout) {
+        // Clear an expired holder first so its key can be claimed again
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at < ?",
+                key, Timestamp.from(Instant.now()));
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, expires_at) "
+                    + "VALUES (?, ?, ?, ?)",
+                    key, fingerprint, Status.IN_PROGRESS.name(), Timestamp.from(Instant.now().plus(lockTimeout)));
+            return Optional.empty();
+        } catch (DuplicateKeyException e) {
+            Optional<IdempotencyRecord> existing = find(key);
+            // Holder finished and was released between our INSERT and SELECT; try once more
+            return existing.isPresent() ? existing : tryReserve(key, fingerprint, lockTimeout);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Duration ttl) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = ?, response_status = ?, content_type = ?, "
+                + "response_body = ?, expires_at = ? WHERE idempotency_key = ?",
+                Status.COMPLETED.name(), response.status(), response.contentType(),
+                response.body(), Timestamp.from(Instant.now().plus(ttl)), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        List<IdempotencyRecord> rows = jdbcTemplate.query(
+                "SELECT idempotency_key, fingerprint, status, response_status, content_type, response_body, "
+                        + "expires_at FROM idempotency_keys WHERE idempotency_key = ? AND expires_at >= ?",
+                ROW_MAPPER, key, Timestamp.from(Instant.now()));
+        return rows.stream().findFirst();
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.from(Instant.now()));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+}
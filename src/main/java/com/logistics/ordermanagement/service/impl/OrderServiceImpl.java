@@ -1,28 +1,44 @@
 package com.logistics.ordermanagement.service.impl;
 
+import com.logistics.ordermanagement.config.OrderSearchProperties;
 import com.logistics.ordermanagement.dto.request.AssignPartnerRequest;
+import com.logistics.ordermanagement.dto.request.BulkStatusUpdateItem;
+import com.logistics.ordermanagement.dto.request.BulkUpdateOrderStatusRequest;
 import com.logistics.ordermanagement.dto.request.CancelOrderRequest;
 import com.logistics.ordermanagement.dto.request.CreateOrderRequest;
 import com.logistics.ordermanagement.dto.request.UpdateOrderStatusRequest;
+import com.logistics.ordermanagement.dto.response.BulkStatusUpdateResponse;
+import com.logistics.ordermanagement.dto.response.BulkStatusUpdateResult;
+import com.logistics.ordermanagement.dto.response.CursorPagedResponse;
 import com.logistics.ordermanagement.dto.response.DeliveryPartnerResponse;
 import com.logistics.ordermanagement.dto.response.OrderAuditLogResponse;
 import com.logistics.ordermanagement.dto.response.OrderResponse;
+import com.logistics.ordermanagement.dto.response.OrderSearchHit;
 import com.logistics.ordermanagement.dto.response.PagedResponse;
 import com.logistics.ordermanagement.entity.DeliveryPartner;
 import com.logistics.ordermanagement.entity.Order;
 import com.logistics.ordermanagement.enums.OrderStatus;
-import com.logistics.ordermanagement.enums.PartnerStatus;
+import com.logistics.ordermanagement.event.OrderAssignedEvent;
 import com.logistics.ordermanagement.exception.BadRequestException;
 import com.logistics.ordermanagement.exception.InvalidStatusTransitionException;
 import com.logistics.ordermanagement.exception.ResourceNotFoundException;
 import com.logistics.ordermanagement.repository.DeliveryPartnerRepository;
 import com.logistics.ordermanagement.repository.OrderRepository;
+import com.logistics.ordermanagement.search.OrderSearchIndex;
 import com.logistics.ordermanagement.service.AssignmentService;
 import com.logistics.ordermanagement.service.AuditService;
 import com.logistics.ordermanagement.service.NotificationService;
 import com.logistics.ordermanagement.service.OrderService;
+import com.logistics.ordermanagement.service.OrderStatusChange;
+import com.logistics.ordermanagement.service.PartnerCapacityService;
+import com.logistics.ordermanagement.service.SparseFieldsets;
+import com.logistics.ordermanagement.shard.ShardDirectory;
+import com.logistics.ordermanagement.shard.ShardExecutor;
+import com.logistics.ordermanagement.shard.ShardKey;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,25 +47,55 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "orders.service", description = "Order service operation latency")
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    // Listings that span shards are merged on this order, so it needs a unique tie-breaker
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Comparator<OrderResponse> NEWEST_FIRST_ORDER = Comparator
+            .comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(OrderResponse::getId, Comparator.reverseOrder());
+
     private final OrderRepository orderRepository;
     private final DeliveryPartnerRepository deliveryPartnerRepository;
     private final AuditService auditService;
     private final NotificationService notificationService;
     private final AssignmentService assignmentService;
+    private final PartnerCapacityService partnerCapacityService;
+    private final ShardDirectory shardDirectory;
+    private final ShardExecutor shardExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SparseFieldsets sparseFieldsets;
+    private final OrderSearchIndex orderSearchIndex;
+    private final OrderSearchProperties orderSearchProperties;
 
     @Override
     @Transactional
-    public OrderResponse createOrder(CreateOrderRequest request) {
+    public OrderResponse createOrder(@ShardKey("city") CreateOrderRequest request) {
         log.info("Creating new order for customer: {}", request.getCustomerName());
 
+        if ((request.getPickupLatitude() == null) != (request.getPickupLongitude() == null)) {
+            throw new BadRequestException("pickupLatitude and pickupLongitude must be provided together");
+        }
+
         Order order = Order.builder()
                 .orderNumber(generateOrderNumber())
                 .customerName(request.getCustomerName())
@@ -57,7 +103,10 @@ public class OrderServiceImpl implements OrderService {
                 .pickupAddress(request.getPickupAddress())
                 .deliveryAddress(request.getDeliveryAddress())
                 .city(request.getCity().toUpperCase())
+                .pickupLatitude(request.getPickupLatitude())
+                .pickupLongitude(request.getPickupLongitude())
                 .status(OrderStatus.PLACED)
+                .autoAssign(Boolean.TRUE.equals(request.getAutoAssign()))
                 .build();
 
         Order savedOrder = orderRepository.save(order);
@@ -69,7 +118,7 @@ public class OrderServiceImpl implements OrderService {
         notificationService.notifyOrderCreated(savedOrder);
 
         // Auto-assign if requested
-        if (Boolean.TRUE.equals(request.getAutoAssign())) {
+        if (savedOrder.isAutoAssign()) {
             assignmentService.autoAssignPartner(savedOrder);
             // Refresh the order to get updated state
             savedOrder = orderRepository.findById(savedOrder.getId()).orElse(savedOrder);
@@ -81,7 +130,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public OrderResponse getOrderById(Long id) {
+    public OrderResponse getOrderById(@ShardKey Long id) {
         log.debug("Fetching order by id: {}", id);
         Order order = orderRepository.findByIdWithDeliveryPartner(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
@@ -92,23 +141,29 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public OrderResponse getOrderByOrderNumber(String orderNumber) {
         log.debug("Fetching order by order number: {}", orderNumber);
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        return shardExecutor
+                .findFirst(() -> orderRepository.findByOrderNumber(orderNumber).map(this::mapToOrderResponse))
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "orderNumber", orderNumber));
-        return mapToOrderResponse(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<OrderResponse> getAllOrders(int page, int size) {
         log.debug("Fetching all orders - page: {}, size: {}", page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Order> orders = orderRepository.findAll(pageable);
-        return mapToPagedResponse(orders);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        return toPagedResponse(shardExecutor.mergePages(pageable, NEWEST_FIRST_ORDER,
+                p -> orderRepository.findAll(p).map(this::mapToOrderResponse)));
+    }
+
+    @Override
+    public List<OrderSearchHit> searchOrders(String query, Integer limit) {
+        log.debug("Searching orders for: {}", query);
+        return orderSearchIndex.search(query, limit != null ? limit : orderSearchProperties.getDefaultResults());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PagedResponse<OrderResponse> getOrdersByCity(String city, int page, int size) {
+    public PagedResponse<OrderResponse> getOrdersByCity(@ShardKey String city, int page, int size) {
         log.debug("Fetching orders by city: {} - page: {}, size: {}", city, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Order> orders = orderRepository.findByCity(city.toUpperCase(), pageable);
@@ -119,14 +174,35 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public PagedResponse<OrderResponse> getOrdersByStatus(OrderStatus status, int page, int size) {
         log.debug("Fetching orders by status: {} - page: {}, size: {}", status, page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Order> orders = orderRepository.findByStatus(status, pageable);
-        return mapToPagedResponse(orders);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        return toPagedResponse(shardExecutor.mergePages(pageable, NEWEST_FIRST_ORDER,
+                p -> orderRepository.findByStatus(status, p).map(this::mapToOrderResponse)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<Map<String, Object>> getOrderFields(String fields, OrderStatus status, int page, int size) {
+        log.debug("Fetching order fields [{}] - status: {}, page: {}, size: {}", fields, status, page, size);
+        SparseFieldsets.FieldQuery query = sparseFieldsets.orders(fields, false, status != null);
+        return SparseFieldsets.toPagedResponse(shardExecutor.mergePages(PageRequest.of(page, size, NEWEST_FIRST),
+                SparseFieldsets.Row.NEWEST_FIRST, p -> sparseFieldsets.fetch(query, null, status, p)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PagedResponse<OrderResponse> getOrdersByCityAndStatus(String city, OrderStatus status, int page, int size) {
+    public PagedResponse<Map<String, Object>> getOrderFieldsByCity(@ShardKey String city, String fields,
+            OrderStatus status, int page, int size) {
+        log.debug("Fetching order fields [{}] by city: {} - status: {}, page: {}, size: {}",
+                fields, city, status, page, size);
+        SparseFieldsets.FieldQuery query = sparseFieldsets.orders(fields, true, status != null);
+        return SparseFieldsets.toPagedResponse(
+                sparseFieldsets.fetch(query, city.toUpperCase(), status, PageRequest.of(page, size, NEWEST_FIRST)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<OrderResponse> getOrdersByCityAndStatus(@ShardKey String city, OrderStatus status, int page,
+            int size) {
         log.debug("Fetching orders by city: {} and status: {} - page: {}, size: {}", city, status, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Order> orders = orderRepository.findByCityAndStatus(city.toUpperCase(), status, pageable);
@@ -135,30 +211,30 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public OrderResponse updateOrderStatus(Long id, UpdateOrderStatusRequest request) {
+    public OrderResponse updateOrderStatus(@ShardKey Long id, UpdateOrderStatusRequest request) {
         log.info("Updating order status for order id: {} to status: {}", id, request.getStatus());
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
 
-        String oldStatus = order.getStatus().name();
+        OrderStatus oldStatus = order.getStatus();
         validateStatusTransition(order.getStatus(), request.getStatus());
 
         order.setStatus(request.getStatus());
 
-        // If order is delivered, mark partner as available
+        // If order is delivered, free up one unit of the partner's capacity
         if (request.getStatus() == OrderStatus.DELIVERED && order.getDeliveryPartner() != null) {
-            order.getDeliveryPartner().setStatus(PartnerStatus.AVAILABLE);
+            partnerCapacityService.release(order.getDeliveryPartner(), 1);
             deliveryPartnerRepository.save(order.getDeliveryPartner());
         }
 
         Order updatedOrder = orderRepository.save(order);
 
         // Log audit
-        auditService.logStatusChange(updatedOrder, oldStatus, request.getStatus().name());
+        auditService.logStatusChange(updatedOrder, oldStatus, request.getStatus());
 
         // Send WebSocket notification
-        notificationService.notifyStatusChange(updatedOrder, oldStatus, request.getStatus().name());
+        notificationService.notifyStatusChange(updatedOrder, oldStatus.name(), request.getStatus().name());
 
         log.info("Order status updated successfully for order number: {}", updatedOrder.getOrderNumber());
         return mapToOrderResponse(updatedOrder);
@@ -166,7 +242,111 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public OrderResponse assignDeliveryPartner(Long id, AssignPartnerRequest request) {
+    public BulkStatusUpdateResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request) {
+        List<BulkStatusUpdateItem> items = request.getItems();
+        log.info("Bulk updating status for {} order(s)", items.size());
+
+        List<BulkStatusUpdateResult> results;
+        if (!shardExecutor.isSharded()) {
+            results = applyStatusUpdates(items);
+        } else {
+            // One transaction per shard, each applying its items in request order
+            Map<String, List<BulkStatusUpdateItem>> itemsByShard = items.stream().collect(Collectors.groupingBy(
+                    item -> shardDirectory.shardForId(item.getOrderId()), LinkedHashMap::new, Collectors.toList()));
+            Map<String, Iterator<BulkStatusUpdateResult>> resultsByShard = new HashMap<>();
+            itemsByShard.forEach((shard, shardItems) -> resultsByShard.put(shard,
+                    shardExecutor.inTransaction(shard, false, () -> applyStatusUpdates(shardItems)).iterator()));
+            results = new ArrayList<>(items.size());
+            for (BulkStatusUpdateItem item : items) {
+                results.add(resultsByShard.get(shardDirectory.shardForId(item.getOrderId())).next());
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(BulkStatusUpdateResult::isSuccess).count();
+        log.info("Bulk status update finished: {} succeeded, {} failed", succeeded, items.size() - succeeded);
+        return BulkStatusUpdateResponse.builder()
+                .requested(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Applies status updates to orders of one shard and returns a result per item.
+     */
+    private List<BulkStatusUpdateResult> applyStatusUpdates(List<BulkStatusUpdateItem> items) {
+        // One IN query for every order in the batch
+        Set<Long> ids = items.stream().map(BulkStatusUpdateItem::getOrderId).collect(Collectors.toSet());
+        Map<Long, Order> orders = orderRepository.findAllByIdInWithDeliveryPartner(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<BulkStatusUpdateResult> results = new ArrayList<>(items.size());
+        List<OrderStatusChange> changes = new ArrayList<>();
+        Map<Long, Order> changedOrders = new LinkedHashMap<>();
+        // Sorted so partner rows are locked in id order
+        Map<Long, DeliveryPartner> releasedPartners = new TreeMap<>();
+        Map<Long, Integer> releasedOrders = new HashMap<>();
+
+        // Items are applied in request order, so the same order may move through several states
+        for (BulkStatusUpdateItem item : items) {
+            Order order = orders.get(item.getOrderId());
+            if (order == null) {
+                results.add(BulkStatusUpdateResult.builder()
+                        .orderId(item.getOrderId())
+                        .success(false)
+                        .error(String.format("Order not found with id: '%s'", item.getOrderId()))
+                        .build());
+                continue;
+            }
+
+            OrderStatus oldStatus = order.getStatus();
+            try {
+                validateStatusTransition(oldStatus, item.getStatus());
+            } catch (InvalidStatusTransitionException e) {
+                results.add(BulkStatusUpdateResult.builder()
+                        .orderId(order.getId())
+                        .success(false)
+                        .previousStatus(oldStatus)
+                        .status(oldStatus)
+                        .error(e.getMessage())
+                        .build());
+                continue;
+            }
+
+            order.setStatus(item.getStatus());
+
+            // If order is delivered, free up one unit of the partner's capacity (applied below)
+            if (item.getStatus() == OrderStatus.DELIVERED && order.getDeliveryPartner() != null) {
+                releasedPartners.put(order.getDeliveryPartner().getId(), order.getDeliveryPartner());
+                releasedOrders.merge(order.getDeliveryPartner().getId(), 1, Integer::sum);
+            }
+
+            changedOrders.put(order.getId(), order);
+            changes.add(new OrderStatusChange(order, oldStatus, item.getStatus()));
+            results.add(BulkStatusUpdateResult.builder()
+                    .orderId(order.getId())
+                    .success(true)
+                    .previousStatus(oldStatus)
+                    .status(item.getStatus())
+                    .build());
+        }
+
+        if (!changes.isEmpty()) {
+            releasedPartners.forEach((partnerId, partner) ->
+                    partnerCapacityService.release(partner, releasedOrders.get(partnerId)));
+            // Flushed as JDBC batches (hibernate.jdbc.batch_size)
+            deliveryPartnerRepository.saveAll(releasedPartners.values());
+            orderRepository.saveAll(changedOrders.values());
+            auditService.logStatusChanges(changes);
+            notificationService.notifyBulkStatusChange(changes);
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public OrderResponse assignDeliveryPartner(@ShardKey Long id, AssignPartnerRequest request) {
         log.info("Assigning delivery partner {} to order {}", request.getDeliveryPartnerId(), id);
 
         Order order = orderRepository.findById(id)
@@ -176,29 +356,37 @@ public class OrderServiceImpl implements OrderService {
             throw new BadRequestException("Order can only be assigned when status is PLACED");
         }
 
+        // The order row references the partner row, so both must live in the same shard's database
+        if (!shardDirectory.shardForId(request.getDeliveryPartnerId()).equals(shardDirectory.shardForId(id))) {
+            throw new BadRequestException(String.format(
+                    "Delivery partner %d serves a city on another shard than order %d and cannot be assigned to it",
+                    request.getDeliveryPartnerId(), id));
+        }
+
         DeliveryPartner partner = deliveryPartnerRepository.findById(request.getDeliveryPartnerId())
                 .orElseThrow(
                         () -> new ResourceNotFoundException("DeliveryPartner", "id", request.getDeliveryPartnerId()));
 
-        if (partner.getStatus() != PartnerStatus.AVAILABLE) {
-            throw new BadRequestException("Delivery partner is not available");
+        // Locks the partner row and takes one unit of capacity (BUSY once full)
+        if (!partnerCapacityService.tryReserve(partner)) {
+            throw new BadRequestException("Delivery partner is not available or already at capacity");
         }
 
-        // Assign partner and update statuses
-        String oldStatus = order.getStatus().name();
+        // Assign partner and update order status
+        OrderStatus oldStatus = order.getStatus();
         order.setDeliveryPartner(partner);
         order.setStatus(OrderStatus.ASSIGNED);
-        partner.setStatus(PartnerStatus.BUSY);
 
         deliveryPartnerRepository.save(partner);
         Order updatedOrder = orderRepository.save(order);
 
         // Log audit
         auditService.logPartnerAssigned(updatedOrder, partner.getName(), partner.getId());
-        auditService.logStatusChange(updatedOrder, oldStatus, OrderStatus.ASSIGNED.name());
+        auditService.logStatusChange(updatedOrder, oldStatus, OrderStatus.ASSIGNED);
 
         // Send WebSocket notification
         notificationService.notifyPartnerAssigned(updatedOrder, partner.getName());
+        eventPublisher.publishEvent(new OrderAssignedEvent(updatedOrder, partner.getId()));
 
         log.info("Delivery partner {} assigned to order {} successfully", partner.getName(), order.getOrderNumber());
         return mapToOrderResponse(updatedOrder);
@@ -206,7 +394,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public OrderResponse cancelOrder(Long id, CancelOrderRequest request) {
+    public OrderResponse cancelOrder(@ShardKey Long id, CancelOrderRequest request) {
         log.info("Cancelling order id: {} with reason: {}", id, request.getReason());
 
         Order order = orderRepository.findById(id)
@@ -220,9 +408,9 @@ public class OrderServiceImpl implements OrderService {
             throw new BadRequestException("Order is already cancelled");
         }
 
-        // If order was assigned, release the partner
+        // If order was assigned, free up its unit of the partner's capacity
         if (order.getDeliveryPartner() != null) {
-            order.getDeliveryPartner().setStatus(PartnerStatus.AVAILABLE);
+            partnerCapacityService.release(order.getDeliveryPartner(), 1);
             deliveryPartnerRepository.save(order.getDeliveryPartner());
         }
 
@@ -244,27 +432,31 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderAuditLogResponse> getOrderHistory(Long id) {
-        log.debug("Fetching order history for order id: {}", id);
+    public CursorPagedResponse<OrderAuditLogResponse> getOrderHistory(@ShardKey Long id, String cursor, int size) {
+        log.debug("Fetching order history for order id: {} - cursor: {}, size: {}", id, cursor, size);
+        return auditService.getOrderHistory(id, cursor, clampHistoryPageSize(size));
+    }
 
-        // Verify order exists
-        if (!orderRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Order", "id", id);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderAuditLogResponse> getOrderHistoryByOrderNumber(String orderNumber, String cursor,
+            int size) {
+        log.debug("Fetching order history for order number: {} - cursor: {}, size: {}", orderNumber, cursor, size);
+        if (!shardExecutor.isSharded()) {
+            return auditService.getOrderHistoryByOrderNumber(orderNumber, cursor, clampHistoryPageSize(size));
         }
-
-        return auditService.getOrderHistory(id);
+        String shard = shardExecutor.locate(() -> orderRepository.existsByOrderNumber(orderNumber))
+                .orElse(shardDirectory.getDefaultShard());
+        return shardExecutor.inTransaction(shard, true,
+                () -> auditService.getOrderHistoryByOrderNumber(orderNumber, cursor, clampHistoryPageSize(size)));
     }
 
-    private void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
-        boolean isValid = switch (currentStatus) {
-            case PLACED -> newStatus == OrderStatus.ASSIGNED || newStatus == OrderStatus.CANCELLED;
-            case ASSIGNED -> newStatus == OrderStatus.PICKED || newStatus == OrderStatus.CANCELLED;
-            case PICKED -> newStatus == OrderStatus.DELIVERED || newStatus == OrderStatus.CANCELLED;
-            case DELIVERED -> false; // Cannot transition from DELIVERED
-            case CANCELLED -> false; // Cannot transition from CANCELLED
-        };
+    private int clampHistoryPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+    }
 
-        if (!isValid) {
+    void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
+        if (!currentStatus.canTransitionTo(newStatus)) {
             throw new InvalidStatusTransitionException(currentStatus, newStatus);
         }
     }
@@ -277,7 +469,7 @@ public class OrderServiceImpl implements OrderService {
         return orderNumber;
     }
 
-    private OrderResponse mapToOrderResponse(Order order) {
+    OrderResponse mapToOrderResponse(Order order) {
         DeliveryPartnerResponse partnerResponse = null;
         if (order.getDeliveryPartner() != null) {
             partnerResponse = DeliveryPartnerResponse.builder()
@@ -288,6 +480,11 @@ public class OrderServiceImpl implements OrderService {
                     .city(order.getDeliveryPartner().getCity())
                     .status(order.getDeliveryPartner().getStatus())
                     .vehicleType(order.getDeliveryPartner().getVehicleType())
+                    .capacity(partnerCapacityService.capacityOf(order.getDeliveryPartner()))
+                    .activeOrders(order.getDeliveryPartner().getActiveOrders())
+                    .latitude(order.getDeliveryPartner().getLatitude())
+                    .longitude(order.getDeliveryPartner().getLongitude())
+                    .locationUpdatedAt(order.getDeliveryPartner().getLocationUpdatedAt())
                     .createdAt(order.getDeliveryPartner().getCreatedAt())
                     .build();
         }
@@ -300,6 +497,8 @@ public class OrderServiceImpl implements OrderService {
                 .pickupAddress(order.getPickupAddress())
                 .deliveryAddress(order.getDeliveryAddress())
                 .city(order.getCity())
+                .pickupLatitude(order.getPickupLatitude())
+                .pickupLongitude(order.getPickupLongitude())
                 .status(order.getStatus())
                 .deliveryPartner(partnerResponse)
                 .cancellationReason(order.getCancellationReason())
@@ -309,9 +508,13 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    private PagedResponse<OrderResponse> mapToPagedResponse(Page<Order> orders) {
+    PagedResponse<OrderResponse> mapToPagedResponse(Page<Order> orders) {
+        return toPagedResponse(orders.map(this::mapToOrderResponse));
+    }
+
+    private PagedResponse<OrderResponse> toPagedResponse(Page<OrderResponse> orders) {
         return PagedResponse.<OrderResponse>builder()
-                .content(orders.getContent().stream().map(this::mapToOrderResponse).toList())
+                .content(orders.getContent())
                 .page(orders.getNumber())
                 .size(orders.getSize())
                 .totalElements(orders.getTotalElements())
@@ -0,0 +1,206 @@
+package com.logistics.ordermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logistics.ordermanagement.dto.request.CreateDeliveryPartnerRequest;
+import com.logistics.ordermanagement.enums.PartnerImportFormat;
+import com.logistics.ordermanagement.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams partner rows out of a CSV or JSON import body one at a time, so an
+ * import never holds more than the current chunk in memory.
+ */
+abstract class PartnerImportReader implements Closeable {
+
+    /**
+     * One parsed data row; {@code error} is set when the row could not be mapped at all.
+     */
+    record Row(int number, CreateDeliveryPartnerRequest request, String error) {
+    }
+
+    private int rowNumber;
+
+    static PartnerImportReader open(InputStream input, PartnerImportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReader(input);
+            case JSON -> new JsonReader(input, objectMapper);
+        };
+    }
+
+    /**
+     * Returns the next row, or null once the input is exhausted.
+     */
+    abstract Row next() throws IOException;
+
+    protected int nextRowNumber() {
+        return ++rowNumber;
+    }
+
+    /**
+     * Header-driven CSV: name, phone, email, city, vehicleType, latitude, longitude
+     * (any order, case-insensitive).
+     * Quoted fields may contain commas and doubled quotes but not line breaks.
+     */
+    private static final class CsvReader extends PartnerImportReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = reader.readLine();
+            if (header == null) {
+                throw new BadRequestException("Import file is empty");
+            }
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            List<String> names = split(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("phone") || !columns.containsKey("city")) {
+                throw new BadRequestException("CSV header must contain at least name, phone and city columns");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            int number = nextRowNumber();
+            List<String> values = split(line);
+            CreateDeliveryPartnerRequest request = CreateDeliveryPartnerRequest.builder()
+                    .name(value(values, "name"))
+                    .phone(value(values, "phone"))
+                    .email(value(values, "email"))
+                    .city(value(values, "city"))
+                    .vehicleType(value(values, "vehicletype"))
+                    .build();
+            try {
+                request.setLatitude(coordinate(values, "latitude"));
+                request.setLongitude(coordinate(values, "longitude"));
+            } catch (NumberFormatException e) {
+                return new Row(number, request, "latitude and longitude must be decimal numbers");
+            }
+            try {
+                String capacity = value(values, "capacity");
+                request.setCapacity(capacity == null ? null : Integer.valueOf(capacity));
+            } catch (NumberFormatException e) {
+                return new Row(number, request, "capacity must be a whole number");
+            }
+            return new Row(number, request, null);
+        }
+
+        private Double coordinate(List<String> values, String column) {
+            String value = value(values, column);
+            return value == null ? null : Double.valueOf(value);
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * A top-level JSON array of partner objects, read element by element.
+     */
+    private static final class JsonReader extends PartnerImportReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+
+        JsonReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON import must be an array of delivery partners");
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+
+            int number = nextRowNumber();
+            // Read the element as a tree first so a badly typed row is reported, not fatal
+            JsonNode node = parser.readValueAsTree();
+            if (node == null || !node.isObject()) {
+                return new Row(number, null, "Row must be a JSON object");
+            }
+            try {
+                return new Row(number, objectMapper.treeToValue(node, CreateDeliveryPartnerRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Malformed row: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
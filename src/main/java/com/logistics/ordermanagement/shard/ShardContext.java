@@ -0,0 +1,34 @@
+package com.logistics.ordermanagement.shard;
+
+/**
+ * Shard the current thread's next transaction runs on. Unset means the default shard.
+ * Must be set before the transaction fetches its connection, and not changed until it ends.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the shard and returns the previous one, to be passed to {@link #restore}.
+     */
+    public static String enter(String shard) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.logistics.ordermanagement.shard;
+
+import com.logistics.ordermanagement.config.ShardingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps cities and ids to shard names. Cities come from {@code sharding.directory}; an id
+ * belongs to the shard whose id block contains it. With sharding disabled every lookup
+ * returns the default shard.
+ */
+@Component
+public class ShardDirectory {
+
+    private final boolean sharded;
+    private final String defaultShard;
+    private final long idBlockSize;
+    private final List<String> shardNames;
+    private final Map<Integer, String> shardsByIndex = new HashMap<>();
+    private final Map<String, Integer> indexesByShard = new HashMap<>();
+    private final Map<String, String> shardsByCity = new HashMap<>();
+
+    public ShardDirectory(ShardingProperties properties) {
+        this.sharded = properties.isEnabled();
+        this.defaultShard = properties.getDefaultShard();
+        this.idBlockSize = properties.getIdBlockSize();
+        if (idBlockSize <= 0) {
+            throw new IllegalStateException("sharding.id-block-size must be positive");
+        }
+
+        register(defaultShard, 0);
+        if (sharded) {
+            for (ShardingProperties.Shard shard : properties.getShards()) {
+                if (!StringUtils.hasText(shard.getName()) || shard.getIndex() <= 0) {
+                    throw new IllegalStateException("sharding.shards entries need a name and an index above 0");
+                }
+                register(shard.getName(), shard.getIndex());
+            }
+            properties.getDirectory().forEach((city, shard) -> {
+                if (!indexesByShard.containsKey(shard)) {
+                    throw new IllegalStateException("sharding.directory maps " + city + " to unknown shard " + shard);
+                }
+                shardsByCity.put(normalize(city), shard);
+            });
+        }
+
+        List<String> names = new ArrayList<>(indexesByShard.keySet());
+        names.sort((a, b) -> Integer.compare(indexesByShard.get(a), indexesByShard.get(b)));
+        this.shardNames = Collections.unmodifiableList(names);
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public String getDefaultShard() {
+        return defaultShard;
+    }
+
+    /**
+     * All shards, default first, then by index.
+     */
+    public List<String> getShardNames() {
+        return shardNames;
+    }
+
+    public int indexOf(String shard) {
+        Integer index = indexesByShard.get(shard);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return index;
+    }
+
+    public long getIdBlockSize() {
+        return idBlockSize;
+    }
+
+    public String shardForCity(String city) {
+        return shardsByCity.getOrDefault(normalize(city), defaultShard);
+    }
+
+    /**
+     * Ids outside every configured block resolve to the default shard, where they are
+     * simply not found.
+     */
+    public String shardForId(long id) {
+        if (!sharded || id < 0) {
+            return defaultShard;
+        }
+        long index = id / idBlockSize;
+        String shard = index <= Integer.MAX_VALUE ? shardsByIndex.get((int) index) : null;
+        return shard != null ? shard : defaultShard;
+    }
+
+    private void register(String shard, int index) {
+        if (indexesByShard.containsKey(shard) || shardsByIndex.containsKey(index)) {
+            throw new IllegalStateException("Duplicate shard name or index: " + shard + " (" + index + ")");
+        }
+        indexesByShard.put(shard, index);
+        shardsByIndex.put(index, shard);
+    }
+
+    private static String normalize(String city) {
+        return city == null ? "" : city.trim().toUpperCase(Locale.ROOT);
+    }
+}
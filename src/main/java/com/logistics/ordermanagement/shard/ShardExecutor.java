@@ -0,0 +1,248 @@
+package com.logistics.ordermanagement.shard;
+
+import com.logistics.ordermanagement.config.ShardingProperties;
+import com.logistics.ordermanagement.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on a given shard, or on every shard, for the code paths that cannot be routed
+ * by a single {@link ShardKey}: global listings, lookups by order number or phone, bulk
+ * updates spanning cities, and background jobs.
+ * <p>
+ * With sharding disabled every method simply runs the work once, on the caller's thread
+ * and inside the caller's transaction, so behaviour is the same as without this class.
+ */
+@Slf4j
+@Component
+public class ShardExecutor {
+
+    private final ShardDirectory directory;
+    private final int mergeWindow;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate newReadOnlyTransaction;
+    private final TransactionTemplate joinTransaction;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ShardExecutor(ShardDirectory directory,
+            ShardingProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.directory = directory;
+        this.mergeWindow = properties.getMergeWindow();
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        newReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        newReadOnlyTransaction.setReadOnly(true);
+        this.joinTransaction = new TransactionTemplate(transactionManager);
+
+        if (directory.isSharded()) {
+            this.executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(properties.getScatterThreads());
+            executor.setThreadNamePrefix("shard-scatter-");
+            executor.initialize();
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public boolean isSharded() {
+        return directory.isSharded();
+    }
+
+    /**
+     * Runs the work in its own transaction on the shard. The caller's transaction, if any,
+     * is suspended, since it may hold a connection to another shard. Unsharded, the work
+     * joins the caller's transaction or starts one.
+     */
+    public <T> T inTransaction(String shard, boolean readOnly, Supplier<T> work) {
+        if (!isSharded()) {
+            return joinTransaction.execute(status -> work.get());
+        }
+        String previous = ShardContext.enter(shard);
+        try {
+            return (readOnly ? newReadOnlyTransaction : newTransaction).execute(status -> work.get());
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Runs the work once per shard, one after the other, with no transaction of its own:
+     * each repository call opens its own on that shard. For background jobs, which must
+     * not call this from inside a transaction.
+     */
+    public void forEachShard(Consumer<String> work) {
+        if (!isSharded()) {
+            work.accept(directory.getDefaultShard());
+            return;
+        }
+        for (String shard : directory.getShardNames()) {
+            String previous = ShardContext.enter(shard);
+            try {
+                work.accept(shard);
+            } finally {
+                ShardContext.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the read-only work on every shard in parallel, each in its own read-only
+     * transaction, and returns the results in shard order.
+     */
+    public <T> List<T> onAllShards(Supplier<T> work) {
+        if (!isSharded()) {
+            return List.of(work.get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (String shard : directory.getShardNames()) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                String previous = ShardContext.enter(shard);
+                try {
+                    return readOnlyTransaction.execute(status -> work.get());
+                } finally {
+                    ShardContext.restore(previous);
+                }
+            }, executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            // Surface the shard's own exception, e.g. a DataAccessException
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Looks something up that lives on at most one shard, such as an order by its number.
+     */
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> lookup) {
+        for (Optional<T> result : onAllShards(lookup)) {
+            if (result.isPresent()) {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the first shard on which the check holds.
+     */
+    public Optional<String> locate(BooleanSupplier check) {
+        if (!isSharded()) {
+            return check.getAsBoolean() ? Optional.of(directory.getDefaultShard()) : Optional.empty();
+        }
+        List<Boolean> found = onAllShards(check::getAsBoolean);
+        List<String> shards = directory.getShardNames();
+        for (int i = 0; i < shards.size(); i++) {
+            if (found.get(i)) {
+                return Optional.of(shards.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Scatter-gather for a listing sorted by {@code order}: every shard returns its first
+     * (page + 1) * size rows and a k-way merge picks the requested page. The query must sort
+     * the same way as the comparator, with a unique tie-breaker; totals are summed.
+     */
+    public <T> Page<T> mergePages(Pageable pageable, Comparator<? super T> order, Function<Pageable, Page<T>> query) {
+        if (!isSharded()) {
+            return query.apply(pageable);
+        }
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        if (offset + size > mergeWindow) {
+            throw new BadRequestException(String.format(
+                    "Pages beyond the first %d rows are not available across shards; filter by city", mergeWindow));
+        }
+        Pageable window = PageRequest.of(0, (int) offset + size, pageable.getSort());
+        List<Page<T>> pages = onAllShards(() -> query.apply(window));
+
+        long total = 0;
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.current(), b.current()));
+        for (Page<T> page : pages) {
+            total += page.getTotalElements();
+            if (page.hasContent()) {
+                heads.add(new Cursor<>(page.getContent()));
+            }
+        }
+
+        List<T> content = new ArrayList<>(size);
+        long skipped = 0;
+        while (!heads.isEmpty() && content.size() < size) {
+            Cursor<T> head = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                content.add(head.current());
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Position in one shard's sorted rows.
+     */
+    private static final class Cursor<T> {
+
+        private final List<T> rows;
+        private int position;
+
+        Cursor(List<T> rows) {
+            this.rows = rows;
+        }
+
+        T current() {
+            return rows.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.logistics.ordermanagement.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the service method parameter that decides the shard the call runs on. A String is
+ * a city and a number an order or partner id. {@link #value} names a property to read
+ * from the argument instead, e.g. {@code @ShardKey("city") CreateOrderRequest request}.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    String value() default "";
+}
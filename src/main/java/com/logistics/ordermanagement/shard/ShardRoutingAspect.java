@@ -0,0 +1,86 @@
+package com.logistics.ordermanagement.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sets the {@link ShardContext} for service methods with a {@link ShardKey} parameter.
+ * Runs before the transaction interceptor, so the transaction opens on the right shard.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+    private record KeyParameter(int index, String property) {
+    }
+
+    private final ShardDirectory directory;
+    private final ConcurrentHashMap<Method, KeyParameter> keyParameters = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.logistics.ordermanagement.service..*(.., @com.logistics.ordermanagement.shard.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!directory.isSharded()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object target = joinPoint.getTarget();
+        KeyParameter key = keyParameters.computeIfAbsent(method, m ->
+                findKeyParameter(target != null ? AopUtils.getMostSpecificMethod(m, target.getClass()) : m));
+        String shard = resolve(joinPoint.getArgs()[key.index()], key.property());
+
+        String current = ShardContext.current();
+        if (current != null && !current.equals(shard)
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot move from shard " + current + " to " + shard
+                    + " inside a transaction (" + method.getName() + ")");
+        }
+        String previous = ShardContext.enter(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private String resolve(Object argument, String property) {
+        Object value = property.isEmpty() || argument == null
+                ? argument
+                : PropertyAccessorFactory.forBeanPropertyAccess(argument).getPropertyValue(property);
+        if (value instanceof Number id) {
+            return directory.shardForId(id.longValue());
+        }
+        if (value instanceof String city) {
+            return directory.shardForCity(city);
+        }
+        // Missing keys fail validation further in; let them do so on the default shard
+        return directory.getDefaultShard();
+    }
+
+    private static KeyParameter findKeyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey shardKey) {
+                    return new KeyParameter(i, shardKey.value());
+                }
+            }
+        }
+        throw new IllegalStateException("No @ShardKey parameter on " + method);
+    }
+}
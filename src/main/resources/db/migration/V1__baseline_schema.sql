@@ -0,0 +1,79 @@
+-- Baseline schema, matching what ddl-auto=update produced from the entities.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- so this script only runs against an empty schema.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    email       VARCHAR(100) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(20)  NOT NULL,
+    created_at  TIMESTAMP(6),
+    enabled     BOOLEAN,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+CREATE INDEX idx_user_email ON users (email);
+
+CREATE TABLE delivery_partners (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    phone         VARCHAR(15)  NOT NULL,
+    email         VARCHAR(100),
+    city          VARCHAR(50)  NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    vehicle_type  VARCHAR(20),
+    created_at    TIMESTAMP(6),
+    CONSTRAINT uk_delivery_partners_phone UNIQUE (phone)
+);
+CREATE INDEX idx_partner_city ON delivery_partners (city);
+CREATE INDEX idx_partner_status ON delivery_partners (status);
+CREATE INDEX idx_partner_city_status ON delivery_partners (city, status);
+
+CREATE TABLE orders (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_number         VARCHAR(50)  NOT NULL,
+    customer_name        VARCHAR(100) NOT NULL,
+    customer_phone       VARCHAR(15)  NOT NULL,
+    pickup_address       TEXT         NOT NULL,
+    delivery_address     TEXT         NOT NULL,
+    city                 VARCHAR(50)  NOT NULL,
+    status               VARCHAR(20)  NOT NULL,
+    delivery_partner_id  BIGINT,
+    cancellation_reason  TEXT,
+    cancelled_at         TIMESTAMP(6),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number),
+    CONSTRAINT fk_orders_delivery_partner FOREIGN KEY (delivery_partner_id) REFERENCES delivery_partners (id)
+);
+CREATE INDEX idx_order_city ON orders (city);
+CREATE INDEX idx_order_status ON orders (status);
+CREATE INDEX idx_order_city_status ON orders (city, status);
+
+-- Hibernate allocates audit ids in blocks of 50 (pooled optimizer)
+CREATE SEQUENCE order_audit_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_audit_events (
+    id            BIGINT PRIMARY KEY,
+    order_id      BIGINT   NOT NULL,
+    action        SMALLINT NOT NULL,
+    old_status    SMALLINT,
+    new_status    SMALLINT,
+    partner_id    BIGINT,
+    performed_by  VARCHAR(100),
+    payload       VARCHAR(500),
+    created_at    TIMESTAMP(6)
+);
+CREATE INDEX idx_audit_event_order_created ON order_audit_events (order_id, created_at, id);
+CREATE INDEX idx_audit_event_created_at ON order_audit_events (created_at);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key  VARCHAR(200) PRIMARY KEY,
+    fingerprint      VARCHAR(64)  NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    response_status  INTEGER,
+    content_type     VARCHAR(100),
+    response_body    VARCHAR(65536),
+    expires_at       TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_idempotency_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,8 @@
+-- Idempotent: a database first built by ddl-auto=update already has these columns when Flyway baselines it
+-- Coordinates for nearest-partner assignment; all optional
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS pickup_latitude DOUBLE PRECISION;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS pickup_longitude DOUBLE PRECISION;
+
+ALTER TABLE delivery_partners ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE delivery_partners ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+ALTER TABLE delivery_partners ADD COLUMN IF NOT EXISTS location_updated_at TIMESTAMP(6);
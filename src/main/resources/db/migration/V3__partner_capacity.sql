@@ -0,0 +1,7 @@
+-- Multi-order dispatch: explicit capacity (null = derived from vehicle type) and current load
+ALTER TABLE delivery_partners ADD COLUMN IF NOT EXISTS capacity INTEGER;
+ALTER TABLE delivery_partners ADD COLUMN IF NOT EXISTS active_orders INTEGER NOT NULL DEFAULT 0;
+
+UPDATE delivery_partners SET active_orders = (
+    SELECT COUNT(*) FROM orders o
+    WHERE o.delivery_partner_id = delivery_partners.id AND o.status IN ('ASSIGNED', 'PICKED'));
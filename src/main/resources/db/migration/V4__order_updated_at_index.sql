@@ -0,0 +1,2 @@
+-- Incremental sync of the order search index reads orders changed after a point in time
+CREATE INDEX IF NOT EXISTS idx_order_updated_at ON orders (updated_at, id);
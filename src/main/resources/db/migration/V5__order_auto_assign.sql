@@ -0,0 +1,2 @@
+-- Whether the order asked for auto-assignment; lifecycle assignment retries only apply to those that did
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS auto_assign BOOLEAN NOT NULL DEFAULT FALSE;
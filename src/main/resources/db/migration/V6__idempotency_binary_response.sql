@@ -0,0 +1,7 @@
+-- Stored responses may be CBOR or Smile, which do not survive a round trip through text.
+-- There is no portable VARCHAR -> BYTEA conversion, and stored responses expire within the
+-- idempotency TTL, so the column is recreated: keys completed before this migration still
+-- reject a different request, but replay an empty body until they expire. Also run on databases
+-- first built by ddl-auto=update, whose varchar column ddl-auto never converts.
+ALTER TABLE idempotency_keys DROP COLUMN IF EXISTS response_body;
+ALTER TABLE idempotency_keys ADD COLUMN response_body BYTEA;
@@ -0,0 +1,4 @@
+-- Names an audit message mentions (the customer on CREATED, the partner on PARTNER_ASSIGNED),
+-- stored when the event is written so history does not change when those rows do.
+-- Older rows leave it null and are rendered from the current order and partner rows.
+ALTER TABLE order_audit_events ADD COLUMN IF NOT EXISTS subject VARCHAR(100);
@@ -0,0 +1,8 @@
+-- Identity of the audit archive directory that holds this database's archived months. Nodes
+-- compare it with the marker file in their audit.archive.directory and refuse to start on a
+-- mismatch, since a node-local directory would miss months archived elsewhere.
+CREATE TABLE IF NOT EXISTS audit_archive_store (
+    id          INTEGER PRIMARY KEY,
+    store_id    VARCHAR(36) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);